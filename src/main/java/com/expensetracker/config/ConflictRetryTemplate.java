@@ -0,0 +1,104 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Runs a transactional write again when it loses a race, i.e. a stale optimistic version or a
+// deadlock, after a backoff with full jitter. Every attempt has to start a transaction of its own.
+// A call that joins a surrounding transaction is not retried: that transaction is rolled back
+// anyway, the retry belongs to whoever started it.
+@Slf4j
+@Component
+public class ConflictRetryTemplate {
+
+  public static final String WRITE_CONFLICTS = "service.write.conflicts";
+  public static final String WRITE_ATTEMPTS = "service.write.attempts";
+
+  private final MeterRegistry meterRegistry;
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+
+  public ConflictRetryTemplate(MeterRegistry meterRegistry,
+                               @Value("${expense-tracker.retry.max-attempts:4}") int maxAttempts,
+                               @Value("${expense-tracker.retry.initial-backoff:5ms}") Duration initialBackoff,
+                               @Value("${expense-tracker.retry.max-backoff:100ms}") Duration maxBackoff) {
+    this.meterRegistry = meterRegistry;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffMillis = initialBackoff.toMillis();
+    this.maxBackoffMillis = maxBackoff.toMillis();
+  }
+
+  @SneakyThrows
+  public <T> T execute(String className, String methodName, Supplier<T> write) {
+    return retry(className, methodName, write::get);
+  }
+
+  public <T> T retry(String className, String methodName, Attempt<T> write) throws Throwable {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return write.run();
+    }
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        T result = write.run();
+        attempts(className, methodName).record(attempt);
+        return result;
+      } catch (ConcurrencyFailureException ex) {
+        if (attempt >= maxAttempts) {
+          conflicts(className, methodName, "exhausted").increment();
+          attempts(className, methodName).record(attempt);
+          throw ex;
+        }
+        conflicts(className, methodName, "retried").increment();
+        log.debug("{}.{} lost a race on attempt {}, retrying", className, methodName, attempt, ex);
+        if (!backOff(attempt)) {
+          throw ex;
+        }
+      }
+    }
+  }
+
+  private boolean backOff(int attempt) {
+    long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private Counter conflicts(String className, String methodName, String outcome) {
+    return Counter.builder(WRITE_CONFLICTS)
+        .tag("class", className)
+        .tag("method", methodName)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private DistributionSummary attempts(String className, String methodName) {
+    return DistributionSummary.builder(WRITE_ATTEMPTS)
+        .tag("class", className)
+        .tag("method", methodName)
+        .register(meterRegistry);
+  }
+
+  @FunctionalInterface
+  public interface Attempt<T> {
+    T run() throws Throwable;
+  }
+
+}
@@ -0,0 +1,70 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times every public method of the application services and of the hand-written repositories.
+// Spring Data repositories are timed by Spring Boot itself (spring.data.repository.invocations).
+// The success timer of each method is resolved once, so a call costs a map lookup and a record.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class InvocationMetricsAspect {
+
+  public static final String SERVICE_INVOCATIONS = "service.invocations";
+  public static final String REPOSITORY_INVOCATIONS = "repository.invocations";
+
+  private static final String NO_EXCEPTION = "none";
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<Class<?>, Map<Method, Timer>> serviceTimers = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Map<Method, Timer>> repositoryTimers = new ConcurrentHashMap<>();
+
+  @Around("within(com.expensetracker.service..*) && @within(org.springframework.stereotype.Service)")
+  public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, SERVICE_INVOCATIONS, serviceTimers);
+  }
+
+  @Around("within(com.expensetracker.repository..*) && @within(org.springframework.stereotype.Repository)")
+  public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, REPOSITORY_INVOCATIONS, repositoryTimers);
+  }
+
+  private Object time(ProceedingJoinPoint joinPoint, String name, Map<Class<?>, Map<Method, Timer>> timers)
+      throws Throwable {
+    long startedAt = System.nanoTime();
+    try {
+      Object result = joinPoint.proceed();
+      Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+      Timer timer = timers.computeIfAbsent(joinPoint.getTarget().getClass(), key -> new ConcurrentHashMap<>())
+          .computeIfAbsent(method, key -> timer(name, joinPoint, NO_EXCEPTION));
+      timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (Throwable ex) {
+      timer(name, joinPoint, ex.getClass().getSimpleName())
+          .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      throw ex;
+    }
+  }
+
+  private Timer timer(String name, ProceedingJoinPoint joinPoint, String exception) {
+    return Timer.builder(name)
+        .tag("class", joinPoint.getTarget().getClass().getSimpleName())
+        .tag("method", joinPoint.getSignature().getName())
+        .tag("exception", exception)
+        .register(meterRegistry);
+  }
+
+}
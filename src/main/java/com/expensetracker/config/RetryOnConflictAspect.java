@@ -0,0 +1,29 @@
+package com.expensetracker.config;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Runs @RetryOnConflict methods through ConflictRetryTemplate. Ordered before the transaction
+// interceptor, so every attempt gets a transaction of its own.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RetryOnConflictAspect {
+
+  private final ConflictRetryTemplate conflictRetryTemplate;
+
+  @Around("@annotation(com.expensetracker.config.RetryOnConflict)")
+  public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+    return conflictRetryTemplate.retry(
+        joinPoint.getTarget().getClass().getSimpleName(),
+        joinPoint.getSignature().getName(),
+        joinPoint::proceed);
+  }
+
+}
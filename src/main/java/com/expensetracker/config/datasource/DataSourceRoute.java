@@ -0,0 +1,8 @@
+package com.expensetracker.config.datasource;
+
+public enum DataSourceRoute {
+
+  PRIMARY,
+  REPLICA
+
+}
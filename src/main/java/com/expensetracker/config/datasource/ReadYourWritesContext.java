@@ -0,0 +1,71 @@
+package com.expensetracker.config.datasource;
+
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Per-thread record of when the current caller last wrote. Until the recorded time has passed its
+// reads stay on the primary, so it never reads a replica that has not caught up with its own writes.
+// ReadYourWritesFilter carries the time across the requests of one client.
+public final class ReadYourWritesContext {
+
+  private static final ThreadLocal<Long> PINNED_UNTIL = new ThreadLocal<>();
+  private static final ThreadLocal<LongConsumer> WRITE_LISTENER = new ThreadLocal<>();
+
+  private ReadYourWritesContext() {
+  }
+
+  public static void begin(long pinnedUntil, LongConsumer writeListener) {
+    PINNED_UNTIL.set(pinnedUntil);
+    WRITE_LISTENER.set(writeListener);
+  }
+
+  public static void end() {
+    PINNED_UNTIL.remove();
+    WRITE_LISTENER.remove();
+  }
+
+  public static boolean isPinnedToPrimary() {
+    Long pinnedUntil = PINNED_UNTIL.get();
+    return nonNull(pinnedUntil) && pinnedUntil > System.currentTimeMillis();
+  }
+
+  // Runs a read on the primary whoever calls it. For reads whose result outlives the caller, like a
+  // cache fill: served by a lagging replica, it would hand a writer its own stale state long after
+  // its pin expired. Has to wrap the transaction, its connection is picked by its first statement.
+  public static <T> T onPrimary(Supplier<T> read) {
+    Long pinnedUntil = PINNED_UNTIL.get();
+    PINNED_UNTIL.set(Long.MAX_VALUE);
+    try {
+      return read.get();
+    } finally {
+      // a write inside has recorded a pin of its own, which is kept
+      if (Objects.equals(PINNED_UNTIL.get(), Long.MAX_VALUE)) {
+        if (isNull(pinnedUntil)) {
+          PINNED_UNTIL.remove();
+        } else {
+          PINNED_UNTIL.set(pinnedUntil);
+        }
+      }
+    }
+  }
+
+  public static void onPrimary(Runnable read) {
+    onPrimary(() -> {
+      read.run();
+      return null;
+    });
+  }
+
+  public static void recordWrite(long pinnedUntil) {
+    PINNED_UNTIL.set(pinnedUntil);
+    LongConsumer writeListener = WRITE_LISTENER.get();
+    if (nonNull(writeListener)) {
+      writeListener.accept(pinnedUntil);
+    }
+  }
+
+}
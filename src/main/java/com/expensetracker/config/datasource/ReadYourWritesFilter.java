@@ -0,0 +1,59 @@
+package com.expensetracker.config.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+import static java.util.Objects.isNull;
+
+// Keeps a client on the primary for a while after it wrote, across requests and application
+// instances, by handing it a cookie with the time its reads may go back to the replica.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  public static final String COOKIE_NAME = "expense-tracker-primary-until";
+
+  private final int stickyForSeconds;
+
+  public ReadYourWritesFilter(Duration stickyFor) {
+    this.stickyForSeconds = (int) Math.max(1, (stickyFor.toMillis() + 999) / 1000);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    ReadYourWritesContext.begin(pinnedUntil(request), pinnedUntil -> {
+      if (!response.isCommitted()) {
+        Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(pinnedUntil));
+        cookie.setPath("/");
+        cookie.setMaxAge(stickyForSeconds);
+        cookie.setHttpOnly(true);
+        response.addCookie(cookie);
+      }
+    });
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReadYourWritesContext.end();
+    }
+  }
+
+  private long pinnedUntil(HttpServletRequest request) {
+    Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+    if (isNull(cookie)) {
+      return 0L;
+    }
+    try {
+      return Long.parseLong(cookie.getValue());
+    } catch (NumberFormatException ex) {
+      return 0L;
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+package com.expensetracker.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.SneakyThrows;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
+// Enabled by setting expense-tracker.datasource.replica.url. The replica pool is configured like
+// spring.datasource (username, password, hikari.*) under the same prefix.
+@Configuration
+@ConditionalOnProperty(prefix = ReplicaRoutingConfig.PREFIX, name = "url")
+public class ReplicaRoutingConfig {
+
+  static final String PREFIX = "expense-tracker.datasource.replica";
+
+  private static final String PRIMARY_BEAN_NAME = "dataSource";
+  private static final String REPLICA_BEAN_NAME = "replicaDataSource";
+
+  // Destroys the routing data source together with the primary bean it replaced, which closes the
+  // primary pool even though the bean that is left is a proxy without a close method.
+  @Bean
+  public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment, BeanFactory beanFactory) {
+    return new DestructionAwareBeanPostProcessor() {
+      private ReplicaRoutingDataSource routingDataSource;
+
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!PRIMARY_BEAN_NAME.equals(beanName) || !(bean instanceof DataSource)) {
+          return bean;
+        }
+        Binder binder = Binder.get(environment);
+        routingDataSource = new ReplicaRoutingDataSource(
+            (DataSource) bean,
+            beanFactory.getBean(REPLICA_BEAN_NAME, DataSource.class),
+            stickyFor(binder),
+            binder.bind(PREFIX + ".retry-after", Duration.class).orElse(Duration.ofSeconds(10))
+        );
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+      }
+
+      @Override
+      public boolean requiresDestruction(Object bean) {
+        return bean instanceof DataSource;
+      }
+
+      @Override
+      @SneakyThrows
+      public void postProcessBeforeDestruction(Object bean, String beanName) {
+        if (PRIMARY_BEAN_NAME.equals(beanName) && nonNull(routingDataSource)) {
+          routingDataSource.destroy();
+        }
+      }
+    };
+  }
+
+  // Declared as Closeable and kept out of autowiring: a DataSource bean would switch off the
+  // auto-configured spring.datasource pool, and injection by type would find two data sources.
+  @Bean(name = REPLICA_BEAN_NAME, destroyMethod = "close", autowireCandidate = false)
+  public static Closeable replicaDataSource(Environment environment) {
+    Binder binder = Binder.get(environment);
+    DataSourceProperties properties = binder.bind(PREFIX, DataSourceProperties.class).get();
+    HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    replica.setPoolName("replica");
+    replica.setReadOnly(true);
+    replica.setConnectionTimeout(Duration.ofSeconds(1).toMillis());
+    // start even if the replica is down, its reads then fall back to the primary
+    replica.setInitializationFailTimeout(-1);
+    binder.bind(PREFIX + ".hikari", Bindable.ofInstance(replica));
+    return replica;
+  }
+
+  @Bean
+  public ReadYourWritesFilter readYourWritesFilter(Environment environment) {
+    return new ReadYourWritesFilter(stickyFor(Binder.get(environment)));
+  }
+
+  // With open-in-view a request keeps one session, which by default holds its first connection
+  // until the request ends, so a write could reuse a replica connection. Release it per transaction.
+  @Bean
+  public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+    return properties -> properties.put("hibernate.connection.handling_mode",
+        PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+  }
+
+  private static Duration stickyFor(Binder binder) {
+    return binder.bind(PREFIX + ".sticky-for", Duration.class).orElse(Duration.ofSeconds(5));
+  }
+
+}
@@ -0,0 +1,98 @@
+package com.expensetracker.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sends connections of read-only transactions to the replica and everything else to the primary.
+// The decision needs the transaction's read-only flag, which Spring publishes only after the
+// connection has been requested, so this has to sit behind a LazyConnectionDataSourceProxy.
+// A replica that fails to hand out a connection is skipped for retryAfter, reads fall back to the primary.
+// Destroying it closes both pools.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final long stickyForMillis;
+  private final long retryAfterMillis;
+
+  private volatile long replicaDownUntil;
+
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration stickyFor, Duration retryAfter) {
+    this.primary = primary;
+    this.replica = replica;
+    this.stickyForMillis = stickyFor.toMillis();
+    this.retryAfterMillis = retryAfter.toMillis();
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(DataSourceRoute.PRIMARY, primary);
+    targets.put(DataSourceRoute.REPLICA, replica);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    trackWrite();
+    if (determineCurrentLookupKey() == DataSourceRoute.REPLICA) {
+      try {
+        return replica.getConnection();
+      } catch (SQLException ex) {
+        replicaDownUntil = System.currentTimeMillis() + retryAfterMillis;
+        log.warn("Replica is unavailable, reading from the primary for the next {} ms", retryAfterMillis, ex);
+      }
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    for (DataSource target : List.of(replica, primary)) {
+      if (target instanceof AutoCloseable) {
+        ((AutoCloseable) target).close();
+      }
+    }
+  }
+
+  @Override
+  protected DataSourceRoute determineCurrentLookupKey() {
+    boolean replicaUp = System.currentTimeMillis() >= replicaDownUntil;
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && !ReadYourWritesContext.isPinnedToPrimary()
+        && replicaUp ? DataSourceRoute.REPLICA : DataSourceRoute.PRIMARY;
+  }
+
+  // pins the caller to the primary once a writable transaction commits
+  private void trackWrite() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        || TransactionSynchronizationManager.hasResource(this)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        ReadYourWritesContext.recordWrite(System.currentTimeMillis() + stickyForMillis);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+      }
+    });
+  }
+
+}
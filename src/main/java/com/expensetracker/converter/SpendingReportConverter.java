@@ -0,0 +1,35 @@
+package com.expensetracker.converter;
+
+import com.expensetracker.model.Money;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.web.dto.SpendingReportRowDto;
+import org.springframework.stereotype.Component;
+
+import static java.util.Objects.isNull;
+
+@Component
+public class SpendingReportConverter implements Converter<SpendingReportRowDto, SpendingReportRow> {
+  @Override
+  public SpendingReportRow toModel(SpendingReportRowDto dto) {
+    return new SpendingReportRow(
+        dto.getCategoryId(),
+        dto.getMonth(),
+        dto.getType(),
+        Money.of(dto.getDebit()),
+        Money.of(dto.getCredit()),
+        dto.getCount()
+    );
+  }
+
+  @Override
+  public SpendingReportRowDto toDto(SpendingReportRow model) {
+    return new SpendingReportRowDto(
+        model.getCategoryId(),
+        model.getMonth(),
+        isNull(model.getType()) ? null : model.getType().getCanonicalType(),
+        model.getDebit().toDouble(),
+        model.getCredit().toDouble(),
+        model.getCount()
+    );
+  }
+}
@@ -0,0 +1,18 @@
+package com.expensetracker.converter;
+
+import com.expensetracker.service.stats.Stats;
+import com.expensetracker.web.dto.StatsDto;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StatsConverter implements Converter<StatsDto, Stats> {
+  @Override
+  public Stats toModel(StatsDto dto) {
+    return new Stats(dto.getCategories(), dto.getUsers(), dto.getTransactions());
+  }
+
+  @Override
+  public StatsDto toDto(Stats model) {
+    return new StatsDto(model.getCategories(), model.getUsers(), model.getTransactions());
+  }
+}
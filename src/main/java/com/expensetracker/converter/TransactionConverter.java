@@ -1,11 +1,15 @@
 package com.expensetracker.converter;
 
 import com.expensetracker.model.Category;
+import com.expensetracker.model.Money;
 import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionView;
 import com.expensetracker.model.User;
 import com.expensetracker.web.dto.TransactionDto;
 import org.springframework.stereotype.Component;
 
+import static java.util.Objects.isNull;
+
 @Component
 public class TransactionConverter implements Converter<TransactionDto, Transaction> {
   @Override
@@ -15,7 +19,7 @@ public class TransactionConverter implements Converter<TransactionDto, Transacti
         User.builder().id(dto.getUserId()).build(),
         Category.builder().id(dto.getCategoryId()).build(),
         dto.getType(),
-        dto.getAmount(),
+        isNull(dto.getAmount()) ? null : Money.of(dto.getAmount()),
         dto.getTime()
     );
   }
@@ -27,8 +31,19 @@ public class TransactionConverter implements Converter<TransactionDto, Transacti
         model.getUser().getId(),
         model.getCategory().getId(),
         model.getType().getCanonicalType(),
-        model.getAmount(),
+        model.getAmount().toDouble(),
         model.getTime()
     );
   }
+
+  public TransactionDto toDto(TransactionView view) {
+    return new TransactionDto(
+        view.getId(),
+        view.getUserId(),
+        view.getCategoryId(),
+        view.getType().getCanonicalType(),
+        view.getAmount().toDouble(),
+        view.getTime()
+    );
+  }
 }
@@ -0,0 +1,33 @@
+package com.expensetracker.converter;
+
+import com.expensetracker.model.Money;
+import com.expensetracker.model.TransactionSummary;
+import com.expensetracker.web.dto.TransactionSummaryDto;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionSummaryConverter implements Converter<TransactionSummaryDto, TransactionSummary> {
+  @Override
+  public TransactionSummary toModel(TransactionSummaryDto dto) {
+    return new TransactionSummary(
+        dto.getUserId(),
+        dto.getCategoryId(),
+        dto.getMonth(),
+        dto.getType(),
+        Money.of(dto.getTotal()),
+        dto.getCount()
+    );
+  }
+
+  @Override
+  public TransactionSummaryDto toDto(TransactionSummary model) {
+    return new TransactionSummaryDto(
+        model.getUserId(),
+        model.getCategoryId(),
+        model.getMonth(),
+        model.getType().getCanonicalType(),
+        model.getTotal().toDouble(),
+        model.getCount()
+    );
+  }
+}
@@ -0,0 +1,19 @@
+package com.expensetracker.converter;
+
+import com.expensetracker.model.LedgerBalance;
+import com.expensetracker.model.Money;
+import com.expensetracker.web.dto.UserBalanceDto;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserBalanceConverter implements Converter<UserBalanceDto, LedgerBalance> {
+  @Override
+  public LedgerBalance toModel(UserBalanceDto dto) {
+    return new LedgerBalance(dto.getUserId(), dto.getSequenceNumber(), Money.of(dto.getBalance()));
+  }
+
+  @Override
+  public UserBalanceDto toDto(LedgerBalance model) {
+    return new UserBalanceDto(model.getUserId(), model.getSequenceNumber(), model.getBalance().toDouble());
+  }
+}
@@ -1,5 +1,6 @@
 package com.expensetracker.converter;
 
+import com.expensetracker.model.Money;
 import com.expensetracker.model.User;
 import com.expensetracker.web.dto.UserDto;
 import org.springframework.stereotype.Component;
@@ -12,7 +13,7 @@ public class UserConverter implements Converter<UserDto, User> {
         dto.getId(),
         dto.getFullName(),
         dto.getEmail(),
-        dto.getBalance()
+        Money.of(dto.getBalance())
     );
   }
 
@@ -22,7 +23,7 @@ public class UserConverter implements Converter<UserDto, User> {
         model.getId(),
         model.getFullName(),
         model.getEmail(),
-        model.getBalance()
+        model.getBalance().toDouble()
     );
   }
 }
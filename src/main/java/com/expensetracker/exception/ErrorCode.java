@@ -7,7 +7,11 @@ public enum ErrorCode {
   ENTITY_NOT_FOUND("expense.tracker.entity.not-found"),
   ENTITY_ALREADY_EXISTS("expense.tracker.entity.already-exists"),
 
-  UNSUPPORTED_TRANSACTION_TYPE("expense.tracker.transaction.unsupported-type");
+  UNSUPPORTED_TRANSACTION_TYPE("expense.tracker.transaction.unsupported-type"),
+
+  IDEMPOTENCY_KEY_CONFLICT("expense.tracker.idempotency.key-conflict"),
+
+  CONCURRENT_MODIFICATION("expense.tracker.concurrent-modification");
 
   String code;
 
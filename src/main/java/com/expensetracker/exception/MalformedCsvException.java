@@ -0,0 +1,7 @@
+package com.expensetracker.exception;
+
+public class MalformedCsvException extends RuntimeException {
+  public MalformedCsvException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,7 @@
+package com.expensetracker.exception;
+
+public class UnsupportedReportGroupingException extends RuntimeException {
+  public UnsupportedReportGroupingException(String message) {
+    super(message);
+  }
+}
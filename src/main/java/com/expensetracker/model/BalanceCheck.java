@@ -0,0 +1,20 @@
+package com.expensetracker.model;
+
+import lombok.Value;
+
+@Value
+public class BalanceCheck {
+
+  Integer userId;
+  Money balance;
+  Money expectedBalance;
+
+  public boolean isMismatched() {
+    return !balance.equals(expectedBalance);
+  }
+
+  public Money getCorrection() {
+    return expectedBalance.minus(balance);
+  }
+
+}
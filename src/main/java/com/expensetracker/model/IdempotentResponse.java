@@ -0,0 +1,11 @@
+package com.expensetracker.model;
+
+import lombok.Value;
+
+@Value
+public class IdempotentResponse {
+
+  String fingerprint;
+  String body;
+
+}
@@ -0,0 +1,13 @@
+package com.expensetracker.model;
+
+import lombok.Value;
+
+// The balance of a user after all of its ledger entries up to and including the sequence number.
+@Value
+public class LedgerBalance {
+
+  Integer userId;
+  Long sequenceNumber;
+  Money balance;
+
+}
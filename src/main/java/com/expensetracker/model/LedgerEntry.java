@@ -0,0 +1,37 @@
+package com.expensetracker.model;
+
+import lombok.Value;
+
+import java.util.Date;
+
+// One row of the append-only transaction ledger. The transaction columns hold the state after
+// the event and are empty for balance events (OPENED, ADJUSTED and REPAIRED).
+@Value
+public class LedgerEntry {
+
+  Integer userId;
+  LedgerEvent event;
+  Integer transactionId;
+  Integer categoryId;
+  TransactionType type;
+  Money amount;
+  Date time;
+  Money balanceDelta;
+
+  public static LedgerEntry ofBalance(Integer userId, LedgerEvent event, Money balanceDelta) {
+    return new LedgerEntry(userId, event, null, null, null, null, null, balanceDelta);
+  }
+
+  public static LedgerEntry ofTransaction(Integer userId, LedgerEvent event, Transaction transaction, Money balanceDelta) {
+    return new LedgerEntry(
+        userId,
+        event,
+        transaction.getId(),
+        transaction.getCategory().getId(),
+        transaction.getType(),
+        transaction.getAmount(),
+        transaction.getTime(),
+        balanceDelta
+    );
+  }
+}
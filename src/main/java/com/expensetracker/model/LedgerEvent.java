@@ -0,0 +1,10 @@
+package com.expensetracker.model;
+
+public enum LedgerEvent {
+  OPENED,
+  ADJUSTED,
+  CREATED,
+  UPDATED,
+  DELETED,
+  REPAIRED
+}
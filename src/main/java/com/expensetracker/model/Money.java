@@ -0,0 +1,57 @@
+package com.expensetracker.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Getter
+@EqualsAndHashCode
+public final class Money implements Comparable<Money> {
+
+  public static final Money ZERO = new Money(0L);
+
+  private static final int SCALE = 2;
+
+  private final long cents;
+
+  private Money(long cents) {
+    this.cents = cents;
+  }
+
+  public static Money ofCents(long cents) {
+    return cents == 0L ? ZERO : new Money(cents);
+  }
+
+  public static Money of(double amount) {
+    return ofCents(BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+  }
+
+  public double toDouble() {
+    return cents / 100.0;
+  }
+
+  public Money plus(Money other) {
+    return ofCents(Math.addExact(cents, other.cents));
+  }
+
+  public Money minus(Money other) {
+    return ofCents(Math.subtractExact(cents, other.cents));
+  }
+
+  public Money negate() {
+    return ofCents(Math.negateExact(cents));
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(cents, other.cents);
+  }
+
+  @Override
+  public String toString() {
+    return BigDecimal.valueOf(cents, SCALE).toPlainString();
+  }
+
+}
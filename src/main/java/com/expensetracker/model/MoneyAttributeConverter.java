@@ -0,0 +1,21 @@
+package com.expensetracker.model;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import static java.util.Objects.isNull;
+
+@Converter(autoApply = true)
+public class MoneyAttributeConverter implements AttributeConverter<Money, Long> {
+
+  @Override
+  public Long convertToDatabaseColumn(Money money) {
+    return isNull(money) ? null : money.getCents();
+  }
+
+  @Override
+  public Money convertToEntityAttribute(Long cents) {
+    return isNull(cents) ? null : Money.ofCents(cents);
+  }
+
+}
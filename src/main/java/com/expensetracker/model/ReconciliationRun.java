@@ -0,0 +1,12 @@
+package com.expensetracker.model;
+
+import lombok.Value;
+
+@Value
+public class ReconciliationRun {
+
+  Integer id;
+  int maxUserId;
+  int chunkSize;
+
+}
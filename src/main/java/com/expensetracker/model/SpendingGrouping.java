@@ -0,0 +1,30 @@
+package com.expensetracker.model;
+
+import com.expensetracker.exception.UnsupportedReportGroupingException;
+
+public enum SpendingGrouping {
+  CATEGORY("category"),
+  MONTH("month"),
+  TYPE("type");
+
+  private final String grouping;
+
+  SpendingGrouping(String grouping) {
+    this.grouping = grouping;
+  }
+
+  public String getCanonicalGrouping() {
+    return this.grouping;
+  }
+
+  public static SpendingGrouping fromString(String grouping) {
+    for (SpendingGrouping spendingGrouping : values()) {
+      if (spendingGrouping.getCanonicalGrouping().equalsIgnoreCase(grouping)) {
+        return spendingGrouping;
+      }
+    }
+
+    String message = String.format("Received unsupported report grouping [%s]", grouping);
+    throw new UnsupportedReportGroupingException(message);
+  }
+}
@@ -0,0 +1,18 @@
+package com.expensetracker.model;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+// Only the column the report is grouped by is set, the other two are null.
+@Value
+public class SpendingReportRow {
+
+  Integer categoryId;
+  LocalDate month;
+  TransactionType type;
+  Money debit;
+  Money credit;
+  long count;
+
+}
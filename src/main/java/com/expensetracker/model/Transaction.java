@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -16,6 +17,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.Date;
@@ -32,14 +34,16 @@ public class Transaction {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Integer id;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
   @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   private User user;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "category_id", referencedColumnName = "id", nullable = false)
   @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   private Category category;
 
   @Column(name = "type", nullable = false)
@@ -47,9 +51,26 @@ public class Transaction {
   private TransactionType type;
 
   @Column(name = "amount", nullable = false)
-  private Double amount;
+  private Money amount;
 
   @Column(name = "time", nullable = false)
   private Date time;
 
+  @Version
+  @Column(name = "version", nullable = false)
+  @EqualsAndHashCode.Exclude
+  private long version;
+
+  public Transaction(Integer id, User user, Category category, TransactionType type, Money amount, Date time) {
+    this(id, user, category, type, amount, time, 0L);
+  }
+
+  public Money balanceDelta() {
+    return Money.ofCents(balanceDeltaCents());
+  }
+
+  public long balanceDeltaCents() {
+    return type == TransactionType.DEBIT ? -amount.getCents() : amount.getCents();
+  }
+
 }
@@ -0,0 +1,47 @@
+package com.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(TransactionSummaryId.class)
+@Entity(name = "transaction_summary")
+public class TransactionSummary {
+
+  @Id
+  @Column(name = "user_id", nullable = false)
+  private Integer userId;
+
+  @Id
+  @Column(name = "category_id", nullable = false)
+  private Integer categoryId;
+
+  @Id
+  @Column(name = "month", nullable = false)
+  private LocalDate month;
+
+  @Id
+  @Column(name = "type", nullable = false)
+  @Enumerated(EnumType.STRING)
+  private TransactionType type;
+
+  @Column(name = "total", nullable = false)
+  private Money total;
+
+  @Column(name = "tx_count", nullable = false)
+  private Long count;
+
+}
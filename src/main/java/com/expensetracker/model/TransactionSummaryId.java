@@ -0,0 +1,20 @@
+package com.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSummaryId implements Serializable {
+
+  private Integer userId;
+  private Integer categoryId;
+  private LocalDate month;
+  private TransactionType type;
+
+}
@@ -0,0 +1,24 @@
+package com.expensetracker.model;
+
+import lombok.Value;
+
+import java.util.Date;
+
+// Read model of a transaction built straight from its own columns. List and lookup queries
+// project into it, so no user or category rows are joined and no managed entities are built.
+@Value
+public class TransactionView {
+
+  Integer id;
+
+  Integer userId;
+
+  Integer categoryId;
+
+  TransactionType type;
+
+  Money amount;
+
+  Date time;
+
+}
@@ -3,6 +3,7 @@ package com.expensetracker.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import javax.persistence.Column;
@@ -10,6 +11,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Version;
 
 @Data
 @Builder
@@ -30,13 +32,17 @@ public class User {
   private String email;
 
   @Column(name = "balance", nullable = false)
-  private Double balance;
+  private Money balance;
 
-  public void increaseBalance(Double amount) {
-    this.balance += amount;
-  }
+  // also bumped by every balance change (see UserRepository.changeBalance),
+  // so saving a user read before a transaction write fails instead of undoing it
+  @Version
+  @Column(name = "version", nullable = false)
+  @EqualsAndHashCode.Exclude
+  private long version;
 
-  public void decreaseBalance(Double amount) {
-    this.balance -= amount;
+  public User(Integer id, String fullName, String email, Money balance) {
+    this(id, fullName, email, balance, 0L);
   }
+
 }
@@ -0,0 +1,91 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.BalanceCheck;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.ReconciliationRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// A balance is expected to be its base_balance plus the net of the user's transactions. Both sides
+// are read by one statement, so they come from the same snapshot and no lock is taken.
+@Repository
+@RequiredArgsConstructor
+public class BalanceReconciliationRepository {
+
+  private static final String SELECT_BALANCE_CHECKS =
+      "SELECT u.id, u.balance, u.base_balance + COALESCE(t.net, 0) AS expected_balance " +
+          "FROM user_table u " +
+          "LEFT JOIN (SELECT user_id, SUM(CASE WHEN type = 'CREDIT' THEN amount ELSE -amount END) AS net " +
+          "           FROM transaction WHERE user_id >= ? AND user_id < ? GROUP BY user_id) t ON t.user_id = u.id " +
+          "WHERE u.id >= ? AND u.id < ?";
+
+  private static final RowMapper<BalanceCheck> BALANCE_CHECK_MAPPER = (resultSet, rowNum) -> new BalanceCheck(
+      resultSet.getInt("id"),
+      Money.ofCents(resultSet.getLong("balance")),
+      Money.ofCents(resultSet.getLong("expected_balance"))
+  );
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public List<BalanceCheck> findBalanceChecks(int fromUserId, int toUserId) {
+    return jdbcTemplate.query(SELECT_BALANCE_CHECKS, BALANCE_CHECK_MAPPER, fromUserId, toUserId, fromUserId, toUserId);
+  }
+
+  public Optional<BalanceCheck> findBalanceCheck(Integer userId) {
+    return findBalanceChecks(userId, userId + 1).stream().findFirst();
+  }
+
+  public int findMaxUserId() {
+    return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM user_table", Integer.class);
+  }
+
+  public Optional<ReconciliationRun> findUnfinishedRun() {
+    List<ReconciliationRun> runs = jdbcTemplate.query(
+        "SELECT id, max_user_id, chunk_size FROM balance_reconciliation_run WHERE finished_at IS NULL ORDER BY id DESC LIMIT 1",
+        (resultSet, rowNum) -> new ReconciliationRun(
+            resultSet.getInt("id"), resultSet.getInt("max_user_id"), resultSet.getInt("chunk_size")));
+    return runs.stream().findFirst();
+  }
+
+  public ReconciliationRun insertRun(int maxUserId, int chunkSize) {
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.update(connection -> {
+      PreparedStatement statement = connection.prepareStatement(
+          "INSERT INTO balance_reconciliation_run (max_user_id, chunk_size) VALUES (?, ?)", new String[]{"id"});
+      statement.setInt(1, maxUserId);
+      statement.setInt(2, chunkSize);
+      return statement;
+    }, keyHolder);
+    return new ReconciliationRun(keyHolder.getKey().intValue(), maxUserId, chunkSize);
+  }
+
+  public Set<Integer> findFinishedChunks(Integer runId) {
+    return new HashSet<>(jdbcTemplate.queryForList(
+        "SELECT from_user_id FROM balance_reconciliation_chunk WHERE run_id = ?", Integer.class, runId));
+  }
+
+  public void insertChunk(Integer runId, int fromUserId, int checked, int mismatched, int repaired) {
+    jdbcTemplate.update("INSERT INTO balance_reconciliation_chunk (run_id, from_user_id, checked, mismatched, repaired) " +
+        "VALUES (?, ?, ?, ?, ?)", runId, fromUserId, checked, mismatched, repaired);
+  }
+
+  public void finishRun(Integer runId) {
+    jdbcTemplate.update("UPDATE balance_reconciliation_run SET finished_at = CURRENT_TIMESTAMP WHERE id = ?", runId);
+  }
+
+  // the chunks of finished runs are only kept until the next run starts
+  public int deleteFinishedRuns() {
+    return jdbcTemplate.update("DELETE FROM balance_reconciliation_run WHERE finished_at IS NOT NULL");
+  }
+
+}
@@ -2,8 +2,13 @@ package com.expensetracker.repository;
 
 import com.expensetracker.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
@@ -11,4 +16,7 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
   boolean existsByName(String name);
 
+  @Query("select c.id from category c where c.id in :ids")
+  Set<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
 }
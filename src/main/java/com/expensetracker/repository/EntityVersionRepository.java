@@ -0,0 +1,44 @@
+package com.expensetracker.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+// Change counters behind the ETags: one row per table in table_version for inserts, updates and
+// deletes, plus user_table.version, which every balance change (i.e. every transaction write) bumps.
+// balance_version counts the transactions that changed any balance, spread over a few stripes.
+@Repository
+@RequiredArgsConstructor
+public class EntityVersionRepository {
+
+  public static final String USER_TABLE = "user_table";
+  public static final String CATEGORY_TABLE = "category";
+  public static final int BALANCE_VERSION_STRIPES = 16;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public void incrementTableVersion(String table) {
+    jdbcTemplate.update("UPDATE table_version SET version = version + 1 WHERE name = ?", table);
+  }
+
+  public long getTableVersion(String table) {
+    return jdbcTemplate.queryForObject("SELECT version FROM table_version WHERE name = ?", Long.class, table);
+  }
+
+  public void incrementBalanceVersion(int stripe) {
+    jdbcTemplate.update("UPDATE balance_version SET version = version + 1 WHERE stripe = ?", stripe);
+  }
+
+  public long sumBalanceVersions() {
+    return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(version), 0) FROM balance_version", Long.class);
+  }
+
+  public Optional<Long> findUserVersion(Integer userId) {
+    List<Long> versions = jdbcTemplate.queryForList("SELECT version FROM user_table WHERE id = ?", Long.class, userId);
+    return versions.stream().findFirst();
+  }
+
+}
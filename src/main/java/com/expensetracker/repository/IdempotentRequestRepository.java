@@ -0,0 +1,46 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.IdempotentResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotentRequestRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public Optional<IdempotentResponse> findByKey(String key, Date notBefore) {
+    List<IdempotentResponse> responses = jdbcTemplate.query(
+        "SELECT fingerprint, response FROM idempotent_request WHERE idempotency_key = ? AND created_at >= ?",
+        (resultSet, rowNum) -> new IdempotentResponse(resultSet.getString("fingerprint"), resultSet.getString("response")),
+        key, new Timestamp(notBefore.getTime()));
+    return responses.stream().findFirst();
+  }
+
+  // Claims the key. A concurrent claim of the same key waits on the primary key until this
+  // transaction ends and then fails with a DuplicateKeyException if it committed.
+  public void insert(String key, String fingerprint) {
+    jdbcTemplate.update("INSERT INTO idempotent_request (idempotency_key, fingerprint) VALUES (?, ?)", key, fingerprint);
+  }
+
+  public void updateResponse(String key, String response) {
+    jdbcTemplate.update("UPDATE idempotent_request SET response = ? WHERE idempotency_key = ?", response, key);
+  }
+
+  public int deleteByKeyCreatedBefore(String key, Date before) {
+    return jdbcTemplate.update("DELETE FROM idempotent_request WHERE idempotency_key = ? AND created_at < ?",
+        key, new Timestamp(before.getTime()));
+  }
+
+  public int deleteAllCreatedBefore(Date before) {
+    return jdbcTemplate.update("DELETE FROM idempotent_request WHERE created_at < ?", new Timestamp(before.getTime()));
+  }
+
+}
@@ -0,0 +1,59 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Money;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+import static java.lang.String.format;
+
+// One GROUP BY per report. The user and time range filter is served by the (user_id, time, id) index.
+@Repository
+@RequiredArgsConstructor
+public class SpendingReportRepository {
+
+  private static final String SELECT_REPORT =
+      "SELECT %s AS grouping_key, " +
+          "SUM(CASE WHEN type = 'DEBIT' THEN amount ELSE 0 END) AS debit, " +
+          "SUM(CASE WHEN type = 'CREDIT' THEN amount ELSE 0 END) AS credit, " +
+          "COUNT(*) AS tx_count " +
+          "FROM transaction " +
+          "WHERE user_id = ? AND time >= ? AND time < ? " +
+          "GROUP BY %s " +
+          "ORDER BY %s";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public List<SpendingReportRow> findAllByUserId(Integer userId, Date from, Date to, SpendingGrouping grouping) {
+    String key = getGroupingColumn(grouping);
+    return jdbcTemplate.query(format(SELECT_REPORT, key, key, key),
+        (resultSet, rowNum) -> new SpendingReportRow(
+            grouping == SpendingGrouping.CATEGORY ? resultSet.getInt("grouping_key") : null,
+            grouping == SpendingGrouping.MONTH ? resultSet.getDate("grouping_key").toLocalDate() : null,
+            grouping == SpendingGrouping.TYPE ? TransactionType.valueOf(resultSet.getString("grouping_key")) : null,
+            Money.ofCents(resultSet.getLong("debit")),
+            Money.ofCents(resultSet.getLong("credit")),
+            resultSet.getLong("tx_count")
+        ),
+        userId, new Timestamp(from.getTime()), new Timestamp(to.getTime()));
+  }
+
+  private String getGroupingColumn(SpendingGrouping grouping) {
+    switch (grouping) {
+      case CATEGORY:
+        return "category_id";
+      case MONTH:
+        return "CAST(DATE_TRUNC('MONTH', time) AS DATE)";
+      default:
+        return "type";
+    }
+  }
+
+}
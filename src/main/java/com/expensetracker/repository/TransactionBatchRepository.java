@@ -0,0 +1,55 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class TransactionBatchRepository {
+
+  private static final String INSERT =
+      "INSERT INTO transaction (user_id, category_id, type, amount, time) VALUES (?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${expense-tracker.transactions.batch.jdbc-batch-size:500}")
+  private int batchSize;
+
+  public void insertAll(List<Transaction> transactions) {
+    jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+      try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"})) {
+        for (int from = 0; from < transactions.size(); from += batchSize) {
+          List<Transaction> chunk = transactions.subList(from, Math.min(from + batchSize, transactions.size()));
+
+          for (Transaction transaction : chunk) {
+            statement.setInt(1, transaction.getUser().getId());
+            statement.setInt(2, transaction.getCategory().getId());
+            statement.setString(3, transaction.getType().name());
+            statement.setLong(4, transaction.getAmount().getCents());
+            statement.setTimestamp(5, new Timestamp(transaction.getTime().getTime()));
+            statement.addBatch();
+          }
+          statement.executeBatch();
+
+          try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            for (Transaction transaction : chunk) {
+              generatedKeys.next();
+              transaction.setId(generatedKeys.getInt(1));
+            }
+          }
+        }
+      }
+      return null;
+    });
+  }
+
+}
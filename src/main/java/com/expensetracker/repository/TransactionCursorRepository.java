@@ -0,0 +1,91 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Money;
+import com.expensetracker.model.TransactionView;
+import com.expensetracker.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.util.Objects.nonNull;
+
+// Forward-only JDBC cursor over transactions. PostgreSQL honours the fetch size
+// only with autocommit off, so callers should stream inside a read-only transaction.
+@Repository
+@RequiredArgsConstructor
+public class TransactionCursorRepository {
+
+  private static final String SELECT_ALL =
+      "SELECT id, user_id, category_id, type, amount, time FROM transaction ORDER BY time, id";
+
+  private static final String SELECT_BY_USER_ID =
+      "SELECT id, user_id, category_id, type, amount, time FROM transaction WHERE user_id = ?";
+
+  private static final String ORDER_BY_TIME = " ORDER BY time, id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${expense-tracker.transactions.stream.fetch-size:500}")
+  private int fetchSize;
+
+  public void streamAll(Consumer<TransactionView> consumer) {
+    jdbcTemplate.query(
+        connection -> prepareStatement(connection.prepareStatement(SELECT_ALL)),
+        (ResultSet resultSet) -> consumer.accept(mapRow(resultSet))
+    );
+  }
+
+  // from is inclusive and to is exclusive, a null bound leaves that side open
+  public void streamAllByUserId(Integer userId, Date from, Date to, Consumer<TransactionView> consumer) {
+    StringBuilder sql = new StringBuilder(SELECT_BY_USER_ID);
+    List<Object> params = new ArrayList<>();
+    params.add(userId);
+    if (nonNull(from)) {
+      sql.append(" AND time >= ?");
+      params.add(new Timestamp(from.getTime()));
+    }
+    if (nonNull(to)) {
+      sql.append(" AND time < ?");
+      params.add(new Timestamp(to.getTime()));
+    }
+    sql.append(ORDER_BY_TIME);
+
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = prepareStatement(connection.prepareStatement(sql.toString()));
+          for (int i = 0; i < params.size(); i++) {
+            statement.setObject(i + 1, params.get(i));
+          }
+          return statement;
+        },
+        (ResultSet resultSet) -> consumer.accept(mapRow(resultSet))
+    );
+  }
+
+  private PreparedStatement prepareStatement(PreparedStatement statement) throws SQLException {
+    statement.setFetchSize(fetchSize);
+    return statement;
+  }
+
+  private TransactionView mapRow(ResultSet resultSet) throws SQLException {
+    return new TransactionView(
+        resultSet.getInt("id"),
+        resultSet.getInt("user_id"),
+        resultSet.getInt("category_id"),
+        TransactionType.valueOf(resultSet.getString("type")),
+        Money.ofCents(resultSet.getLong("amount")),
+        new Date(resultSet.getTimestamp("time").getTime())
+    );
+  }
+
+}
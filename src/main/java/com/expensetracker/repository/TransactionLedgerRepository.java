@@ -0,0 +1,100 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.LedgerBalance;
+import com.expensetracker.model.LedgerEntry;
+import com.expensetracker.model.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Objects.isNull;
+
+// Entries of a user are appended after its balance row has been updated, so the user row lock
+// hands out the sequence numbers of one user in commit order: once an entry is visible, all
+// entries of the same user with a lower sequence number are visible as well. recorded_at is left
+// to the database clock when the entry is inserted, so it does not decrease along the sequence
+// numbers of a user either and a point in time resolves to the last sequence number recorded by then.
+@Repository
+@RequiredArgsConstructor
+public class TransactionLedgerRepository {
+
+  private static final String INSERT = "INSERT INTO transaction_ledger " +
+      "(user_id, event, transaction_id, category_id, type, amount, time, balance_delta) " +
+      "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  // continues every user of the id range that has at least minEntries entries after its latest snapshot
+  private static final String INSERT_SNAPSHOTS = "INSERT INTO balance_snapshot (user_id, sequence_number, balance) " +
+      "SELECT u.id, MAX(l.sequence_number), COALESCE(MAX(s.balance), 0) + SUM(l.balance_delta) " +
+      "FROM user_table u " +
+      "LEFT JOIN (SELECT user_id, MAX(sequence_number) AS sequence_number FROM balance_snapshot " +
+      "           WHERE user_id >= ? AND user_id < ? GROUP BY user_id) latest ON latest.user_id = u.id " +
+      "LEFT JOIN balance_snapshot s ON s.user_id = latest.user_id AND s.sequence_number = latest.sequence_number " +
+      "JOIN transaction_ledger l ON l.user_id = u.id AND l.sequence_number > COALESCE(latest.sequence_number, 0) " +
+      "WHERE u.id >= ? AND u.id < ? " +
+      "GROUP BY u.id " +
+      "HAVING COUNT(*) >= ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${expense-tracker.transactions.batch.jdbc-batch-size:500}")
+  private int batchSize;
+
+  public void appendAll(List<LedgerEntry> entries) {
+    jdbcTemplate.batchUpdate(INSERT, entries, batchSize, (statement, entry) -> {
+      statement.setInt(1, entry.getUserId());
+      statement.setString(2, entry.getEvent().name());
+      statement.setObject(3, entry.getTransactionId(), Types.INTEGER);
+      statement.setObject(4, entry.getCategoryId(), Types.INTEGER);
+      statement.setString(5, isNull(entry.getType()) ? null : entry.getType().name());
+      statement.setObject(6, isNull(entry.getAmount()) ? null : entry.getAmount().getCents(), Types.BIGINT);
+      statement.setTimestamp(7, isNull(entry.getTime()) ? null : new Timestamp(entry.getTime().getTime()));
+      statement.setLong(8, entry.getBalanceDelta().getCents());
+    });
+  }
+
+  public Optional<Long> findLastSequenceNumber(Integer userId) {
+    List<Long> sequenceNumbers = jdbcTemplate.queryForList(
+        "SELECT sequence_number FROM transaction_ledger WHERE user_id = ? ORDER BY sequence_number DESC LIMIT 1",
+        Long.class, userId);
+    return sequenceNumbers.stream().findFirst();
+  }
+
+  public Optional<Long> findLastSequenceNumber(Integer userId, Date recordedAtOrBefore) {
+    return Optional.ofNullable(jdbcTemplate.queryForObject(
+        "SELECT MAX(sequence_number) FROM transaction_ledger WHERE user_id = ? AND recorded_at <= ?",
+        Long.class, userId, new Timestamp(recordedAtOrBefore.getTime())));
+  }
+
+  public Optional<LedgerBalance> findLatestSnapshot(Integer userId, long sequenceNumberAtMost) {
+    List<LedgerBalance> snapshots = jdbcTemplate.query(
+        "SELECT sequence_number, balance FROM balance_snapshot WHERE user_id = ? AND sequence_number <= ? " +
+            "ORDER BY sequence_number DESC LIMIT 1",
+        (resultSet, rowNum) -> new LedgerBalance(
+            userId, resultSet.getLong("sequence_number"), Money.ofCents(resultSet.getLong("balance"))),
+        userId, sequenceNumberAtMost);
+    return snapshots.stream().findFirst();
+  }
+
+  public long sumBalanceDeltas(Integer userId, long afterSequenceNumber, long toSequenceNumber) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COALESCE(SUM(balance_delta), 0) FROM transaction_ledger " +
+            "WHERE user_id = ? AND sequence_number > ? AND sequence_number <= ?",
+        Long.class, userId, afterSequenceNumber, toSequenceNumber);
+  }
+
+  public int findMaxUserId() {
+    return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM user_table", Integer.class);
+  }
+
+  public int insertSnapshots(int fromUserId, int toUserId, int minEntries) {
+    return jdbcTemplate.update(INSERT_SNAPSHOTS, fromUserId, toUserId, fromUserId, toUserId, minEntries);
+  }
+
+}
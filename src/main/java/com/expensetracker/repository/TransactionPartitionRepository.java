@@ -0,0 +1,74 @@
+package com.expensetracker.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static java.lang.String.format;
+
+// Catalog queries and DDL for the monthly partitions of the transaction table (PostgreSQL only).
+// Partition names are generated by the caller from dates, so they are safe to inline.
+@Repository
+@RequiredArgsConstructor
+public class TransactionPartitionRepository {
+
+  private static final String POSTGRESQL = "PostgreSQL";
+
+  private static final String IS_PARTITIONED =
+      "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('transaction'))";
+
+  private static final String SELECT_PARTITIONS =
+      "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+          "WHERE i.inhparent = to_regclass('transaction') ORDER BY c.relname";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public boolean isPartitioned() {
+    String databaseProductName = jdbcTemplate.execute(
+        (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+    return POSTGRESQL.equals(databaseProductName)
+        && Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+  }
+
+  public List<String> findAllPartitionNames() {
+    return jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class);
+  }
+
+  // Rows of the range that already landed in the default partition are moved into the new
+  // partition before it is attached, otherwise the attach would fail its constraint check.
+  // Both tables have the columns of the parent in its order, so the rows are copied whole.
+  public void createPartition(String name, LocalDate from, LocalDate to) {
+    jdbcTemplate.execute(format("CREATE TABLE %s (LIKE transaction INCLUDING DEFAULTS)", name));
+    jdbcTemplate.update(
+        format("INSERT INTO %s SELECT * FROM transaction_default WHERE time >= ? AND time < ?", name),
+        Date.valueOf(from), Date.valueOf(to));
+    jdbcTemplate.update("DELETE FROM transaction_default WHERE time >= ? AND time < ?",
+        Date.valueOf(from), Date.valueOf(to));
+    jdbcTemplate.execute(format("ALTER TABLE transaction ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+        name, from, to));
+  }
+
+  // The rows leave the transaction table but their effect stays in the balances, so their net moves
+  // into base_balance for the reconciliation. The users' transaction lists change, so their ETags
+  // have to change as well.
+  public void retireFromUserBalances(String name) {
+    jdbcTemplate.update(format("UPDATE user_table u SET base_balance = u.base_balance + p.net, version = u.version + 1 " +
+        "FROM (SELECT user_id, SUM(CASE WHEN type = 'CREDIT' THEN amount ELSE -amount END) AS net " +
+        "      FROM %s GROUP BY user_id) p " +
+        "WHERE u.id = p.user_id", name));
+  }
+
+  public void detachPartition(String name) {
+    jdbcTemplate.execute(format("ALTER TABLE transaction DETACH PARTITION %s", name));
+  }
+
+  public void dropPartition(String name) {
+    jdbcTemplate.execute(format("DROP TABLE %s", name));
+  }
+
+}
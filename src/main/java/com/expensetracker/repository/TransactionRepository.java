@@ -1,14 +1,49 @@
 package com.expensetracker.repository;
 
 import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
 
+  // the user and category ids are read from the foreign key columns, without joining their tables
+  String SELECT_VIEW = "select new com.expensetracker.model.TransactionView(" +
+      "t.id, t.user.id, t.category.id, t.type, t.amount, t.time) ";
+
   List<Transaction> findAllByUserId(Integer userId);
 
+  @Query("select t.time from transaction t where t.id = :id")
+  Optional<Date> findTimeById(@Param("id") Integer id);
+
+  @Query(SELECT_VIEW + "from transaction t where t.id = :id")
+  Optional<TransactionView> findViewById(@Param("id") Integer id);
+
+  @Query(SELECT_VIEW + "from transaction t order by t.time, t.id")
+  List<TransactionView> findFirstPage(Pageable pageable);
+
+  @Query(SELECT_VIEW + "from transaction t " +
+      "where t.time > :time or (t.time = :time and t.id > :id) " +
+      "order by t.time, t.id")
+  List<TransactionView> findPageAfter(@Param("time") Date time, @Param("id") Integer id, Pageable pageable);
+
+  @Query(SELECT_VIEW + "from transaction t where t.user.id = :userId order by t.time, t.id")
+  List<TransactionView> findFirstPageByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+  @Query(SELECT_VIEW + "from transaction t " +
+      "where t.user.id = :userId and (t.time > :time or (t.time = :time and t.id > :id)) " +
+      "order by t.time, t.id")
+  List<TransactionView> findPageByUserIdAfter(@Param("userId") Integer userId,
+                                              @Param("time") Date time,
+                                              @Param("id") Integer id,
+                                              Pageable pageable);
+
 }
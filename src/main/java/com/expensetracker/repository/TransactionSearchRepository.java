@@ -0,0 +1,80 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionView;
+import com.expensetracker.service.transaction.TransactionFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static java.util.Objects.nonNull;
+
+// Only the given filters end up in the where clause, so the planner can pick the
+// (user_id, time, id) or (category_id, time, id) index for the common cases.
+@Repository
+@RequiredArgsConstructor
+public class TransactionSearchRepository {
+
+  private final EntityManager entityManager;
+
+  public List<TransactionView> search(TransactionFilter filter, Date afterTime, Integer afterId, int limit) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<TransactionView> query = builder.createQuery(TransactionView.class);
+    Root<Transaction> transaction = query.from(Transaction.class);
+    Path<Date> time = transaction.get("time");
+    Path<Integer> id = transaction.get("id");
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (nonNull(filter.getUserId())) {
+      predicates.add(builder.equal(transaction.get("user").get("id"), filter.getUserId()));
+    }
+    if (nonNull(filter.getCategoryId())) {
+      predicates.add(builder.equal(transaction.get("category").get("id"), filter.getCategoryId()));
+    }
+    if (nonNull(filter.getType())) {
+      predicates.add(builder.equal(transaction.get("type"), filter.getType()));
+    }
+    if (nonNull(filter.getFrom())) {
+      predicates.add(builder.greaterThanOrEqualTo(time, filter.getFrom()));
+    }
+    if (nonNull(filter.getTo())) {
+      predicates.add(builder.lessThan(time, filter.getTo()));
+    }
+    if (nonNull(filter.getMinAmount())) {
+      predicates.add(builder.greaterThanOrEqualTo(transaction.get("amount"), filter.getMinAmount()));
+    }
+    if (nonNull(filter.getMaxAmount())) {
+      predicates.add(builder.lessThanOrEqualTo(transaction.get("amount"), filter.getMaxAmount()));
+    }
+    if (nonNull(afterTime)) {
+      predicates.add(builder.or(
+          builder.greaterThan(time, afterTime),
+          builder.and(builder.equal(time, afterTime), builder.greaterThan(id, afterId))
+      ));
+    }
+
+    query.select(builder.construct(TransactionView.class,
+            id,
+            transaction.get("user").get("id"),
+            transaction.get("category").get("id"),
+            transaction.get("type"),
+            transaction.get("amount"),
+            time))
+        .where(predicates.toArray(new Predicate[0]))
+        .orderBy(builder.asc(time), builder.asc(id));
+
+    return entityManager.createQuery(query)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+}
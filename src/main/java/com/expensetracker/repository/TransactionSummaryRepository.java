@@ -0,0 +1,58 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.TransactionSummary;
+import com.expensetracker.model.TransactionSummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TransactionSummaryRepository extends JpaRepository<TransactionSummary, TransactionSummaryId> {
+
+  @Query("select s from transaction_summary s " +
+      "where s.userId = :userId and s.month between :from and :to and s.count > 0 " +
+      "order by s.month, s.categoryId, s.type")
+  List<TransactionSummary> findAllByUserId(@Param("userId") Integer userId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+  @Modifying
+  @Query(value = "UPDATE transaction_summary SET total = total + :amountCents, tx_count = tx_count + :count " +
+      "WHERE user_id = :userId AND category_id = :categoryId AND month = :month AND type = :type",
+      nativeQuery = true)
+  int addToBucket(@Param("userId") Integer userId,
+                  @Param("categoryId") Integer categoryId,
+                  @Param("month") LocalDate month,
+                  @Param("type") String type,
+                  @Param("amountCents") long amountCents,
+                  @Param("count") long count);
+
+  @Modifying
+  @Query(value = "INSERT INTO transaction_summary (user_id, category_id, month, type, total, tx_count) " +
+      "VALUES (:userId, :categoryId, :month, :type, :amountCents, :count) ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertBucket(@Param("userId") Integer userId,
+                   @Param("categoryId") Integer categoryId,
+                   @Param("month") LocalDate month,
+                   @Param("type") String type,
+                   @Param("amountCents") long amountCents,
+                   @Param("count") long count);
+
+  @Modifying
+  @Query(value = "DELETE FROM transaction_summary WHERE user_id = :userId", nativeQuery = true)
+  int deleteAllByUserId(@Param("userId") Integer userId);
+
+  @Modifying
+  @Query(value = "INSERT INTO transaction_summary (user_id, category_id, month, type, total, tx_count) " +
+      "SELECT user_id, category_id, CAST(DATE_TRUNC('MONTH', time) AS DATE), type, SUM(amount), COUNT(*) " +
+      "FROM transaction WHERE user_id = :userId " +
+      "GROUP BY user_id, category_id, CAST(DATE_TRUNC('MONTH', time) AS DATE), type",
+      nativeQuery = true)
+  int insertAllByUserIdFromTransactions(@Param("userId") Integer userId);
+
+}
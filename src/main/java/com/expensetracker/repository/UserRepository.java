@@ -2,8 +2,18 @@ package com.expensetracker.repository;
 
 import com.expensetracker.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
@@ -11,4 +21,22 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
   boolean existsByEmail(String email);
 
+  @Query("select u.id from user_table u order by u.id")
+  List<Integer> findAllIds();
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select u from user_table u where u.id = :id")
+  Optional<User> findByIdForUpdate(@Param("id") Integer id);
+
+  @Query("select u.id from user_table u where u.id in :ids")
+  Set<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+  @Modifying
+  @Query(value = "UPDATE user_table SET balance = balance + :deltaCents, version = version + 1 WHERE id = :id", nativeQuery = true)
+  int changeBalance(@Param("id") Integer id, @Param("deltaCents") long deltaCents);
+
+  @Modifying
+  @Query(value = "UPDATE user_table SET base_balance = base_balance + :deltaCents WHERE id = :id", nativeQuery = true)
+  int changeBaseBalance(@Param("id") Integer id, @Param("deltaCents") long deltaCents);
+
 }
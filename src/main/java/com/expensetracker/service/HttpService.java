@@ -1,70 +1,114 @@
 package com.expensetracker.service;
 
+import com.expensetracker.service.cache.CacheRegistry;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import static java.util.Objects.nonNull;
+
+// Non-blocking JSON client. Responses are deserialized straight from the body stream,
+// and the blocking methods only wait on the corresponding async call.
+// GET responses carrying an ETag are kept, and the next GET of the same uri is made conditional,
+// so an unchanged resource costs a 304 instead of a transfer.
 @Service
-@RequiredArgsConstructor
 public class HttpService<T> {
 
-  private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+  private static final int NOT_MODIFIED = 304;
 
+  private final HttpClient httpClient;
   private final ObjectMapper objectMapper;
+  private final Duration requestTimeout;
+  private final Cache<String, ValidatedResponse> validatedResponses;
 
-  @SneakyThrows
-  public<E> E get(String uri, Class<E> clazz){
-    HttpRequest request = HttpRequest
-        .newBuilder(URI.create(uri))
-        .header("Accept", "application/json")
-        .GET()
+  public HttpService(ObjectMapper objectMapper,
+                     CacheRegistry cacheRegistry,
+                     @Value("${expense-tracker.http.version:HTTP_2}") HttpClient.Version version,
+                     @Value("${expense-tracker.http.connect-timeout:2s}") Duration connectTimeout,
+                     @Value("${expense-tracker.http.request-timeout:10s}") Duration requestTimeout,
+                     @Value("${expense-tracker.http.etag-cache.maximum-size:1000}") long maximumSize,
+                     @Value("${expense-tracker.http.etag-cache.time-to-live:1h}") Duration timeToLive) {
+    this.httpClient = HttpClient.newBuilder()
+        .version(version)
+        .connectTimeout(connectTimeout)
         .build();
+    this.objectMapper = objectMapper;
+    this.requestTimeout = requestTimeout;
+    this.validatedResponses = cacheRegistry.create("http-validated-responses", maximumSize, timeToLive);
+  }
 
-    HttpResponse<String> responseJson = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-    return objectMapper.readValue(responseJson.body(), clazz);
+  public <E> CompletableFuture<E> getAsync(String uri, Class<E> clazz) {
+    return getAsync(uri, objectMapper.constructType(clazz));
   }
 
-  @SneakyThrows
-  public T post(T body, String uri) {
-    HttpRequest request = HttpRequest
-        .newBuilder(URI.create(uri))
+  public <E> CompletableFuture<E> getAsync(String uri, TypeReference<E> typeReference) {
+    return getAsync(uri, objectMapper.getTypeFactory().constructType(typeReference));
+  }
+
+  public CompletableFuture<T> postAsync(T body, String uri) {
+    HttpRequest request = newRequest(uri)
         .header("Accept", "application/json")
         .header("Content-Type", "application/json")
         .POST(HttpRequest.BodyPublishers.ofString(serialize(body)))
         .build();
 
-    HttpResponse<String> responseJson = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-    return objectMapper.readValue(responseJson.body(), new TypeReference<>() {});
+    return sendAsync(request, objectMapper.getTypeFactory().constructType(new TypeReference<T>() {}));
   }
 
-  @SneakyThrows
-  public T put(T body, String uri) {
-    HttpRequest request = HttpRequest
-        .newBuilder(URI.create(uri))
+  public CompletableFuture<T> putAsync(T body, String uri) {
+    HttpRequest request = newRequest(uri)
         .header("Accept", "application/json")
         .header("Content-Type", "application/json")
         .PUT(HttpRequest.BodyPublishers.ofString(serialize(body)))
         .build();
 
-    HttpResponse<String> responseJson = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-    return objectMapper.readValue(responseJson.body(), new TypeReference<>() {});
+    return sendAsync(request, objectMapper.getTypeFactory().constructType(new TypeReference<T>() {}));
   }
 
-  @SneakyThrows
-  public void delete(String uri) {
-    HttpRequest request = HttpRequest
-        .newBuilder(URI.create(uri))
+  public CompletableFuture<Void> deleteAsync(String uri) {
+    HttpRequest request = newRequest(uri)
         .DELETE()
         .build();
 
-    httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+        .thenApply(response -> null);
+  }
+
+  public <E> E get(String uri, Class<E> clazz) {
+    return join(getAsync(uri, clazz));
+  }
+
+  public <E> E get(String uri, TypeReference<E> typeReference) {
+    return join(getAsync(uri, typeReference));
+  }
+
+  public T post(T body, String uri) {
+    return join(postAsync(body, uri));
+  }
+
+  public T put(T body, String uri) {
+    return join(putAsync(body, uri));
+  }
+
+  public void delete(String uri) {
+    join(deleteAsync(uri));
   }
 
   @SneakyThrows
@@ -72,4 +116,66 @@ public class HttpService<T> {
     return objectMapper.writeValueAsString(object);
   }
 
+  private <E> CompletableFuture<E> getAsync(String uri, JavaType type) {
+    ValidatedResponse validated = validatedResponses.getIfPresent(uri);
+    HttpRequest.Builder request = newRequest(uri)
+        .header("Accept", "application/json")
+        .GET();
+    if (nonNull(validated)) {
+      request.header("If-None-Match", validated.getEtag());
+    }
+
+    return httpClient.sendAsync(request.build(), responseInfo -> keepIfValidated(uri, responseInfo))
+        .thenApply(response -> response.statusCode() == NOT_MODIFIED && nonNull(validated)
+            ? read(new ByteArrayInputStream(validated.getBody()), type)
+            : read(response.body(), type));
+  }
+
+  // only bodies that come with an ETag are buffered, everything else is still read as a stream
+  private HttpResponse.BodySubscriber<InputStream> keepIfValidated(String uri, HttpResponse.ResponseInfo responseInfo) {
+    Optional<String> etag = responseInfo.headers().firstValue("ETag");
+    if (responseInfo.statusCode() != 200 || etag.isEmpty()) {
+      return HttpResponse.BodySubscribers.ofInputStream();
+    }
+    return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> {
+      validatedResponses.put(uri, new ValidatedResponse(etag.get(), body));
+      return new ByteArrayInputStream(body);
+    });
+  }
+
+  private <E> CompletableFuture<E> sendAsync(HttpRequest request, JavaType type) {
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+        .thenApply(response -> read(response.body(), type));
+  }
+
+  private HttpRequest.Builder newRequest(String uri) {
+    return HttpRequest.newBuilder(URI.create(uri))
+        .timeout(requestTimeout);
+  }
+
+  @SneakyThrows
+  private <E> E read(InputStream body, JavaType type) {
+    try (InputStream in = body) {
+      return objectMapper.readValue(in, type);
+    }
+  }
+
+  @SneakyThrows
+  private <E> E join(CompletableFuture<E> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  private static class ValidatedResponse {
+
+    private final String etag;
+    private final byte[] body;
+
+  }
+
 }
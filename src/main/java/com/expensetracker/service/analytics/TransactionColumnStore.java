@@ -0,0 +1,27 @@
+package com.expensetracker.service.analytics;
+
+import com.expensetracker.model.Money;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface TransactionColumnStore {
+
+  boolean isEnabled();
+
+  Money sum(Integer userId, TransactionType type, Integer categoryId, Date from, Date to);
+
+  List<SpendingReportRow> aggregate(Integer userId, Date from, Date to, SpendingGrouping grouping);
+
+  void transactionsSaved(Collection<Transaction> transactions);
+
+  void transactionsDeleted(Collection<Transaction> transactions);
+
+  void evictAll();
+
+}
@@ -0,0 +1,155 @@
+package com.expensetracker.service.analytics;
+
+import com.expensetracker.config.datasource.ReadYourWritesContext;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.repository.TransactionCursorRepository;
+import com.expensetracker.service.cache.CacheRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Keeps the transactions of recently read users as primitive columns, bounded by their estimated size.
+// Writes are applied to loaded columns once they commit. A load that ran across a commit of the same
+// generation stripe is used for its own read only, since it may or may not have seen that write.
+@Service
+public class TransactionColumnStoreImpl implements TransactionColumnStore {
+
+  private static final int GENERATION_STRIPES = 1024;
+
+  private final TransactionCursorRepository transactionCursorRepository;
+  private final TransactionTemplate loadTemplate;
+  private final boolean enabled;
+  private final ZoneId zone = ZoneId.systemDefault();
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+  private final Cache<Integer, TransactionColumns> columnsByUserId;
+
+  public TransactionColumnStoreImpl(TransactionCursorRepository transactionCursorRepository,
+                                    CacheRegistry cacheRegistry,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${expense-tracker.analytics.column-store.enabled:false}") boolean enabled,
+                                    @Value("${expense-tracker.analytics.column-store.memory-budget:64MB}") DataSize memoryBudget,
+                                    @Value("${expense-tracker.analytics.column-store.time-to-live:30m}") Duration timeToLive) {
+    this.transactionCursorRepository = transactionCursorRepository;
+    this.loadTemplate = new TransactionTemplate(transactionManager);
+    this.loadTemplate.setReadOnly(true);
+    this.enabled = enabled;
+    this.columnsByUserId = cacheRegistry.create("transaction-columns", memoryBudget.toBytes(),
+        (Integer userId, TransactionColumns columns) -> columns.estimateBytes(), timeToLive);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override
+  public Money sum(Integer userId, TransactionType type, Integer categoryId, Date from, Date to) {
+    return getColumns(userId).sum(type, categoryId, toMillis(from, Long.MIN_VALUE), toMillis(to, Long.MAX_VALUE));
+  }
+
+  @Override
+  public List<SpendingReportRow> aggregate(Integer userId, Date from, Date to, SpendingGrouping grouping) {
+    return getColumns(userId).aggregate(toMillis(from, Long.MIN_VALUE), toMillis(to, Long.MAX_VALUE), grouping);
+  }
+
+  @Override
+  public void transactionsSaved(Collection<Transaction> transactions) {
+    if (enabled) {
+      List<TransactionRow> rows = transactions.stream().map(TransactionRow::of).collect(Collectors.toList());
+      afterCommit(() -> rows.forEach(row -> apply(row.getUserId(), columns -> columns.put(row))));
+    }
+  }
+
+  @Override
+  public void transactionsDeleted(Collection<Transaction> transactions) {
+    if (enabled) {
+      List<TransactionRow> rows = transactions.stream().map(TransactionRow::of).collect(Collectors.toList());
+      afterCommit(() -> rows.forEach(row -> apply(row.getUserId(), columns -> columns.remove(row.getId()))));
+    }
+  }
+
+  @Override
+  public void evictAll() {
+    for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+      generations.incrementAndGet(stripe);
+    }
+    columnsByUserId.invalidateAll();
+  }
+
+  private TransactionColumns getColumns(Integer userId) {
+    TransactionColumns cached = columnsByUserId.getIfPresent(userId);
+    if (nonNull(cached)) {
+      return cached;
+    }
+
+    int stripe = stripeOf(userId);
+    long generation = generations.get(stripe);
+    TransactionColumns loaded = new TransactionColumns(zone);
+    // only a load needs a transaction, reads of loaded columns do not touch the database;
+    // loads stay off the replica, columns behind a committed write would be kept until evicted
+    ReadYourWritesContext.onPrimary(() -> loadTemplate.executeWithoutResult(status ->
+        transactionCursorRepository.streamAllByUserId(userId, null, null,
+            transaction -> loaded.append(TransactionRow.of(transaction)))));
+
+    TransactionColumns installed = columnsByUserId.asMap().compute(userId, (id, current) -> {
+      if (nonNull(current)) {
+        return current;
+      }
+      return generations.get(stripe) == generation ? loaded : null;
+    });
+    return isNull(installed) ? loaded : installed;
+  }
+
+  // the stripe is bumped before the columns change, so a load still running can not be installed afterwards
+  private void apply(int userId, Consumer<TransactionColumns> change) {
+    generations.incrementAndGet(stripeOf(userId));
+    columnsByUserId.asMap().computeIfPresent(userId, (id, columns) -> {
+      change.accept(columns);
+      return columns;
+    });
+  }
+
+  private void afterCommit(Runnable change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      change.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        change.run();
+      }
+    });
+  }
+
+  private int stripeOf(Integer userId) {
+    return Math.floorMod(userId, GENERATION_STRIPES);
+  }
+
+  private long toMillis(Date date, long defaultMillis) {
+    return isNull(date) ? defaultMillis : date.getTime();
+  }
+
+}
@@ -0,0 +1,341 @@
+package com.expensetracker.service.analytics;
+
+import com.expensetracker.model.Money;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.model.TransactionType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.Objects.isNull;
+
+// The transactions of one user as primitive columns, sorted by (time, id) so a time range is a
+// binary search away. Rows are addressed by transaction id: writing the same row twice leaves
+// the same columns, which lets the store apply a write that a concurrent load already read.
+class TransactionColumns {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int BYTES_PER_ROW = Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+  private static final int OVERHEAD_BYTES = 128;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final ZoneId zone;
+
+  private int[] id = new int[INITIAL_CAPACITY];
+  private long[] time = new long[INITIAL_CAPACITY];
+  private long[] amountCents = new long[INITIAL_CAPACITY];
+  private int[] categoryId = new int[INITIAL_CAPACITY];
+  private final BitSet debit = new BitSet();
+  private int size;
+
+  TransactionColumns(ZoneId zone) {
+    this.zone = zone;
+  }
+
+  void put(TransactionRow row) {
+    lock.writeLock().lock();
+    try {
+      int existing = indexOf(row.getId());
+      if (existing >= 0) {
+        removeAt(existing);
+      }
+      insertAt(insertionPoint(row.getTime(), row.getId()), row);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void remove(int transactionId) {
+    lock.writeLock().lock();
+    try {
+      int existing = indexOf(transactionId);
+      if (existing >= 0) {
+        removeAt(existing);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // loaded rows arrive in (time, id) order, so they are appended without searching
+  void append(TransactionRow row) {
+    lock.writeLock().lock();
+    try {
+      insertAt(size, row);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  int estimateBytes() {
+    lock.readLock().lock();
+    try {
+      long bytes = OVERHEAD_BYTES + (long) id.length * BYTES_PER_ROW + debit.size() / Byte.SIZE;
+      return (int) Math.min(bytes, Integer.MAX_VALUE);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // from is inclusive and to is exclusive, a null type or category matches every row
+  Money sum(TransactionType type, Integer category, long from, long to) {
+    lock.readLock().lock();
+    try {
+      boolean anyType = isNull(type);
+      boolean debitType = type == TransactionType.DEBIT;
+      boolean anyCategory = isNull(category);
+      int categoryFilter = anyCategory ? 0 : category;
+
+      long cents = 0;
+      for (int i = lowerBound(from), end = lowerBound(to); i < end; i++) {
+        if ((anyType || debit.get(i) == debitType) && (anyCategory || categoryId[i] == categoryFilter)) {
+          cents += amountCents[i];
+        }
+      }
+      return Money.ofCents(cents);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  List<SpendingReportRow> aggregate(long from, long to, SpendingGrouping grouping) {
+    lock.readLock().lock();
+    try {
+      int start = lowerBound(from);
+      int end = lowerBound(to);
+      switch (grouping) {
+        case CATEGORY:
+          return aggregateByCategory(start, end);
+        case MONTH:
+          return aggregateByMonth(start, end);
+        default:
+          return aggregateByType(start, end);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private List<SpendingReportRow> aggregateByType(int start, int end) {
+    long debitCents = 0;
+    long creditCents = 0;
+    int debitCount = 0;
+    for (int i = start; i < end; i++) {
+      if (debit.get(i)) {
+        debitCents += amountCents[i];
+        debitCount++;
+      } else {
+        creditCents += amountCents[i];
+      }
+    }
+
+    List<SpendingReportRow> rows = new ArrayList<>(2);
+    int creditCount = end - start - debitCount;
+    if (creditCount > 0) {
+      rows.add(new SpendingReportRow(null, null, TransactionType.CREDIT, Money.ZERO, Money.ofCents(creditCents), creditCount));
+    }
+    if (debitCount > 0) {
+      rows.add(new SpendingReportRow(null, null, TransactionType.DEBIT, Money.ofCents(debitCents), Money.ZERO, debitCount));
+    }
+    return rows;
+  }
+
+  // rows are in time order, so each month is one contiguous run of the columns
+  private List<SpendingReportRow> aggregateByMonth(int start, int end) {
+    List<SpendingReportRow> rows = new ArrayList<>();
+    int i = start;
+    while (i < end) {
+      LocalDate month = LocalDate.ofInstant(Instant.ofEpochMilli(time[i]), zone).withDayOfMonth(1);
+      long monthEnd = month.plusMonths(1).atStartOfDay(zone).toInstant().toEpochMilli();
+      long debitCents = 0;
+      long creditCents = 0;
+      int monthStart = i;
+      for (; i < end && time[i] < monthEnd; i++) {
+        if (debit.get(i)) {
+          debitCents += amountCents[i];
+        } else {
+          creditCents += amountCents[i];
+        }
+      }
+      rows.add(new SpendingReportRow(null, month, null, Money.ofCents(debitCents), Money.ofCents(creditCents), i - monthStart));
+    }
+    return rows;
+  }
+
+  private List<SpendingReportRow> aggregateByCategory(int start, int end) {
+    CategoryTotals totals = new CategoryTotals();
+    for (int i = start; i < end; i++) {
+      totals.add(categoryId[i], amountCents[i], debit.get(i));
+    }
+    return totals.toRows();
+  }
+
+  // first index whose time is at or after the given time
+  private int lowerBound(long at) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (time[middle] < at) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private int insertionPoint(long at, int transactionId) {
+    int index = lowerBound(at);
+    while (index < size && time[index] == at && id[index] < transactionId) {
+      index++;
+    }
+    return index;
+  }
+
+  private int indexOf(int transactionId) {
+    for (int i = 0; i < size; i++) {
+      if (id[i] == transactionId) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void insertAt(int index, TransactionRow row) {
+    if (size == id.length) {
+      int capacity = id.length * 2;
+      id = Arrays.copyOf(id, capacity);
+      time = Arrays.copyOf(time, capacity);
+      amountCents = Arrays.copyOf(amountCents, capacity);
+      categoryId = Arrays.copyOf(categoryId, capacity);
+    }
+    int moved = size - index;
+    System.arraycopy(id, index, id, index + 1, moved);
+    System.arraycopy(time, index, time, index + 1, moved);
+    System.arraycopy(amountCents, index, amountCents, index + 1, moved);
+    System.arraycopy(categoryId, index, categoryId, index + 1, moved);
+    for (int i = size; i > index; i--) {
+      debit.set(i, debit.get(i - 1));
+    }
+
+    id[index] = row.getId();
+    time[index] = row.getTime();
+    amountCents[index] = row.getAmountCents();
+    categoryId[index] = row.getCategoryId();
+    debit.set(index, row.isDebit());
+    size++;
+  }
+
+  private void removeAt(int index) {
+    int moved = size - index - 1;
+    System.arraycopy(id, index + 1, id, index, moved);
+    System.arraycopy(time, index + 1, time, index, moved);
+    System.arraycopy(amountCents, index + 1, amountCents, index, moved);
+    System.arraycopy(categoryId, index + 1, categoryId, index, moved);
+    for (int i = index; i < size - 1; i++) {
+      debit.set(i, debit.get(i + 1));
+    }
+    debit.clear(size - 1);
+    size--;
+  }
+
+  // open addressing over primitive arrays, a user has few distinct categories
+  private static class CategoryTotals {
+    private int[] keys = new int[16];
+    private boolean[] used = new boolean[16];
+    private long[] debitCents = new long[16];
+    private long[] creditCents = new long[16];
+    private int[] counts = new int[16];
+    private int size;
+
+    void add(int category, long cents, boolean isDebit) {
+      int slot = slotOf(category);
+      if (!used[slot]) {
+        used[slot] = true;
+        keys[slot] = category;
+        if (++size * 2 > keys.length) {
+          grow();
+          slot = slotOf(category);
+        }
+      }
+      if (isDebit) {
+        debitCents[slot] += cents;
+      } else {
+        creditCents[slot] += cents;
+      }
+      counts[slot]++;
+    }
+
+    List<SpendingReportRow> toRows() {
+      int[] categories = new int[size];
+      int next = 0;
+      for (int slot = 0; slot < keys.length; slot++) {
+        if (used[slot]) {
+          categories[next++] = keys[slot];
+        }
+      }
+      Arrays.sort(categories);
+
+      List<SpendingReportRow> rows = new ArrayList<>(size);
+      for (int category : categories) {
+        int slot = slotOf(category);
+        rows.add(new SpendingReportRow(category, null, null,
+            Money.ofCents(debitCents[slot]), Money.ofCents(creditCents[slot]), counts[slot]));
+      }
+      return rows;
+    }
+
+    private int slotOf(int category) {
+      int mask = keys.length - 1;
+      int slot = (category * 0x9E3779B9) >>> 16 & mask;
+      while (used[slot] && keys[slot] != category) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
+
+    private void grow() {
+      int[] oldKeys = keys;
+      boolean[] oldUsed = used;
+      long[] oldDebitCents = debitCents;
+      long[] oldCreditCents = creditCents;
+      int[] oldCounts = counts;
+
+      int capacity = oldKeys.length * 2;
+      keys = new int[capacity];
+      used = new boolean[capacity];
+      debitCents = new long[capacity];
+      creditCents = new long[capacity];
+      counts = new int[capacity];
+      for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+        if (oldUsed[oldSlot]) {
+          int slot = slotOf(oldKeys[oldSlot]);
+          used[slot] = true;
+          keys[slot] = oldKeys[oldSlot];
+          debitCents[slot] = oldDebitCents[oldSlot];
+          creditCents[slot] = oldCreditCents[oldSlot];
+          counts[slot] = oldCounts[oldSlot];
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,42 @@
+package com.expensetracker.service.analytics;
+
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.TransactionView;
+import lombok.Value;
+
+// The values of one transaction as the columns hold them, copied when a write is made,
+// since the entity may change before the write is applied after the commit.
+@Value
+class TransactionRow {
+
+  int userId;
+  int id;
+  long time;
+  long amountCents;
+  int categoryId;
+  boolean debit;
+
+  static TransactionRow of(Transaction transaction) {
+    return new TransactionRow(
+        transaction.getUser().getId(),
+        transaction.getId(),
+        transaction.getTime().getTime(),
+        transaction.getAmount().getCents(),
+        transaction.getCategory().getId(),
+        transaction.getType() == TransactionType.DEBIT
+    );
+  }
+
+  static TransactionRow of(TransactionView transaction) {
+    return new TransactionRow(
+        transaction.getUserId(),
+        transaction.getId(),
+        transaction.getTime().getTime(),
+        transaction.getAmount().getCents(),
+        transaction.getCategoryId(),
+        transaction.getType() == TransactionType.DEBIT
+    );
+  }
+
+}
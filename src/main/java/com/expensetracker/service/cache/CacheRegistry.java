@@ -0,0 +1,61 @@
+package com.expensetracker.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Component
+public class CacheRegistry {
+
+  private final Map<String, Cache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+  public <K, V> Cache<K, V> create(String name, long maximumSize, Duration timeToLive) {
+    Cache<K, V> cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build();
+    caches.put(name, cache);
+    return cache;
+  }
+
+  // bounded by the summed weight of the entries instead of their number
+  public <K, V> Cache<K, V> create(String name, long maximumWeight, Weigher<? super K, ? super V> weigher,
+                                   Duration timeToLive) {
+    Cache<K, V> cache = Caffeine.newBuilder()
+        .maximumWeight(maximumWeight)
+        .weigher(weigher)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build();
+    caches.put(name, cache);
+    return cache;
+  }
+
+  public Map<String, Cache<?, ?>> getCaches() {
+    return Collections.unmodifiableMap(caches);
+  }
+
+  // Evicts right away and once more after the surrounding transaction commits, so a reader
+  // can not re-populate the cache with the pre-commit row in between.
+  public void evict(Runnable eviction) {
+    eviction.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          eviction.run();
+        }
+      });
+    }
+  }
+
+}
@@ -0,0 +1,127 @@
+package com.expensetracker.service.category;
+
+import com.expensetracker.config.datasource.ReadYourWritesContext;
+import com.expensetracker.model.Category;
+import com.expensetracker.service.cache.CacheRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.nonNull;
+
+@Service
+@Primary
+public class CachingCategoryService implements CategoryService {
+
+  private final CategoryServiceImpl categoryService;
+  private final CacheRegistry cacheRegistry;
+
+  private final Cache<Integer, Category> categoriesById;
+  private final Cache<String, Integer> categoryIdsByName;
+  private final Cache<Integer, Boolean> existingCategoryIds;
+
+  public CachingCategoryService(CategoryServiceImpl categoryService,
+                                CacheRegistry cacheRegistry,
+                                @Value("${expense-tracker.cache.categories.maximum-size:10000}") long maximumSize,
+                                @Value("${expense-tracker.cache.categories.time-to-live:10m}") Duration timeToLive) {
+    this.categoryService = categoryService;
+    this.cacheRegistry = cacheRegistry;
+    this.categoriesById = cacheRegistry.create("categories-by-id", maximumSize, timeToLive);
+    this.categoryIdsByName = cacheRegistry.create("category-ids-by-name", maximumSize, timeToLive);
+    this.existingCategoryIds = cacheRegistry.create("existing-category-ids", maximumSize, timeToLive);
+  }
+
+  @Override
+  public List<Category> getAll() {
+    return categoryService.getAll();
+  }
+
+  @Override
+  public Category getById(Integer categoryId) {
+    Category category = categoriesById.get(categoryId, id -> ReadYourWritesContext.onPrimary(() -> categoryService.getById(id)));
+    existingCategoryIds.put(categoryId, true);
+    return category;
+  }
+
+  @Override
+  public Category getByName(String name) {
+    Integer categoryId = categoryIdsByName.getIfPresent(name);
+    if (nonNull(categoryId)) {
+      return getById(categoryId);
+    }
+
+    Category category = ReadYourWritesContext.onPrimary(() -> categoryService.getByName(name));
+    categoriesById.put(category.getId(), category);
+    categoryIdsByName.put(name, category.getId());
+    return category;
+  }
+
+  @Override
+  public Category createCategory(Category newCategory) {
+    return categoryService.createCategory(newCategory);
+  }
+
+  @Override
+  public Category updateCategoryById(Integer categoryId, Category updatedCategory) {
+    evict(categoryId);
+    return categoryService.updateCategoryById(categoryId, updatedCategory);
+  }
+
+  @Override
+  public void deleteCategoryById(Integer categoryId) {
+    evict(categoryId);
+    categoryService.deleteCategoryById(categoryId);
+  }
+
+  @Override
+  public void assertCategoryExists(Integer categoryId) {
+    if (nonNull(existingCategoryIds.getIfPresent(categoryId))) {
+      return;
+    }
+    ReadYourWritesContext.onPrimary(() -> categoryService.assertCategoryExists(categoryId));
+    existingCategoryIds.put(categoryId, true);
+  }
+
+  @Override
+  public Set<Integer> getExistingIds(Collection<Integer> categoryIds) {
+    Set<Integer> existingIds = new HashSet<>();
+    List<Integer> missedIds = new ArrayList<>();
+
+    for (Integer categoryId : categoryIds) {
+      if (nonNull(existingCategoryIds.getIfPresent(categoryId))) {
+        existingIds.add(categoryId);
+      } else {
+        missedIds.add(categoryId);
+      }
+    }
+
+    if (!missedIds.isEmpty()) {
+      Set<Integer> loadedIds = ReadYourWritesContext.onPrimary(() -> categoryService.getExistingIds(missedIds));
+      loadedIds.forEach(categoryId -> existingCategoryIds.put(categoryId, true));
+      existingIds.addAll(loadedIds);
+    }
+    return existingIds;
+  }
+
+  @Override
+  public long count() {
+    return categoryService.count();
+  }
+
+  private void evict(Integer categoryId) {
+    cacheRegistry.evict(() -> {
+      categoriesById.invalidate(categoryId);
+      existingCategoryIds.invalidate(categoryId);
+      categoryIdsByName.asMap().values().removeIf(categoryId::equals);
+    });
+  }
+
+}
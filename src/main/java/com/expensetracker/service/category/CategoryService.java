@@ -2,15 +2,20 @@ package com.expensetracker.service.category;
 
 import com.expensetracker.model.Category;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface CategoryService {
 
   List<Category> getAll();
   Category getById(Integer categoryId);
+  Category getByName(String name);
   Category createCategory(Category newCategory);
   Category updateCategoryById(Integer categoryId, Category updatedCategory);
   void deleteCategoryById(Integer categoryId);
   void assertCategoryExists(Integer categoryId);
+  Set<Integer> getExistingIds(Collection<Integer> categoryIds);
+  long count();
 
 }
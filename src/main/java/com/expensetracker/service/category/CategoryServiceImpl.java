@@ -4,11 +4,15 @@ import com.expensetracker.exception.EntityAlreadyExistsException;
 import com.expensetracker.exception.EntityNotFoundException;
 import com.expensetracker.model.Category;
 import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.service.version.EntityVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import static java.lang.String.format;
 
@@ -17,19 +21,33 @@ import static java.lang.String.format;
 public class CategoryServiceImpl implements CategoryService {
 
   private final CategoryRepository categoryRepository;
+  private final EntityVersionService entityVersionService;
 
   @Override
+  @Transactional(readOnly = true)
   public List<Category> getAll() {
     return categoryRepository.findAll();
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Category getById(Integer categoryId) {
-    assertCategoryExists(categoryId);
-    return categoryRepository.getById(categoryId);
+    return categoryRepository.findById(categoryId)
+        .orElseThrow(() -> new EntityNotFoundException(format("Category with id='%s' not found", categoryId)));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Category getByName(String name) {
+    Category category = categoryRepository.findByName(name);
+    if (Objects.isNull(category)) {
+      throw new EntityNotFoundException(format("Category with name='%s' not found", name));
+    }
+    return category;
   }
 
   @Override
+  @Transactional
   public Category createCategory(Category newCategory) {
     if (categoryRepository.existsByName(newCategory.getName())) {
       String message = format(
@@ -38,10 +56,13 @@ public class CategoryServiceImpl implements CategoryService {
       );
       throw new EntityAlreadyExistsException(message);
     }
-    return categoryRepository.save(newCategory);
+    Category createdCategory = categoryRepository.save(newCategory);
+    entityVersionService.categoriesChanged();
+    return createdCategory;
   }
 
   @Override
+  @Transactional
   public Category updateCategoryById(Integer categoryId, Category updatedCategory) {
     assertCategoryExists(categoryId);
     Category categoryInDb = categoryRepository.findByName(updatedCategory.getName());
@@ -55,19 +76,36 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     updatedCategory.setId(categoryId);
-    return categoryRepository.save(updatedCategory);
+    Category savedCategory = categoryRepository.save(updatedCategory);
+    entityVersionService.categoriesChanged();
+    return savedCategory;
   }
 
   @Override
+  @Transactional
   public void deleteCategoryById(Integer categoryId) {
     assertCategoryExists(categoryId);
     categoryRepository.deleteById(categoryId);
+    entityVersionService.categoriesChanged();
   }
 
   @Override
+  @Transactional(readOnly = true)
   public void assertCategoryExists(Integer categoryId) {
     if (!categoryRepository.existsById(categoryId)) {
       throw new EntityNotFoundException(format("Category with id='%s' not found", categoryId));
     }
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Set<Integer> getExistingIds(Collection<Integer> categoryIds) {
+    return categoryRepository.findExistingIds(categoryIds);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long count() {
+    return categoryRepository.count();
+  }
 }
@@ -0,0 +1,13 @@
+package com.expensetracker.service.idempotency;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+  // Runs the action at most once per key and answers repeated or concurrent calls with the same
+  // key with the first call's result. Reusing a key for a different request is a conflict.
+  <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> action);
+
+  int purgeExpired();
+
+}
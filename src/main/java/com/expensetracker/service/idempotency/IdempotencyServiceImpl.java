@@ -0,0 +1,152 @@
+package com.expensetracker.service.idempotency;
+
+import com.expensetracker.config.ConflictRetryTemplate;
+import com.expensetracker.exception.IdempotencyKeyConflictException;
+import com.expensetracker.model.IdempotentResponse;
+import com.expensetracker.repository.IdempotentRequestRepository;
+import com.expensetracker.service.cache.CacheRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Completed responses are kept in memory for the time-to-live and in idempotent_request, which
+// covers restarts and other instances. The key row is inserted in the same database transaction
+// as the action, so of two racing instances only one commits and the other replays its response.
+// The action joins that transaction, so it is the one retried when the action loses a write race.
+// Within this instance a duplicate that arrives while the first call runs waits on that call's
+// future instead of racing it to the database; callers of other keys are never blocked.
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+  private final IdempotentRequestRepository idempotentRequestRepository;
+  private final ObjectMapper objectMapper;
+  private final ConflictRetryTemplate conflictRetryTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration timeToLive;
+  private final Cache<String, IdempotentResponse> completed;
+  private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+  public IdempotencyServiceImpl(IdempotentRequestRepository idempotentRequestRepository,
+                                ObjectMapper objectMapper,
+                                ConflictRetryTemplate conflictRetryTemplate,
+                                PlatformTransactionManager transactionManager,
+                                CacheRegistry cacheRegistry,
+                                @Value("${expense-tracker.idempotency.maximum-size:100000}") long maximumSize,
+                                @Value("${expense-tracker.idempotency.time-to-live:24h}") Duration timeToLive) {
+    this.idempotentRequestRepository = idempotentRequestRepository;
+    this.objectMapper = objectMapper;
+    this.conflictRetryTemplate = conflictRetryTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.timeToLive = timeToLive;
+    this.completed = cacheRegistry.create("idempotent-responses", maximumSize, timeToLive);
+  }
+
+  @Override
+  public <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+    String fingerprint = fingerprint(request);
+    IdempotentResponse response = completed.getIfPresent(key);
+
+    if (isNull(response)) {
+      CompletableFuture<IdempotentResponse> call = new CompletableFuture<>();
+      CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, call);
+      if (nonNull(running)) {
+        response = join(running);
+      } else {
+        try {
+          response = loadOrRun(key, fingerprint, action);
+          completed.put(key, response);
+          call.complete(response);
+        } catch (RuntimeException ex) {
+          call.completeExceptionally(ex);
+          throw ex;
+        } finally {
+          inFlight.remove(key, call);
+        }
+      }
+    }
+
+    if (!response.getFingerprint().equals(fingerprint)) {
+      throw new IdempotencyKeyConflictException(
+          format("Idempotency key='%s' was already used for a different request", key));
+    }
+    return deserialize(response.getBody(), responseType);
+  }
+
+  @Override
+  public int purgeExpired() {
+    return idempotentRequestRepository.deleteAllCreatedBefore(expiredBefore());
+  }
+
+  private <T> IdempotentResponse loadOrRun(String key, String fingerprint, Supplier<T> action) {
+    Date expiredBefore = expiredBefore();
+    try {
+      return conflictRetryTemplate.execute(getClass().getSimpleName(), "loadOrRun", () ->
+          transactionTemplate.execute(status -> {
+            idempotentRequestRepository.deleteByKeyCreatedBefore(key, expiredBefore);
+            return idempotentRequestRepository.findByKey(key, expiredBefore).orElseGet(() -> {
+              idempotentRequestRepository.insert(key, fingerprint);
+              String body = serialize(action.get());
+              idempotentRequestRepository.updateResponse(key, body);
+              return new IdempotentResponse(fingerprint, body);
+            });
+          }));
+    } catch (DuplicateKeyException ex) {
+      // another instance claimed the key and committed first
+      return idempotentRequestRepository.findByKey(key, expiredBefore)
+          .orElseThrow(() -> new IdempotencyKeyConflictException(
+              format("Request with idempotency key='%s' is still in progress", key)));
+    }
+  }
+
+  private Date expiredBefore() {
+    return new Date(System.currentTimeMillis() - timeToLive.toMillis());
+  }
+
+  @SneakyThrows
+  private String fingerprint(Object request) {
+    byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+    StringBuilder hex = new StringBuilder(digest.length * 2);
+    for (byte b : digest) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+
+  @SneakyThrows
+  private String serialize(Object response) {
+    return objectMapper.writeValueAsString(response);
+  }
+
+  @SneakyThrows
+  private <T> T deserialize(String body, Class<T> responseType) {
+    return objectMapper.readValue(body, responseType);
+  }
+
+  @SneakyThrows
+  private IdempotentResponse join(CompletableFuture<IdempotentResponse> call) {
+    try {
+      return call.join();
+    } catch (CompletionException ex) {
+      throw ex.getCause();
+    }
+  }
+
+}
@@ -0,0 +1,18 @@
+package com.expensetracker.service.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class IdempotentRequestPurgeJob {
+
+  private final IdempotencyService idempotencyService;
+
+  @Scheduled(cron = "${expense-tracker.idempotency.purge-cron:0 */10 * * * *}")
+  public void run() {
+    idempotencyService.purgeExpired();
+  }
+
+}
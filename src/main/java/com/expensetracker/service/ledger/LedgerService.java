@@ -0,0 +1,29 @@
+package com.expensetracker.service.ledger;
+
+import com.expensetracker.model.LedgerBalance;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.User;
+
+import java.util.Collection;
+import java.util.Date;
+
+public interface LedgerService {
+
+  void recordOpened(User user);
+
+  void recordAdjusted(Integer userId, Money balanceDelta);
+
+  void recordRepaired(Integer userId, Money repairedBalance);
+
+  void recordCreated(Collection<Transaction> transactions);
+
+  void recordUpdated(Transaction previousTransaction, Transaction updatedTransaction);
+
+  void recordDeleted(Transaction transaction);
+
+  LedgerBalance getBalanceAt(Integer userId, Date at);
+
+  int takeSnapshots();
+
+}
@@ -0,0 +1,146 @@
+package com.expensetracker.service.ledger;
+
+import com.expensetracker.model.LedgerBalance;
+import com.expensetracker.model.LedgerEntry;
+import com.expensetracker.model.LedgerEvent;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.TransactionLedgerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// Every write is recorded inside the transaction that changes the balance, after the balance
+// update, see TransactionLedgerRepository. A balance at any point is the latest snapshot at or
+// before it plus the entries after the snapshot, which the snapshot job keeps at about minEntries.
+@Slf4j
+@Service
+public class LedgerServiceImpl implements LedgerService {
+
+  private final TransactionLedgerRepository transactionLedgerRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int minEntries;
+  private final int chunkSize;
+
+  public LedgerServiceImpl(TransactionLedgerRepository transactionLedgerRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${expense-tracker.ledger.snapshots.min-entries:100}") int minEntries,
+                           @Value("${expense-tracker.ledger.snapshots.chunk-size:1000}") int chunkSize) {
+    this.transactionLedgerRepository = transactionLedgerRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.minEntries = minEntries;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  @Transactional
+  public void recordOpened(User user) {
+    append(List.of(LedgerEntry.ofBalance(user.getId(), LedgerEvent.OPENED, user.getBalance())));
+  }
+
+  @Override
+  @Transactional
+  public void recordAdjusted(Integer userId, Money balanceDelta) {
+    append(List.of(LedgerEntry.ofBalance(userId, LedgerEvent.ADJUSTED, balanceDelta)));
+  }
+
+  @Override
+  @Transactional
+  public void recordRepaired(Integer userId, Money repairedBalance) {
+    // a balance broken outside of the application never reached the ledger, so the entry is
+    // whatever brings the ledger to the repaired balance
+    Money ledgerBalance = transactionLedgerRepository.findLastSequenceNumber(userId)
+        .map(sequenceNumber -> getBalanceAt(userId, sequenceNumber))
+        .orElse(Money.ZERO);
+    if (!ledgerBalance.equals(repairedBalance)) {
+      append(List.of(LedgerEntry.ofBalance(userId, LedgerEvent.REPAIRED, repairedBalance.minus(ledgerBalance))));
+    }
+  }
+
+  @Override
+  @Transactional
+  public void recordCreated(Collection<Transaction> transactions) {
+    append(transactions.stream()
+        .map(transaction -> LedgerEntry.ofTransaction(
+            transaction.getUser().getId(), LedgerEvent.CREATED, transaction, transaction.balanceDelta()))
+        .collect(Collectors.toList()));
+  }
+
+  @Override
+  @Transactional
+  public void recordUpdated(Transaction previousTransaction, Transaction updatedTransaction) {
+    Integer previousUserId = previousTransaction.getUser().getId();
+    Integer userId = updatedTransaction.getUser().getId();
+
+    if (Objects.equals(previousUserId, userId)) {
+      Money balanceDelta = updatedTransaction.balanceDelta().minus(previousTransaction.balanceDelta());
+      append(List.of(LedgerEntry.ofTransaction(userId, LedgerEvent.UPDATED, updatedTransaction, balanceDelta)));
+    } else {
+      // a move between users is one entry in each of the two user histories
+      append(List.of(
+          LedgerEntry.ofTransaction(previousUserId, LedgerEvent.UPDATED, updatedTransaction,
+              previousTransaction.balanceDelta().negate()),
+          LedgerEntry.ofTransaction(userId, LedgerEvent.UPDATED, updatedTransaction, updatedTransaction.balanceDelta())
+      ));
+    }
+  }
+
+  @Override
+  @Transactional
+  public void recordDeleted(Transaction transaction) {
+    append(List.of(LedgerEntry.ofTransaction(
+        transaction.getUser().getId(), LedgerEvent.DELETED, transaction, transaction.balanceDelta().negate())));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public LedgerBalance getBalanceAt(Integer userId, Date at) {
+    Long sequenceNumber = transactionLedgerRepository.findLastSequenceNumber(userId, at).orElse(null);
+    if (Objects.isNull(sequenceNumber)) {
+      return new LedgerBalance(userId, null, Money.ZERO);
+    }
+    return new LedgerBalance(userId, sequenceNumber, getBalanceAt(userId, sequenceNumber));
+  }
+
+  @Override
+  public int takeSnapshots() {
+    int maxUserId = transactionLedgerRepository.findMaxUserId();
+    int taken = 0;
+
+    for (int chunkStart = 0; chunkStart <= maxUserId; chunkStart += chunkSize) {
+      int fromUserId = chunkStart;
+      int toUserId = chunkStart + chunkSize;
+      try {
+        taken += transactionTemplate.execute(status ->
+            transactionLedgerRepository.insertSnapshots(fromUserId, toUserId, minEntries));
+      } catch (DuplicateKeyException ex) {
+        // another instance snapshotted the same users at the same sequence numbers
+        log.debug("Skipped balance snapshots of users [{}, {}): {}", fromUserId, toUserId, ex.getMessage());
+      }
+    }
+    return taken;
+  }
+
+  private Money getBalanceAt(Integer userId, long sequenceNumber) {
+    LedgerBalance snapshot = transactionLedgerRepository.findLatestSnapshot(userId, sequenceNumber)
+        .orElseGet(() -> new LedgerBalance(userId, 0L, Money.ZERO));
+    long replayedCents = transactionLedgerRepository.sumBalanceDeltas(userId, snapshot.getSequenceNumber(), sequenceNumber);
+    return snapshot.getBalance().plus(Money.ofCents(replayedCents));
+  }
+
+  private void append(List<LedgerEntry> entries) {
+    transactionLedgerRepository.appendAll(entries);
+  }
+
+}
@@ -0,0 +1,18 @@
+package com.expensetracker.service.ledger;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LedgerSnapshotJob {
+
+  private final LedgerService ledgerService;
+
+  @Scheduled(cron = "${expense-tracker.ledger.snapshots.cron:0 */15 * * * *}")
+  public void run() {
+    ledgerService.takeSnapshots();
+  }
+
+}
@@ -0,0 +1,14 @@
+package com.expensetracker.service.partition;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class PartitionMaintenanceResult {
+
+  List<String> created;
+  List<String> detached;
+  List<String> dropped;
+
+}
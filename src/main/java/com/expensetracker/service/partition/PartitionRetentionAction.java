@@ -0,0 +1,9 @@
+package com.expensetracker.service.partition;
+
+public enum PartitionRetentionAction {
+
+  // keeps the expired month as a standalone table, e.g. to archive it with pg_dump
+  DETACH,
+  DROP
+
+}
@@ -0,0 +1,29 @@
+package com.expensetracker.service.partition;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Runs once on startup, so a deployment that was down over a month boundary catches up at once,
+// and then on a schedule.
+@Component
+@RequiredArgsConstructor
+public class TransactionPartitionMaintenanceJob {
+
+  private final TransactionPartitionService transactionPartitionService;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    run();
+  }
+
+  @Scheduled(cron = "${expense-tracker.transactions.partitions.cron:0 0 3 * * *}")
+  public void run() {
+    transactionPartitionService.maintain(LocalDate.now());
+  }
+
+}
@@ -0,0 +1,12 @@
+package com.expensetracker.service.partition;
+
+import java.time.LocalDate;
+
+public interface TransactionPartitionService {
+
+  boolean isPartitioned();
+
+  // creates the partitions of the coming months and retires the ones past the retention
+  PartitionMaintenanceResult maintain(LocalDate today);
+
+}
@@ -0,0 +1,122 @@
+package com.expensetracker.service.partition;
+
+import com.expensetracker.repository.TransactionPartitionRepository;
+import com.expensetracker.service.analytics.TransactionColumnStore;
+import com.expensetracker.service.report.SpendingReportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Keeps the monthly partitions of the transaction table (see the postgresql V9 migration) rolling:
+// months ahead are created before any row needs them, months past the retention are detached or
+// dropped, which is a catalog operation instead of a bulk DELETE. A no-op on other databases.
+@Slf4j
+@Service
+public class TransactionPartitionServiceImpl implements TransactionPartitionService {
+
+  private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'transaction_'yyyy_MM");
+
+  private final TransactionPartitionRepository transactionPartitionRepository;
+  private final SpendingReportService spendingReportService;
+  private final TransactionColumnStore transactionColumnStore;
+  private final TransactionTemplate transactionTemplate;
+  private final int monthsAhead;
+  private final int retentionMonths;
+  private final PartitionRetentionAction retentionAction;
+
+  public TransactionPartitionServiceImpl(
+      TransactionPartitionRepository transactionPartitionRepository,
+      SpendingReportService spendingReportService,
+      TransactionColumnStore transactionColumnStore,
+      PlatformTransactionManager transactionManager,
+      @Value("${expense-tracker.transactions.partitions.months-ahead:3}") int monthsAhead,
+      @Value("${expense-tracker.transactions.partitions.retention-months:0}") int retentionMonths,
+      @Value("${expense-tracker.transactions.partitions.retention-action:detach}") PartitionRetentionAction retentionAction) {
+    this.transactionPartitionRepository = transactionPartitionRepository;
+    this.spendingReportService = spendingReportService;
+    this.transactionColumnStore = transactionColumnStore;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.monthsAhead = monthsAhead;
+    this.retentionMonths = retentionMonths;
+    this.retentionAction = retentionAction;
+  }
+
+  @Override
+  public boolean isPartitioned() {
+    return transactionPartitionRepository.isPartitioned();
+  }
+
+  @Override
+  public PartitionMaintenanceResult maintain(LocalDate today) {
+    if (!isPartitioned()) {
+      return new PartitionMaintenanceResult(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+
+    Set<String> existing = new HashSet<>(transactionPartitionRepository.findAllPartitionNames());
+    LocalDate currentMonth = today.withDayOfMonth(1);
+
+    List<String> created = new ArrayList<>();
+    for (int i = 0; i <= monthsAhead; i++) {
+      LocalDate month = currentMonth.plusMonths(i);
+      String name = PARTITION_NAME.format(month);
+      if (!existing.contains(name)) {
+        // each month in its own transaction, so one failing attach does not undo the others
+        transactionTemplate.executeWithoutResult(status ->
+            transactionPartitionRepository.createPartition(name, month, month.plusMonths(1)));
+        created.add(name);
+      }
+    }
+
+    List<String> detached = new ArrayList<>();
+    List<String> dropped = new ArrayList<>();
+    if (retentionMonths > 0) {
+      LocalDate cutoff = currentMonth.minusMonths(retentionMonths);
+      for (String name : existing) {
+        Optional<LocalDate> month = parseMonth(name);
+        if (month.isPresent() && month.get().isBefore(cutoff)) {
+          transactionTemplate.executeWithoutResult(status -> {
+            // detached first: the detach waits for writers of the partition, so no row is missed
+            transactionPartitionRepository.detachPartition(name);
+            transactionPartitionRepository.retireFromUserBalances(name);
+            if (retentionAction == PartitionRetentionAction.DROP) {
+              transactionPartitionRepository.dropPartition(name);
+            }
+          });
+          (retentionAction == PartitionRetentionAction.DROP ? dropped : detached).add(name);
+        }
+      }
+    }
+
+    if (!detached.isEmpty() || !dropped.isEmpty()) {
+      spendingReportService.evictAll();
+      transactionColumnStore.evictAll();
+    }
+    if (!created.isEmpty() || !detached.isEmpty() || !dropped.isEmpty()) {
+      log.info("Transaction partitions created: {}, detached: {}, dropped: {}", created, detached, dropped);
+    }
+    return new PartitionMaintenanceResult(created, detached, dropped);
+  }
+
+  // the default partition and anything not named by this service is never retired
+  private Optional<LocalDate> parseMonth(String name) {
+    try {
+      return Optional.of(YearMonth.parse(name, PARTITION_NAME).atDay(1));
+    } catch (DateTimeParseException ex) {
+      return Optional.empty();
+    }
+  }
+
+}
@@ -0,0 +1,18 @@
+package com.expensetracker.service.reconciliation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BalanceReconciliationJob {
+
+  private final BalanceReconciliationService balanceReconciliationService;
+
+  @Scheduled(cron = "${expense-tracker.reconciliation.cron:0 30 4 * * *}")
+  public void run() {
+    balanceReconciliationService.reconcile();
+  }
+
+}
@@ -0,0 +1,15 @@
+package com.expensetracker.service.reconciliation;
+
+import lombok.Value;
+
+// Counts of this invocation only; a resumed run does not repeat the chunks finished before.
+@Value
+public class BalanceReconciliationResult {
+
+  Integer runId;
+  int chunks;
+  int checked;
+  int mismatched;
+  int repaired;
+
+}
@@ -0,0 +1,7 @@
+package com.expensetracker.service.reconciliation;
+
+public interface BalanceReconciliationService {
+
+  BalanceReconciliationResult reconcile();
+
+}
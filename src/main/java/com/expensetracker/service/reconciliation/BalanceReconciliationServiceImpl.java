@@ -0,0 +1,194 @@
+package com.expensetracker.service.reconciliation;
+
+import com.expensetracker.model.BalanceCheck;
+import com.expensetracker.model.ReconciliationRun;
+import com.expensetracker.repository.BalanceReconciliationRepository;
+import com.expensetracker.service.ledger.LedgerService;
+import com.expensetracker.service.user.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Splits the user id space into chunks and checks them in parallel, one aggregate query per chunk.
+// The scan takes no locks. A mismatch is repaired under the lock of that one user only, after it has
+// been checked again, because a replica or a write since the scan may have caused it.
+// Every finished chunk is recorded, so a run that was interrupted continues where it stopped.
+@Slf4j
+@Service
+public class BalanceReconciliationServiceImpl implements BalanceReconciliationService {
+
+  private final BalanceReconciliationRepository balanceReconciliationRepository;
+  private final UserService userService;
+  private final LedgerService ledgerService;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final int parallelism;
+  private final boolean repair;
+
+  private final Counter checkedCounter;
+  private final Counter mismatchedCounter;
+  private final Counter repairedCounter;
+  private final Timer chunkTimer;
+  private final AtomicInteger totalChunks = new AtomicInteger();
+  private final AtomicInteger finishedChunks = new AtomicInteger();
+
+  public BalanceReconciliationServiceImpl(BalanceReconciliationRepository balanceReconciliationRepository,
+                                          UserService userService,
+                                          LedgerService ledgerService,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${expense-tracker.reconciliation.chunk-size:1000}") int chunkSize,
+                                          @Value("${expense-tracker.reconciliation.parallelism:4}") int parallelism,
+                                          @Value("${expense-tracker.reconciliation.repair:false}") boolean repair) {
+    this.balanceReconciliationRepository = balanceReconciliationRepository;
+    this.userService = userService;
+    this.ledgerService = ledgerService;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.parallelism = parallelism;
+    this.repair = repair;
+
+    this.checkedCounter = meterRegistry.counter("balance.reconciliation.users", "result", "checked");
+    this.mismatchedCounter = meterRegistry.counter("balance.reconciliation.users", "result", "mismatched");
+    this.repairedCounter = meterRegistry.counter("balance.reconciliation.users", "result", "repaired");
+    this.chunkTimer = meterRegistry.timer("balance.reconciliation.chunks");
+    meterRegistry.gauge("balance.reconciliation.progress", this, BalanceReconciliationServiceImpl::getProgress);
+  }
+
+  @Override
+  public synchronized BalanceReconciliationResult reconcile() {
+    Optional<ReconciliationRun> unfinishedRun = balanceReconciliationRepository.findUnfinishedRun();
+    ReconciliationRun run = unfinishedRun.orElseGet(() -> {
+      balanceReconciliationRepository.deleteFinishedRuns();
+      return balanceReconciliationRepository.insertRun(balanceReconciliationRepository.findMaxUserId(), chunkSize);
+    });
+
+    Set<Integer> finished = balanceReconciliationRepository.findFinishedChunks(run.getId());
+    List<Integer> pending = new ArrayList<>();
+    for (int fromUserId = 0; fromUserId <= run.getMaxUserId(); fromUserId += run.getChunkSize()) {
+      if (!finished.contains(fromUserId)) {
+        pending.add(fromUserId);
+      }
+    }
+    totalChunks.set(finished.size() + pending.size());
+    finishedChunks.set(finished.size());
+
+    long startedAt = System.nanoTime();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    List<ChunkResult> results = new ArrayList<>();
+    boolean failed = false;
+    try {
+      List<Future<ChunkResult>> futures = pending.stream()
+          .map(fromUserId -> executor.submit(() -> reconcileChunk(run, fromUserId)))
+          .collect(Collectors.toList());
+      for (Future<ChunkResult> future : futures) {
+        try {
+          results.add(future.get());
+        } catch (ExecutionException ex) {
+          // the chunk stays unfinished, the next run resumes with it
+          log.error("Balance reconciliation chunk of run {} failed", run.getId(), ex.getCause());
+          failed = true;
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      failed = true;
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (!failed) {
+      balanceReconciliationRepository.finishRun(run.getId());
+    }
+
+    BalanceReconciliationResult result = new BalanceReconciliationResult(
+        run.getId(),
+        results.size(),
+        results.stream().mapToInt(ChunkResult::getChecked).sum(),
+        results.stream().mapToInt(ChunkResult::getMismatched).sum(),
+        results.stream().mapToInt(ChunkResult::getRepaired).sum()
+    );
+    double elapsedSeconds = Math.max(System.nanoTime() - startedAt, 1L) / 1e9;
+    log.info("Balance reconciliation run {}{}: {} users checked in {} chunks ({} users/s), {} mismatched, {} repaired",
+        run.getId(), unfinishedRun.isPresent() ? " (resumed)" : "", result.getChecked(), result.getChunks(),
+        Math.round(result.getChecked() / elapsedSeconds), result.getMismatched(), result.getRepaired());
+    return result;
+  }
+
+  private ChunkResult reconcileChunk(ReconciliationRun run, int fromUserId) {
+    return chunkTimer.record(() -> {
+      int toUserId = fromUserId + run.getChunkSize();
+      List<BalanceCheck> checks = readOnlyTransactionTemplate.execute(status ->
+          balanceReconciliationRepository.findBalanceChecks(fromUserId, toUserId));
+
+      int mismatched = 0;
+      int repaired = 0;
+      for (BalanceCheck check : checks) {
+        if (check.isMismatched()) {
+          mismatched++;
+          mismatchedCounter.increment();
+          log.warn("Balance of user with id='{}' is {}, its transactions add up to {}",
+              check.getUserId(), check.getBalance(), check.getExpectedBalance());
+          if (repair && repairBalance(check.getUserId())) {
+            repaired++;
+            repairedCounter.increment();
+          }
+        }
+      }
+      checkedCounter.increment(checks.size());
+
+      balanceReconciliationRepository.insertChunk(run.getId(), fromUserId, checks.size(), mismatched, repaired);
+      finishedChunks.incrementAndGet();
+      return new ChunkResult(checks.size(), mismatched, repaired);
+    });
+  }
+
+  private boolean repairBalance(Integer userId) {
+    return transactionTemplate.execute(status -> {
+      // checked again in a statement of its own, after the lock, to see the writes committed before it
+      userService.lockUser(userId);
+      Optional<BalanceCheck> check = balanceReconciliationRepository.findBalanceCheck(userId)
+          .filter(BalanceCheck::isMismatched);
+      check.ifPresent(mismatch -> {
+        userService.changeBalance(userId, mismatch.getCorrection());
+        ledgerService.recordRepaired(userId, mismatch.getExpectedBalance());
+      });
+      return check.isPresent();
+    });
+  }
+
+  private double getProgress() {
+    int total = totalChunks.get();
+    return total == 0 ? 1.0 : (double) finishedChunks.get() / total;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  private static class ChunkResult {
+    private final int checked;
+    private final int mismatched;
+    private final int repaired;
+  }
+
+}
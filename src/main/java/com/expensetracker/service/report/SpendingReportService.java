@@ -0,0 +1,19 @@
+package com.expensetracker.service.report;
+
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface SpendingReportService {
+
+  List<SpendingReportRow> getReport(Integer userId, LocalDate from, LocalDate to, SpendingGrouping grouping);
+
+  void transactionsChanged(Collection<Transaction> transactions);
+
+  void evictAll();
+
+}
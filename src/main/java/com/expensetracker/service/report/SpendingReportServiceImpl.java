@@ -0,0 +1,147 @@
+package com.expensetracker.service.report;
+
+import com.expensetracker.config.datasource.ReadYourWritesContext;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.repository.SpendingReportRepository;
+import com.expensetracker.service.analytics.TransactionColumnStore;
+import com.expensetracker.service.cache.CacheRegistry;
+import com.expensetracker.service.user.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Reports are cached per user, so a transaction write only looks at the reports of its own user
+// and evicts those whose range contains the transaction time. A report whose query ran across
+// such a write is not cached: every eviction of a user bumps its generation, and the generation is
+// checked and the report stored while holding the user's entry, like the eviction. Reports are queried
+// on the primary, a replica behind the write that evicted them would refill the cache with old rows.
+@Service
+public class SpendingReportServiceImpl implements SpendingReportService {
+
+  private static final LocalDate MIN_DAY = LocalDate.of(1900, 1, 1);
+  private static final LocalDate MAX_DAY = LocalDate.of(9999, 12, 1);
+
+  private final SpendingReportRepository spendingReportRepository;
+  private final TransactionColumnStore transactionColumnStore;
+  private final UserService userService;
+  private final CacheRegistry cacheRegistry;
+  private final int maximumReportsPerUser;
+
+  private final Cache<Integer, UserReports> reportsByUserId;
+
+  public SpendingReportServiceImpl(SpendingReportRepository spendingReportRepository,
+                                   TransactionColumnStore transactionColumnStore,
+                                   UserService userService,
+                                   CacheRegistry cacheRegistry,
+                                   @Value("${expense-tracker.cache.reports.maximum-users:10000}") long maximumUsers,
+                                   @Value("${expense-tracker.cache.reports.maximum-reports-per-user:32}") int maximumReportsPerUser,
+                                   @Value("${expense-tracker.cache.reports.time-to-live:10m}") Duration timeToLive) {
+    this.spendingReportRepository = spendingReportRepository;
+    this.transactionColumnStore = transactionColumnStore;
+    this.userService = userService;
+    this.cacheRegistry = cacheRegistry;
+    this.maximumReportsPerUser = maximumReportsPerUser;
+    this.reportsByUserId = cacheRegistry.create("spending-reports", maximumUsers, timeToLive);
+  }
+
+  @Override
+  public List<SpendingReportRow> getReport(Integer userId, LocalDate from, LocalDate to, SpendingGrouping grouping) {
+    userService.assertUserExists(userId);
+    ReportKey key = new ReportKey(
+        isNull(from) ? MIN_DAY : from,
+        isNull(to) ? MAX_DAY : to,
+        grouping
+    );
+    UserReports userReports = reportsByUserId.get(userId, id -> new UserReports());
+    List<SpendingReportRow> cached = userReports.reports.get(key);
+    if (nonNull(cached)) {
+      return cached;
+    }
+
+    long generation = userReports.generation.get();
+    List<SpendingReportRow> report = List.copyOf(transactionColumnStore.isEnabled()
+        ? transactionColumnStore.aggregate(userId, key.getFromTime(), key.getToTime(), grouping)
+        : ReadYourWritesContext.onPrimary(() ->
+            spendingReportRepository.findAllByUserId(userId, key.getFromTime(), key.getToTime(), grouping)));
+
+    // checked and stored under the lock of the user's entry, which an eviction holds as well
+    reportsByUserId.asMap().computeIfPresent(userId, (id, current) -> {
+      if (current == userReports && current.generation.get() == generation
+          && current.reports.size() < maximumReportsPerUser) {
+        current.reports.put(key, report);
+      }
+      return current;
+    });
+    return report;
+  }
+
+  @Override
+  public void transactionsChanged(Collection<Transaction> transactions) {
+    Map<Integer, Set<Date>> timesByUserId = transactions.stream()
+        .collect(Collectors.groupingBy(
+            transaction -> transaction.getUser().getId(),
+            Collectors.mapping(Transaction::getTime, Collectors.toSet())
+        ));
+
+    cacheRegistry.evict(() -> timesByUserId.forEach((userId, times) ->
+        reportsByUserId.asMap().computeIfPresent(userId, (id, userReports) -> {
+          userReports.generation.incrementAndGet();
+          userReports.reports.keySet().removeIf(key -> times.stream().anyMatch(key::contains));
+          return userReports;
+        })));
+  }
+
+  @Override
+  public void evictAll() {
+    cacheRegistry.evict(() -> {
+      reportsByUserId.asMap().values().forEach(userReports -> userReports.generation.incrementAndGet());
+      reportsByUserId.invalidateAll();
+    });
+  }
+
+  private static class UserReports {
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<ReportKey, List<SpendingReportRow>> reports = new ConcurrentHashMap<>();
+  }
+
+  // from and to are whole days, both inclusive
+  @EqualsAndHashCode
+  @RequiredArgsConstructor
+  private static class ReportKey {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final SpendingGrouping grouping;
+
+    Date getFromTime() {
+      return Date.from(from.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    Date getToTime() {
+      return Date.from(to.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    boolean contains(Date time) {
+      return !time.before(getFromTime()) && time.before(getToTime());
+    }
+  }
+
+}
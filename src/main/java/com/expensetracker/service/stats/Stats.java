@@ -0,0 +1,12 @@
+package com.expensetracker.service.stats;
+
+import lombok.Value;
+
+@Value
+public class Stats {
+
+  long categories;
+  long users;
+  long transactions;
+
+}
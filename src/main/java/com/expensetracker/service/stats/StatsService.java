@@ -0,0 +1,7 @@
+package com.expensetracker.service.stats;
+
+public interface StatsService {
+
+  Stats getStats();
+
+}
@@ -0,0 +1,30 @@
+package com.expensetracker.service.stats;
+
+import com.expensetracker.service.category.CategoryService;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.service.user.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+public class StatsServiceImpl implements StatsService {
+
+  private final CategoryService categoryService;
+  private final UserService userService;
+  private final TransactionService transactionService;
+  private final TaskExecutor taskExecutor;
+
+  @Override
+  public Stats getStats() {
+    CompletableFuture<Long> categories = CompletableFuture.supplyAsync(categoryService::count, taskExecutor);
+    CompletableFuture<Long> users = CompletableFuture.supplyAsync(userService::count, taskExecutor);
+    CompletableFuture<Long> transactions = CompletableFuture.supplyAsync(transactionService::count, taskExecutor);
+
+    return new Stats(categories.join(), users.join(), transactions.join());
+  }
+
+}
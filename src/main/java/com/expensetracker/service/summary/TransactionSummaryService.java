@@ -0,0 +1,18 @@
+package com.expensetracker.service.summary;
+
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TransactionSummaryService {
+
+  List<TransactionSummary> getByUserId(Integer userId, LocalDate from, LocalDate to);
+  void add(Transaction transaction);
+  void subtract(Transaction transaction);
+  void addAll(List<Transaction> transactions);
+  int rebuild();
+  void rebuildForUser(Integer userId);
+
+}
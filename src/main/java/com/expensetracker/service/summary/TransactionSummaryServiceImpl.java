@@ -0,0 +1,131 @@
+package com.expensetracker.service.summary;
+
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionSummary;
+import com.expensetracker.model.TransactionSummaryId;
+import com.expensetracker.repository.TransactionSummaryRepository;
+import com.expensetracker.service.user.UserService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+// Buckets are always touched after the owning user's balance row has been updated, so the
+// user row lock serializes writers and rebuilds of the same user's buckets.
+@Service
+public class TransactionSummaryServiceImpl implements TransactionSummaryService {
+
+  private static final LocalDate MIN_MONTH = LocalDate.of(1900, 1, 1);
+  private static final LocalDate MAX_MONTH = LocalDate.of(9999, 12, 1);
+
+  private final TransactionSummaryRepository transactionSummaryRepository;
+  private final UserService userService;
+  private final TransactionTemplate transactionTemplate;
+
+  public TransactionSummaryServiceImpl(TransactionSummaryRepository transactionSummaryRepository,
+                                       UserService userService,
+                                       PlatformTransactionManager transactionManager) {
+    this.transactionSummaryRepository = transactionSummaryRepository;
+    this.userService = userService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public List<TransactionSummary> getByUserId(Integer userId, LocalDate from, LocalDate to) {
+    userService.assertUserExists(userId);
+    return transactionSummaryRepository.findAllByUserId(
+        userId,
+        isNull(from) ? MIN_MONTH : from.withDayOfMonth(1),
+        isNull(to) ? MAX_MONTH : to.withDayOfMonth(1)
+    );
+  }
+
+  @Override
+  @Transactional
+  public void add(Transaction transaction) {
+    addToBucket(toBucket(transaction), transaction.getAmount().getCents(), 1L);
+  }
+
+  @Override
+  @Transactional
+  public void subtract(Transaction transaction) {
+    addToBucket(toBucket(transaction), -transaction.getAmount().getCents(), -1L);
+  }
+
+  @Override
+  @Transactional
+  public void addAll(List<Transaction> transactions) {
+    // {amount in cents, count} per bucket
+    Map<TransactionSummaryId, long[]> totals = new HashMap<>();
+
+    for (Transaction transaction : transactions) {
+      long[] total = totals.computeIfAbsent(toBucket(transaction), bucket -> new long[2]);
+      total[0] += transaction.getAmount().getCents();
+      total[1]++;
+    }
+
+    totals.forEach((bucket, total) -> addToBucket(bucket, total[0], total[1]));
+  }
+
+  @Override
+  public int rebuild() {
+    List<Integer> userIds = userService.getAllIds();
+    userIds.forEach(this::rebuildForUser);
+    return userIds.size();
+  }
+
+  @Override
+  public void rebuildForUser(Integer userId) {
+    transactionTemplate.executeWithoutResult(status -> {
+      userService.lockUser(userId);
+      transactionSummaryRepository.deleteAllByUserId(userId);
+      transactionSummaryRepository.insertAllByUserIdFromTransactions(userId);
+    });
+  }
+
+  private void addToBucket(TransactionSummaryId bucket, long amountCents, long count) {
+    if (updateBucket(bucket, amountCents, count) > 0) {
+      return;
+    }
+    if (insertBucket(bucket, amountCents, count) > 0) {
+      return;
+    }
+    // a concurrent writer created the bucket between our update and insert
+    updateBucket(bucket, amountCents, count);
+  }
+
+  private int updateBucket(TransactionSummaryId bucket, long amountCents, long count) {
+    return transactionSummaryRepository.addToBucket(
+        bucket.getUserId(), bucket.getCategoryId(), bucket.getMonth(), bucket.getType().name(), amountCents, count
+    );
+  }
+
+  private int insertBucket(TransactionSummaryId bucket, long amountCents, long count) {
+    return transactionSummaryRepository.insertBucket(
+        bucket.getUserId(), bucket.getCategoryId(), bucket.getMonth(), bucket.getType().name(), amountCents, count
+    );
+  }
+
+  private TransactionSummaryId toBucket(Transaction transaction) {
+    LocalDate month = transaction.getTime().toInstant()
+        .atZone(ZoneId.systemDefault())
+        .toLocalDate()
+        .withDayOfMonth(1);
+
+    return new TransactionSummaryId(
+        transaction.getUser().getId(),
+        transaction.getCategory().getId(),
+        month,
+        transaction.getType()
+    );
+  }
+
+}
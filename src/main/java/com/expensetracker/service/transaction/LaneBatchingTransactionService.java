@@ -0,0 +1,278 @@
+package com.expensetracker.service.transaction;
+
+import com.expensetracker.config.datasource.ReadYourWritesContext;
+import com.expensetracker.exception.EntityNotFoundException;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Funnels single transaction creates through a fixed set of lanes, each drained by one thread.
+// A user always maps to the same lane, so the creates of a hot account queue up behind each other
+// instead of on its balance row lock, and a lane writes whatever queued up while it was busy as one
+// batch: one multi-row insert and one balance update per user. The caller still waits for its own
+// transaction. Creates inside a surrounding transaction bypass the lanes to stay part of it, e.g.
+// idempotent creates, which have to commit together with their idempotency key.
+@Slf4j
+@Service
+@Primary
+public class LaneBatchingTransactionService implements TransactionService {
+
+  private final TransactionServiceImpl transactionService;
+  private final boolean enabled;
+  private final int maxBatchSize;
+  private final List<BlockingQueue<PendingWrite>> lanes = new ArrayList<>();
+  private final ExecutorService executor;
+
+  public LaneBatchingTransactionService(TransactionServiceImpl transactionService,
+                                        @Value("${expense-tracker.transactions.lanes.enabled:false}") boolean enabled,
+                                        @Value("${expense-tracker.transactions.lanes.count:8}") int laneCount,
+                                        @Value("${expense-tracker.transactions.lanes.max-batch-size:256}") int maxBatchSize) {
+    this.transactionService = transactionService;
+    this.enabled = enabled;
+    this.maxBatchSize = maxBatchSize;
+    if (!enabled) {
+      this.executor = null;
+      return;
+    }
+
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(laneCount, runnable -> {
+      Thread thread = new Thread(runnable, "transaction-lane-" + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < laneCount; i++) {
+      BlockingQueue<PendingWrite> lane = new LinkedBlockingQueue<>();
+      lanes.add(lane);
+      executor.execute(() -> drain(lane));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (nonNull(executor)) {
+      executor.shutdownNow();
+    }
+  }
+
+  @Override
+  public List<TransactionView> getPage(Integer afterId, int limit) {
+    return transactionService.getPage(afterId, limit);
+  }
+
+  @Override
+  public List<TransactionView> getPageByUserId(Integer userId, Integer afterId, int limit) {
+    return transactionService.getPageByUserId(userId, afterId, limit);
+  }
+
+  @Override
+  public List<TransactionView> search(TransactionFilter filter, Integer afterId, int limit) {
+    return transactionService.search(filter, afterId, limit);
+  }
+
+  @Override
+  public void streamAll(Consumer<TransactionView> consumer) {
+    transactionService.streamAll(consumer);
+  }
+
+  @Override
+  public void streamAllByUserId(Integer userId, Consumer<TransactionView> consumer) {
+    transactionService.streamAllByUserId(userId, consumer);
+  }
+
+  @Override
+  public void streamAllByUserId(Integer userId, Date from, Date to, Consumer<TransactionView> consumer) {
+    transactionService.streamAllByUserId(userId, from, to, consumer);
+  }
+
+  @Override
+  public TransactionView getViewById(Integer transactionId) {
+    return transactionService.getViewById(transactionId);
+  }
+
+  @Override
+  public Transaction getById(Integer transactionId) {
+    return transactionService.getById(transactionId);
+  }
+
+  @Override
+  public Transaction createTransaction(Transaction newTransaction) {
+    if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()
+        || isNull(newTransaction.getUser()) || isNull(newTransaction.getUser().getId())) {
+      return transactionService.createTransaction(newTransaction);
+    }
+
+    WriteResult result = await(submit(newTransaction));
+    // the commit happened on the lane thread, its reads must not go to a replica that is behind it
+    if (result.getPinnedUntil() > 0) {
+      ReadYourWritesContext.recordWrite(result.getPinnedUntil());
+    }
+    return result.getTransaction();
+  }
+
+  @Override
+  public TransactionBatchResult createTransactions(List<Transaction> newTransactions) {
+    return transactionService.createTransactions(newTransactions);
+  }
+
+  @Override
+  public Transaction updateTransactionById(Integer transactionId, Transaction updatedTransaction) {
+    return transactionService.updateTransactionById(transactionId, updatedTransaction);
+  }
+
+  @Override
+  public void deleteTransactionById(Integer transactionId) {
+    transactionService.deleteTransactionById(transactionId);
+  }
+
+  @Override
+  public void assertTransactionExists(Integer transactionId) {
+    transactionService.assertTransactionExists(transactionId);
+  }
+
+  @Override
+  public long count() {
+    return transactionService.count();
+  }
+
+  private CompletableFuture<WriteResult> submit(Transaction newTransaction) {
+    PendingWrite write = new PendingWrite(newTransaction, new CompletableFuture<>());
+    BlockingQueue<PendingWrite> lane = lanes.get(Math.floorMod(newTransaction.getUser().getId(), lanes.size()));
+    lane.add(write);
+    // a lane that stopped in the meantime will never drain it
+    if (executor.isShutdown() && lane.remove(write)) {
+      write.getResult().completeExceptionally(shutDown());
+    }
+    return write.getResult();
+  }
+
+  private WriteResult await(CompletableFuture<WriteResult> result) {
+    try {
+      return result.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      if (ex.getCause() instanceof Error) {
+        throw (Error) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  private void drain(BlockingQueue<PendingWrite> lane) {
+    List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        batch.add(lane.take());
+        lane.drainTo(batch, maxBatchSize - 1);
+        write(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } finally {
+      lane.drainTo(batch);
+      batch.forEach(write -> write.getResult().completeExceptionally(shutDown()));
+    }
+  }
+
+  private void write(List<PendingWrite> batch) {
+    if (batch.size() == 1) {
+      writeAlone(batch.get(0));
+      return;
+    }
+
+    List<Transaction> transactions = batch.stream().map(PendingWrite::getTransaction).collect(Collectors.toList());
+    AtomicLong pinnedUntil = new AtomicLong();
+    TransactionBatchResult result;
+    try {
+      result = recordingWrites(pinnedUntil, () -> transactionService.createTransactions(transactions));
+    } catch (RuntimeException ex) {
+      // the batch rolled back as a whole, one by one only the transactions at fault fail
+      log.debug("Batch of {} transactions failed, writing them one by one", batch.size(), ex);
+      batch.forEach(this::writeAlone);
+      return;
+    }
+
+    for (int i = 0; i < batch.size(); i++) {
+      PendingWrite write = batch.get(i);
+      String rejection = result.getRejected().get(i);
+      if (nonNull(rejection)) {
+        write.getResult().completeExceptionally(new EntityNotFoundException(rejection));
+      } else {
+        write.getResult().complete(new WriteResult(write.getTransaction(), pinnedUntil.get()));
+      }
+    }
+  }
+
+  private void writeAlone(PendingWrite write) {
+    // a rolled back batch insert may have assigned it an id already
+    write.getTransaction().setId(null);
+    AtomicLong pinnedUntil = new AtomicLong();
+    try {
+      Transaction createdTransaction = recordingWrites(pinnedUntil,
+          () -> transactionService.createTransaction(write.getTransaction()));
+      write.getResult().complete(new WriteResult(createdTransaction, pinnedUntil.get()));
+    } catch (RuntimeException | Error ex) {
+      write.getResult().completeExceptionally(ex);
+    }
+  }
+
+  private <T> T recordingWrites(AtomicLong pinnedUntil, Supplier<T> write) {
+    ReadYourWritesContext.begin(0L, pinnedUntil::set);
+    try {
+      return write.get();
+    } finally {
+      ReadYourWritesContext.end();
+    }
+  }
+
+  private IllegalStateException shutDown() {
+    return new IllegalStateException("Transaction lanes are shut down");
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class PendingWrite {
+
+    private final Transaction transaction;
+    private final CompletableFuture<WriteResult> result;
+
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class WriteResult {
+
+    private final Transaction transaction;
+    private final long pinnedUntil;
+
+  }
+
+}
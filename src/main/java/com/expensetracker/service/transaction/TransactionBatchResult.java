@@ -0,0 +1,17 @@
+package com.expensetracker.service.transaction;
+
+import com.expensetracker.model.Transaction;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class TransactionBatchResult {
+
+  List<Transaction> created;
+
+  // position in the submitted batch -> reason the transaction was rejected
+  Map<Integer, String> rejected;
+
+}
@@ -0,0 +1,22 @@
+package com.expensetracker.service.transaction;
+
+import com.expensetracker.model.Money;
+import com.expensetracker.model.TransactionType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Date;
+
+@Value
+@Builder
+public class TransactionFilter {
+
+  Integer userId;
+  Integer categoryId;
+  TransactionType type;
+  Date from;
+  Date to;
+  Money minAmount;
+  Money maxAmount;
+
+}
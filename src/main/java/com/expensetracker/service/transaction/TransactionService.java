@@ -1,17 +1,27 @@
 package com.expensetracker.service.transaction;
 
 import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionView;
 
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransactionService {
 
-  List<Transaction> getAll();
-  List<Transaction> getAllByUserId(Integer userId);
+  List<TransactionView> getPage(Integer afterId, int limit);
+  List<TransactionView> getPageByUserId(Integer userId, Integer afterId, int limit);
+  List<TransactionView> search(TransactionFilter filter, Integer afterId, int limit);
+  void streamAll(Consumer<TransactionView> consumer);
+  void streamAllByUserId(Integer userId, Consumer<TransactionView> consumer);
+  void streamAllByUserId(Integer userId, Date from, Date to, Consumer<TransactionView> consumer);
+  TransactionView getViewById(Integer transactionId);
   Transaction getById(Integer transactionId);
   Transaction createTransaction(Transaction newTransaction);
+  TransactionBatchResult createTransactions(List<Transaction> newTransactions);
   Transaction updateTransactionById(Integer transactionId, Transaction updatedTransaction);
   void deleteTransactionById(Integer transactionId);
   void assertTransactionExists(Integer transactionId);
+  long count();
 
 }
@@ -1,118 +1,303 @@
 package com.expensetracker.service.transaction;
 
+import com.expensetracker.config.RetryOnConflict;
 import com.expensetracker.exception.EntityNotFoundException;
+import com.expensetracker.model.Money;
 import com.expensetracker.model.Transaction;
-import com.expensetracker.model.TransactionType;
-import com.expensetracker.model.User;
+import com.expensetracker.model.TransactionView;
+import com.expensetracker.repository.TransactionBatchRepository;
+import com.expensetracker.repository.TransactionCursorRepository;
 import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.TransactionSearchRepository;
+import com.expensetracker.service.analytics.TransactionColumnStore;
 import com.expensetracker.service.category.CategoryService;
+import com.expensetracker.service.ledger.LedgerService;
+import com.expensetracker.service.report.SpendingReportService;
+import com.expensetracker.service.summary.TransactionSummaryService;
 import com.expensetracker.service.user.UserService;
 import lombok.RequiredArgsConstructor;
+import org.postgresql.util.PSQLException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+  // keeps IN lists well below the bind parameter limits of the JDBC drivers
+  private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
+  // named by the migrations of every database
+  private static final String USER_FOREIGN_KEY = "transaction_user_id_fkey";
+  private static final String CATEGORY_FOREIGN_KEY = "transaction_category_id_fkey";
+
   private final TransactionRepository transactionRepository;
+  private final TransactionCursorRepository transactionCursorRepository;
+  private final TransactionBatchRepository transactionBatchRepository;
+  private final TransactionSearchRepository transactionSearchRepository;
   private final CategoryService categoryService;
   private final UserService userService;
+  private final TransactionSummaryService transactionSummaryService;
+  private final LedgerService ledgerService;
+  private final SpendingReportService spendingReportService;
+  private final TransactionColumnStore transactionColumnStore;
 
   @Override
-  public List<Transaction> getAll() {
-    return transactionRepository.findAll();
+  @Transactional(readOnly = true)
+  public List<TransactionView> getPage(Integer afterId, int limit) {
+    if (isNull(afterId)) {
+      return transactionRepository.findFirstPage(PageRequest.of(0, limit));
+    }
+    return transactionRepository.findPageAfter(getCursorTime(afterId), afterId, PageRequest.of(0, limit));
   }
 
   @Override
-  public List<Transaction> getAllByUserId(Integer userId) {
+  @Transactional(readOnly = true)
+  public List<TransactionView> getPageByUserId(Integer userId, Integer afterId, int limit) {
     userService.assertUserExists(userId);
-    return transactionRepository.findAllByUserId(userId);
+    if (isNull(afterId)) {
+      return transactionRepository.findFirstPageByUserId(userId, PageRequest.of(0, limit));
+    }
+    return transactionRepository.findPageByUserIdAfter(userId, getCursorTime(afterId), afterId, PageRequest.of(0, limit));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<TransactionView> search(TransactionFilter filter, Integer afterId, int limit) {
+    if (isNull(afterId)) {
+      return transactionSearchRepository.search(filter, null, null, limit);
+    }
+    return transactionSearchRepository.search(filter, getCursorTime(afterId), afterId, limit);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void streamAll(Consumer<TransactionView> consumer) {
+    transactionCursorRepository.streamAll(consumer);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void streamAllByUserId(Integer userId, Consumer<TransactionView> consumer) {
+    streamAllByUserId(userId, null, null, consumer);
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public void streamAllByUserId(Integer userId, Date from, Date to, Consumer<TransactionView> consumer) {
+    userService.assertUserExists(userId);
+    transactionCursorRepository.streamAllByUserId(userId, from, to, consumer);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public TransactionView getViewById(Integer transactionId) {
+    return transactionRepository.findViewById(transactionId)
+        .orElseThrow(() -> new EntityNotFoundException(format("Transaction with id='%s' not found", transactionId)));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public Transaction getById(Integer transactionId) {
-    assertTransactionExists(transactionId);
-    return transactionRepository.getById(transactionId);
+    return transactionRepository.findById(transactionId)
+        .orElseThrow(() -> new EntityNotFoundException(format("Transaction with id='%s' not found", transactionId)));
   }
 
   @Override
   @Transactional
+  @RetryOnConflict
   public Transaction createTransaction(Transaction newTransaction) {
-    Integer categoryId = newTransaction.getCategory().getId();
-    Integer userId = newTransaction.getUser().getId();
+    // user and category existence is enforced by the foreign keys of the insert,
+    // the balance row lock is taken last, so it is only held until the commit
+    Transaction createdTransaction = saveAndFlush(newTransaction);
+    userService.changeBalance(newTransaction.getUser().getId(), newTransaction.balanceDelta());
+    transactionSummaryService.add(createdTransaction);
+    ledgerService.recordCreated(List.of(createdTransaction));
+    spendingReportService.transactionsChanged(List.of(createdTransaction));
+    transactionColumnStore.transactionsSaved(List.of(createdTransaction));
+    return createdTransaction;
+  }
 
-    categoryService.assertCategoryExists(categoryId);
-    userService.assertUserExists(userId);
+  @Override
+  @Transactional
+  @RetryOnConflict
+  public TransactionBatchResult createTransactions(List<Transaction> newTransactions) {
+    Set<Integer> existingCategoryIds = getExistingIds(newTransactions, transaction -> transaction.getCategory().getId(),
+        categoryService::getExistingIds);
+    Set<Integer> existingUserIds = getExistingIds(newTransactions, transaction -> transaction.getUser().getId(),
+        userService::getExistingIds);
 
-    User userInDb = userService.getById(userId);
-    Double transactionAmount = newTransaction.getAmount();
+    List<Transaction> accepted = new ArrayList<>();
+    Map<Integer, String> rejected = new LinkedHashMap<>();
 
-    if (newTransaction.getType() == TransactionType.DEBIT) {
-      // balance -=
-      userInDb.decreaseBalance(transactionAmount);
-    } else {
-      // balance +=
-      userInDb.increaseBalance(transactionAmount);
+    for (int i = 0; i < newTransactions.size(); i++) {
+      Transaction transaction = newTransactions.get(i);
+      Integer categoryId = transaction.getCategory().getId();
+      Integer userId = transaction.getUser().getId();
+
+      if (!existingCategoryIds.contains(categoryId)) {
+        rejected.put(i, format("Category with id='%s' not found", categoryId));
+      } else if (!existingUserIds.contains(userId)) {
+        rejected.put(i, format("User with id='%s' not found", userId));
+      } else {
+        accepted.add(transaction);
+      }
     }
 
-    return transactionRepository.save(newTransaction);
+    transactionBatchRepository.insertAll(accepted);
+
+    // one balance update per affected user, in a stable order to keep lock acquisition consistent
+    accepted.stream()
+        .collect(Collectors.groupingBy(
+            transaction -> transaction.getUser().getId(),
+            TreeMap::new,
+            Collectors.summingLong(Transaction::balanceDeltaCents)
+        ))
+        .forEach((userId, deltaCents) -> userService.changeBalance(userId, Money.ofCents(deltaCents)));
+    transactionSummaryService.addAll(accepted);
+    ledgerService.recordCreated(accepted);
+    spendingReportService.transactionsChanged(accepted);
+    transactionColumnStore.transactionsSaved(accepted);
+
+    return new TransactionBatchResult(accepted, rejected);
   }
 
   @Override
   @Transactional
+  @RetryOnConflict
   public Transaction updateTransactionById(Integer transactionId, Transaction updatedTransaction) {
-    assertTransactionExists(transactionId);
-    Transaction transactionInDb = transactionRepository.getById(transactionId);
+    Transaction transactionInDb = getById(transactionId);
+    Integer previousUserId = transactionInDb.getUser().getId();
+    Money previousBalanceDelta = transactionInDb.balanceDelta();
+    Transaction previousTransaction = new Transaction(
+        transactionId,
+        transactionInDb.getUser(),
+        transactionInDb.getCategory(),
+        transactionInDb.getType(),
+        transactionInDb.getAmount(),
+        transactionInDb.getTime()
+    );
 
-    Integer categoryId = updatedTransaction.getCategory().getId();
+    updatedTransaction.setId(transactionId);
+    // checked against the row the deltas above were computed from, a concurrent write fails this one
+    updatedTransaction.setVersion(transactionInDb.getVersion());
+    Transaction savedTransaction = saveAndFlush(updatedTransaction);
     Integer userId = updatedTransaction.getUser().getId();
 
-    categoryService.assertCategoryExists(categoryId);
-    userService.assertUserExists(userId);
-
-    User userInDb = transactionInDb.getUser();
-    Double transactionAmount = updatedTransaction.getAmount() - transactionInDb.getAmount();
-
-    if (updatedTransaction.getType() == TransactionType.DEBIT) {
-      // balance -=
-      userInDb.decreaseBalance(transactionAmount);
+    if (Objects.equals(previousUserId, userId)) {
+      userService.changeBalance(userId, updatedTransaction.balanceDelta().minus(previousBalanceDelta));
     } else {
-      // balance +=
-      userInDb.increaseBalance(transactionAmount);
+      // lower id first, so concurrent moves between the same two users can not deadlock
+      Map<Integer, Money> balanceDeltas = new TreeMap<>();
+      balanceDeltas.put(previousUserId, previousBalanceDelta.negate());
+      balanceDeltas.put(userId, updatedTransaction.balanceDelta());
+      balanceDeltas.forEach(userService::changeBalance);
     }
 
-    updatedTransaction.setId(transactionId);
-    return transactionRepository.save(updatedTransaction);
+    transactionSummaryService.subtract(previousTransaction);
+    transactionSummaryService.add(updatedTransaction);
+    ledgerService.recordUpdated(previousTransaction, updatedTransaction);
+    spendingReportService.transactionsChanged(List.of(previousTransaction, updatedTransaction));
+    transactionColumnStore.transactionsDeleted(List.of(previousTransaction));
+    transactionColumnStore.transactionsSaved(List.of(updatedTransaction));
+    return savedTransaction;
   }
 
   @Override
   @Transactional
+  @RetryOnConflict
   public void deleteTransactionById(Integer transactionId) {
-    assertTransactionExists(transactionId);
-    Transaction transactionInDb = transactionRepository.getById(transactionId);
-    User userInDb = transactionInDb.getUser();
-    Double transactionAmount = transactionInDb.getAmount();
-
-    if (transactionInDb.getType() == TransactionType.DEBIT) {
-      // balance +=
-      userInDb.increaseBalance(transactionAmount);
-    } else {
-      // balance -=
-      userInDb.decreaseBalance(transactionAmount);
-    }
+    Transaction transactionInDb = getById(transactionId);
 
-    transactionRepository.deleteById(transactionId);
+    userService.changeBalance(transactionInDb.getUser().getId(), transactionInDb.balanceDelta().negate());
+    transactionSummaryService.subtract(transactionInDb);
+    ledgerService.recordDeleted(transactionInDb);
+    spendingReportService.transactionsChanged(List.of(transactionInDb));
+    transactionColumnStore.transactionsDeleted(List.of(transactionInDb));
+    transactionRepository.delete(transactionInDb);
+    // flushed here, so a concurrent write surfaces as a conflict now and not from the commit
+    transactionRepository.flush();
   }
 
   @Override
+  @Transactional(readOnly = true)
   public void assertTransactionExists(Integer transactionId) {
     if (!transactionRepository.existsById(transactionId)) {
       throw new EntityNotFoundException(format("Transaction with id='%s' not found", transactionId));
     }
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long count() {
+    return transactionRepository.count();
+  }
+
+  private Set<Integer> getExistingIds(List<Transaction> transactions,
+                                      Function<Transaction, Integer> idExtractor,
+                                      Function<Collection<Integer>, Set<Integer>> lookup) {
+    List<Integer> ids = transactions.stream()
+        .map(idExtractor)
+        .distinct()
+        .collect(Collectors.toList());
+
+    Set<Integer> existingIds = new HashSet<>();
+    for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+      existingIds.addAll(lookup.apply(ids.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, ids.size()))));
+    }
+    return existingIds;
+  }
+
+  private Transaction saveAndFlush(Transaction transaction) {
+    try {
+      return transactionRepository.saveAndFlush(transaction);
+    } catch (DataIntegrityViolationException ex) {
+      throw toEntityNotFoundException(ex, transaction);
+    }
+  }
+
+  private RuntimeException toEntityNotFoundException(DataIntegrityViolationException ex, Transaction transaction) {
+    if (isViolated(ex, CATEGORY_FOREIGN_KEY)) {
+      return new EntityNotFoundException(format("Category with id='%s' not found", transaction.getCategory().getId()));
+    } else if (isViolated(ex, USER_FOREIGN_KEY)) {
+      return new EntityNotFoundException(format("User with id='%s' not found", transaction.getUser().getId()));
+    }
+    return ex;
+  }
+
+  // PostgreSQL reports the constraint in a field of its error, apart from the text it translates; other
+  // databases only quote it in the message, where the name itself stays untranslated
+  private boolean isViolated(DataIntegrityViolationException ex, String constraint) {
+    Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+    if (cause instanceof PSQLException && nonNull(((PSQLException) cause).getServerErrorMessage())) {
+      return constraint.equalsIgnoreCase(((PSQLException) cause).getServerErrorMessage().getConstraint());
+    }
+    return String.valueOf(cause.getMessage()).toLowerCase().contains(constraint);
+  }
+
+  private Date getCursorTime(Integer afterId) {
+    return transactionRepository.findTimeById(afterId)
+        .orElseThrow(() -> new EntityNotFoundException(format("Transaction with id='%s' not found", afterId)));
+  }
 }
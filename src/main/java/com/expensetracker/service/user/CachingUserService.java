@@ -0,0 +1,152 @@
+package com.expensetracker.service.user;
+
+import com.expensetracker.config.datasource.ReadYourWritesContext;
+import com.expensetracker.model.LedgerBalance;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.User;
+import com.expensetracker.service.cache.CacheRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.nonNull;
+
+@Service
+@Primary
+public class CachingUserService implements UserService {
+
+  private final UserServiceImpl userService;
+  private final CacheRegistry cacheRegistry;
+
+  private final Cache<Integer, User> usersById;
+  private final Cache<String, Integer> userIdsByEmail;
+  private final Cache<Integer, Boolean> existingUserIds;
+
+  public CachingUserService(UserServiceImpl userService,
+                            CacheRegistry cacheRegistry,
+                            @Value("${expense-tracker.cache.users.maximum-size:100000}") long maximumSize,
+                            @Value("${expense-tracker.cache.users.time-to-live:5m}") Duration timeToLive) {
+    this.userService = userService;
+    this.cacheRegistry = cacheRegistry;
+    this.usersById = cacheRegistry.create("users-by-id", maximumSize, timeToLive);
+    this.userIdsByEmail = cacheRegistry.create("user-ids-by-email", maximumSize, timeToLive);
+    this.existingUserIds = cacheRegistry.create("existing-user-ids", maximumSize, timeToLive);
+  }
+
+  @Override
+  public List<User> getAll() {
+    return userService.getAll();
+  }
+
+  @Override
+  public User getById(Integer userId) {
+    User user = usersById.get(userId, id -> ReadYourWritesContext.onPrimary(() -> userService.getById(id)));
+    existingUserIds.put(userId, true);
+    return user;
+  }
+
+  @Override
+  public User getByEmail(String email) {
+    Integer userId = userIdsByEmail.getIfPresent(email);
+    if (nonNull(userId)) {
+      return getById(userId);
+    }
+
+    User user = ReadYourWritesContext.onPrimary(() -> userService.getByEmail(email));
+    usersById.put(user.getId(), user);
+    userIdsByEmail.put(email, user.getId());
+    return user;
+  }
+
+  @Override
+  public User createUser(User newUser) {
+    return userService.createUser(newUser);
+  }
+
+  @Override
+  public User updateUserById(Integer userId, User updatedUser) {
+    evict(userId);
+    return userService.updateUserById(userId, updatedUser);
+  }
+
+  @Override
+  public void deleteUserById(Integer userId) {
+    evict(userId);
+    userService.deleteUserById(userId);
+  }
+
+  @Override
+  public void assertUserExists(Integer userId) {
+    if (nonNull(existingUserIds.getIfPresent(userId))) {
+      return;
+    }
+    ReadYourWritesContext.onPrimary(() -> userService.assertUserExists(userId));
+    existingUserIds.put(userId, true);
+  }
+
+  @Override
+  public Set<Integer> getExistingIds(Collection<Integer> userIds) {
+    Set<Integer> existingIds = new HashSet<>();
+    List<Integer> missedIds = new ArrayList<>();
+
+    for (Integer userId : userIds) {
+      if (nonNull(existingUserIds.getIfPresent(userId))) {
+        existingIds.add(userId);
+      } else {
+        missedIds.add(userId);
+      }
+    }
+
+    if (!missedIds.isEmpty()) {
+      Set<Integer> loadedIds = ReadYourWritesContext.onPrimary(() -> userService.getExistingIds(missedIds));
+      loadedIds.forEach(userId -> existingUserIds.put(userId, true));
+      existingIds.addAll(loadedIds);
+    }
+    return existingIds;
+  }
+
+  @Override
+  public long count() {
+    return userService.count();
+  }
+
+  @Override
+  public List<Integer> getAllIds() {
+    return userService.getAllIds();
+  }
+
+  @Override
+  public LedgerBalance getBalanceAt(Integer userId, Date at) {
+    return userService.getBalanceAt(userId, at);
+  }
+
+  @Override
+  public void lockUser(Integer userId) {
+    userService.lockUser(userId);
+  }
+
+  @Override
+  public void changeBalance(Integer userId, Money delta) {
+    // only the cached balance goes stale, the email and existence entries stay valid
+    cacheRegistry.evict(() -> usersById.invalidate(userId));
+    userService.changeBalance(userId, delta);
+  }
+
+  private void evict(Integer userId) {
+    cacheRegistry.evict(() -> {
+      usersById.invalidate(userId);
+      existingUserIds.invalidate(userId);
+      userIdsByEmail.asMap().values().removeIf(userId::equals);
+    });
+  }
+
+}
@@ -1,16 +1,28 @@
 package com.expensetracker.service.user;
 
+import com.expensetracker.model.LedgerBalance;
+import com.expensetracker.model.Money;
 import com.expensetracker.model.User;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 public interface UserService {
 
   List<User> getAll();
   User getById(Integer userId);
+  User getByEmail(String email);
   User createUser(User newUser);
   User updateUserById(Integer userId, User updatedUser);
   void deleteUserById(Integer userId);
   void assertUserExists(Integer userId);
+  Set<Integer> getExistingIds(Collection<Integer> userIds);
+  long count();
+  List<Integer> getAllIds();
+  LedgerBalance getBalanceAt(Integer userId, Date at);
+  void lockUser(Integer userId);
+  void changeBalance(Integer userId, Money delta);
 
 }
@@ -1,14 +1,23 @@
 package com.expensetracker.service.user;
 
+import com.expensetracker.config.RetryOnConflict;
 import com.expensetracker.exception.EntityAlreadyExistsException;
 import com.expensetracker.exception.EntityNotFoundException;
+import com.expensetracker.model.LedgerBalance;
+import com.expensetracker.model.Money;
 import com.expensetracker.model.User;
 import com.expensetracker.repository.UserRepository;
+import com.expensetracker.service.ledger.LedgerService;
+import com.expensetracker.service.version.EntityVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import static java.lang.String.format;
 import static java.util.Objects.nonNull;
@@ -18,30 +27,55 @@ import static java.util.Objects.nonNull;
 public class UserServiceImpl implements UserService {
 
   private final UserRepository userRepository;
+  private final EntityVersionService entityVersionService;
+  private final LedgerService ledgerService;
 
   @Override
+  @Transactional(readOnly = true)
   public List<User> getAll() {
     return userRepository.findAll();
   }
 
   @Override
+  @Transactional(readOnly = true)
   public User getById(Integer userId) {
-    assertUserExists(userId);
-    return userRepository.getById(userId);
+    return userRepository.findById(userId)
+        .orElseThrow(() -> new EntityNotFoundException(format("User with id='%s' not found", userId)));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public User getByEmail(String email) {
+    User user = userRepository.findByEmail(email);
+    if (Objects.isNull(user)) {
+      throw new EntityNotFoundException(format("User with email='%s' not found", email));
+    }
+    return user;
   }
 
   @Override
+  @Transactional
   public User createUser(User newUser) {
     if (userRepository.existsByEmail(newUser.getEmail())) {
       String message = format("Wasn't able to create new user. User with email='%s' already exists", newUser.getEmail());
       throw new EntityAlreadyExistsException(message);
     }
-    return userRepository.save(newUser);
+    User createdUser = userRepository.save(newUser);
+    if (!Money.ZERO.equals(createdUser.getBalance())) {
+      userRepository.changeBaseBalance(createdUser.getId(), createdUser.getBalance().getCents());
+    }
+    ledgerService.recordOpened(createdUser);
+    entityVersionService.usersChanged();
+    return createdUser;
   }
 
   @Override
+  @Transactional
+  @RetryOnConflict
   public User updateUserById(Integer userId, User updatedUser) {
-    assertUserExists(userId);
+    User currentUser = userRepository.findById(userId)
+        .orElseThrow(() -> new EntityNotFoundException(format("User with id='%s' not found", userId)));
+    Money previousBalance = currentUser.getBalance();
     User userInDb = userRepository.findByEmail(updatedUser.getEmail());
 
     if (Objects.nonNull(userInDb) && !Objects.equals(userId, userInDb.getId())) {
@@ -52,20 +86,74 @@ public class UserServiceImpl implements UserService {
       throw new EntityAlreadyExistsException(message);
     }
 
+    // saved against the version that was read: a balance change in between fails this update instead of
+    // being overwritten, and once it succeeds, the row lock orders the adjustment with transaction writes
     updatedUser.setId(userId);
-    return userRepository.save(updatedUser);
+    updatedUser.setVersion(currentUser.getVersion());
+    User savedUser = userRepository.saveAndFlush(updatedUser);
+    if (!previousBalance.equals(savedUser.getBalance())) {
+      Money balanceDelta = savedUser.getBalance().minus(previousBalance);
+      userRepository.changeBaseBalance(userId, balanceDelta.getCents());
+      ledgerService.recordAdjusted(userId, balanceDelta);
+    }
+    entityVersionService.usersChanged();
+    return savedUser;
   }
 
   @Override
+  @Transactional
   public void deleteUserById(Integer userId) {
     assertUserExists(userId);
     userRepository.deleteById(userId);
+    entityVersionService.usersChanged();
   }
 
   @Override
+  @Transactional(readOnly = true)
   public void assertUserExists(Integer userId) {
     if (!userRepository.existsById(userId)) {
       throw new EntityNotFoundException(format("User with id='%s' not found", userId));
     }
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Set<Integer> getExistingIds(Collection<Integer> userIds) {
+    return userRepository.findExistingIds(userIds);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long count() {
+    return userRepository.count();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Integer> getAllIds() {
+    return userRepository.findAllIds();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public LedgerBalance getBalanceAt(Integer userId, Date at) {
+    assertUserExists(userId);
+    return ledgerService.getBalanceAt(userId, at);
+  }
+
+  @Override
+  @Transactional
+  public void lockUser(Integer userId) {
+    userRepository.findByIdForUpdate(userId)
+        .orElseThrow(() -> new EntityNotFoundException(format("User with id='%s' not found", userId)));
+  }
+
+  @Override
+  @Transactional
+  public void changeBalance(Integer userId, Money delta) {
+    if (userRepository.changeBalance(userId, delta.getCents()) == 0) {
+      throw new EntityNotFoundException(format("User with id='%s' not found", userId));
+    }
+    entityVersionService.balancesChanged();
+  }
 }
@@ -0,0 +1,21 @@
+package com.expensetracker.service.version;
+
+import java.util.Optional;
+
+public interface EntityVersionService {
+
+  String getUsersVersion();
+
+  String getCategoriesVersion();
+
+  // empty for a user that does not exist
+  Optional<String> getTransactionsVersionByUserId(Integer userId);
+
+  void usersChanged();
+
+  // counted once per transaction, when it commits
+  void balancesChanged();
+
+  void categoriesChanged();
+
+}
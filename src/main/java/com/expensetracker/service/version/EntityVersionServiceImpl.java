@@ -0,0 +1,86 @@
+package com.expensetracker.service.version;
+
+import com.expensetracker.repository.EntityVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.expensetracker.repository.EntityVersionRepository.BALANCE_VERSION_STRIPES;
+import static com.expensetracker.repository.EntityVersionRepository.CATEGORY_TABLE;
+import static com.expensetracker.repository.EntityVersionRepository.USER_TABLE;
+
+// Versions are persisted, so they survive restarts and are shared by all application instances.
+// The users list also shows balances, so its version adds the count of balance changing transactions
+// to the table version. Both only grow, so no two states of the list share a version. That count is
+// bumped right before the commit, on a random stripe: its row lock is the last one a transaction
+// takes and is held only for the commit, so concurrent writers neither deadlock nor queue on it.
+@Service
+@RequiredArgsConstructor
+public class EntityVersionServiceImpl implements EntityVersionService {
+
+  private final EntityVersionRepository entityVersionRepository;
+
+  @Override
+  @Transactional(readOnly = true)
+  public String getUsersVersion() {
+    return "users-" + entityVersionRepository.getTableVersion(USER_TABLE) + "." + entityVersionRepository.sumBalanceVersions();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public String getCategoriesVersion() {
+    return "categories-" + entityVersionRepository.getTableVersion(CATEGORY_TABLE);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<String> getTransactionsVersionByUserId(Integer userId) {
+    return entityVersionRepository.findUserVersion(userId)
+        .map(version -> "user-" + userId + "-transactions-" + version);
+  }
+
+  @Override
+  @Transactional
+  public void usersChanged() {
+    entityVersionRepository.incrementTableVersion(USER_TABLE);
+  }
+
+  @Override
+  public void balancesChanged() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      incrementBalanceVersion();
+      return;
+    }
+    if (TransactionSynchronizationManager.hasResource(this)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        incrementBalanceVersion();
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(EntityVersionServiceImpl.this);
+      }
+    });
+  }
+
+  @Override
+  @Transactional
+  public void categoriesChanged() {
+    entityVersionRepository.incrementTableVersion(CATEGORY_TABLE);
+  }
+
+  private void incrementBalanceVersion() {
+    entityVersionRepository.incrementBalanceVersion(ThreadLocalRandom.current().nextInt(BALANCE_VERSION_STRIPES));
+  }
+
+}
@@ -0,0 +1,40 @@
+package com.expensetracker.web;
+
+import com.expensetracker.service.cache.CacheRegistry;
+import com.expensetracker.web.dto.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+  private final CacheRegistry cacheRegistry;
+
+  @GetMapping("/stats")
+  public List<CacheStatsDto> getCacheStats() {
+    return cacheRegistry.getCaches().entrySet().stream()
+        .map(entry -> toDto(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  private CacheStatsDto toDto(String name, Cache<?, ?> cache) {
+    CacheStats stats = cache.stats();
+    return new CacheStatsDto(
+        name,
+        cache.estimatedSize(),
+        stats.hitCount(),
+        stats.missCount(),
+        stats.hitRate(),
+        stats.evictionCount()
+    );
+  }
+}
@@ -3,6 +3,7 @@ package com.expensetracker.web;
 import com.expensetracker.converter.CategoryConverter;
 import com.expensetracker.model.Category;
 import com.expensetracker.service.category.CategoryService;
+import com.expensetracker.service.version.EntityVersionService;
 import com.expensetracker.web.dto.CategoryDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,9 +30,13 @@ public class CategoryController {
 
   private final CategoryService categoryService;
   private final CategoryConverter categoryConverter;
+  private final EntityVersionService entityVersionService;
 
   @GetMapping
-  public List<CategoryDto> getAllCategories() {
+  public List<CategoryDto> getAllCategories(WebRequest webRequest) {
+    if (webRequest.checkNotModified(entityVersionService.getCategoriesVersion())) {
+      return null;
+    }
     return categoryService.getAll().stream()
         .map(categoryConverter::toDto)
         .collect(Collectors.toList());
@@ -42,6 +48,12 @@ public class CategoryController {
     return categoryConverter.toDto(retrievedCategory);
   }
 
+  @GetMapping("/name/{name}")
+  public CategoryDto getCategoryByName(@PathVariable String name) {
+    Category retrievedCategory = categoryService.getByName(name);
+    return categoryConverter.toDto(retrievedCategory);
+  }
+
   @PostMapping
   @ResponseStatus(CREATED)
   public CategoryDto createCategory(@Validated @RequestBody CategoryDto newCategoryDto) {
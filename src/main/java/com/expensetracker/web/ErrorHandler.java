@@ -3,22 +3,32 @@ package com.expensetracker.web;
 import com.expensetracker.exception.EntityAlreadyExistsException;
 import com.expensetracker.exception.EntityNotFoundException;
 import com.expensetracker.exception.ErrorCode;
+import com.expensetracker.exception.IdempotencyKeyConflictException;
+import com.expensetracker.exception.MalformedCsvException;
+import com.expensetracker.exception.UnsupportedExportFormatException;
+import com.expensetracker.exception.UnsupportedReportGroupingException;
 import com.expensetracker.exception.UnsupportedTransactionTypeException;
 import com.expensetracker.exception.model.ErrorResponse;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import javax.validation.ConstraintViolationException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.expensetracker.exception.ErrorCode.CONCURRENT_MODIFICATION;
 import static com.expensetracker.exception.ErrorCode.ENTITY_ALREADY_EXISTS;
 import static com.expensetracker.exception.ErrorCode.ENTITY_NOT_FOUND;
+import static com.expensetracker.exception.ErrorCode.IDEMPOTENCY_KEY_CONFLICT;
 import static com.expensetracker.exception.ErrorCode.INTERNAL;
 import static com.expensetracker.exception.ErrorCode.INVALID_PARAMS;
 import static com.expensetracker.exception.ErrorCode.UNSUPPORTED_TRANSACTION_TYPE;
@@ -30,7 +40,13 @@ public class ErrorHandler {
       EntityAlreadyExistsException.class,
       UnsupportedTransactionTypeException.class,
       MethodArgumentNotValidException.class,
-      HttpMessageNotReadableException.class
+      HttpMessageNotReadableException.class,
+      ConstraintViolationException.class,
+      MissingServletRequestParameterException.class,
+      MethodArgumentTypeMismatchException.class,
+      UnsupportedExportFormatException.class,
+      UnsupportedReportGroupingException.class,
+      MalformedCsvException.class
   })
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorResponse handleBadRequest(Exception ex) {
@@ -42,6 +58,13 @@ public class ErrorHandler {
       return buildErrorResponse(UNSUPPORTED_TRANSACTION_TYPE, ex.getMessage());
     } else if (ex instanceof HttpMessageNotReadableException) {
       return buildUnsupportedTransactionTypeErrorResponse((HttpMessageNotReadableException) ex);
+    } else if (ex instanceof ConstraintViolationException
+        || ex instanceof MissingServletRequestParameterException
+        || ex instanceof MethodArgumentTypeMismatchException
+        || ex instanceof UnsupportedExportFormatException
+        || ex instanceof UnsupportedReportGroupingException
+        || ex instanceof MalformedCsvException) {
+      return buildErrorResponse(INVALID_PARAMS, ex.getMessage());
     }
     return buildErrorResponse(INTERNAL, ex.getMessage());
   }
@@ -52,6 +75,19 @@ public class ErrorHandler {
     return buildErrorResponse(ENTITY_NOT_FOUND, ex.getMessage());
   }
 
+  @ExceptionHandler
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ErrorResponse handleConflict(IdempotencyKeyConflictException ex) {
+    return buildErrorResponse(IDEMPOTENCY_KEY_CONFLICT, ex.getMessage());
+  }
+
+  // left over once the retries of a write are used up, the request itself may be sent again
+  @ExceptionHandler
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ErrorResponse handleConcurrentModification(ConcurrencyFailureException ex) {
+    return buildErrorResponse(CONCURRENT_MODIFICATION, "The entity was modified concurrently, please retry");
+  }
+
   @ExceptionHandler
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public ErrorResponse handleServerError(Exception ex) {
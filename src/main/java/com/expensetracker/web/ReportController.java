@@ -0,0 +1,36 @@
+package com.expensetracker.web;
+
+import com.expensetracker.converter.SpendingReportConverter;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.service.report.SpendingReportService;
+import com.expensetracker.web.dto.SpendingReportRowDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+  private final SpendingReportService spendingReportService;
+  private final SpendingReportConverter spendingReportConverter;
+
+  @GetMapping("/spending")
+  public List<SpendingReportRowDto> getSpendingReport(
+      @RequestParam Integer userId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "category") String groupBy) {
+    return spendingReportService.getReport(userId, from, to, SpendingGrouping.fromString(groupBy)).stream()
+        .map(spendingReportConverter::toDto)
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,23 @@
+package com.expensetracker.web;
+
+import com.expensetracker.converter.StatsConverter;
+import com.expensetracker.service.stats.StatsService;
+import com.expensetracker.web.dto.StatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+  private final StatsService statsService;
+  private final StatsConverter statsConverter;
+
+  @GetMapping
+  public StatsDto getStats() {
+    return statsConverter.toDto(statsService.getStats());
+  }
+}
@@ -1,11 +1,32 @@
 package com.expensetracker.web;
 
 import com.expensetracker.converter.TransactionConverter;
+import com.expensetracker.exception.UnsupportedTransactionTypeException;
+import com.expensetracker.model.Money;
 import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.TransactionView;
+import com.expensetracker.service.idempotency.IdempotencyService;
+import com.expensetracker.service.transaction.TransactionBatchResult;
+import com.expensetracker.service.transaction.TransactionFilter;
 import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.service.version.EntityVersionService;
+import com.expensetracker.web.dto.TransactionBatchErrorDto;
+import com.expensetracker.web.dto.TransactionBatchResultDto;
 import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.validation.TransactionDtoValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,49 +34,159 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static com.expensetracker.exception.ErrorCode.ENTITY_NOT_FOUND;
+import static com.expensetracker.exception.ErrorCode.INVALID_PARAMS;
+import static com.expensetracker.exception.ErrorCode.UNSUPPORTED_TRANSACTION_TYPE;
+import static java.util.Objects.isNull;
 import static org.springframework.http.HttpStatus.CREATED;
 
+@Validated
 @RestController
 @RequestMapping("/transactions")
 @RequiredArgsConstructor
 public class TransactionController {
 
+  public static final String NEXT_AFTER_HEADER = "X-Next-After";
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
   private final TransactionService transactionService;
   private final TransactionConverter transactionConverter;
+  private final TransactionDtoValidator transactionDtoValidator;
+  private final ObjectMapper objectMapper;
+  private final EntityVersionService entityVersionService;
+  private final IdempotencyService idempotencyService;
+
+  @Value("${expense-tracker.transactions.page.default-limit:100}")
+  private int defaultPageSize;
+
+  @Value("${expense-tracker.transactions.page.max-limit:1000}")
+  private int maxPageSize;
+
+  @GetMapping(params = {"!after", "!limit"})
+  public void streamAllTransactions(HttpServletResponse response) {
+    streamTransactions(response, transactionService::streamAll);
+  }
 
   @GetMapping
-  public List<TransactionDto> getAllTransactions() {
-    return transactionService.getAll().stream()
-        .map(transactionConverter::toDto)
-        .collect(Collectors.toList());
+  public ResponseEntity<List<TransactionDto>> getAllTransactions(@RequestParam(required = false) Integer after,
+                                                                 @RequestParam(required = false) @Positive Integer limit) {
+    int pageSize = getPageSize(limit);
+    return toPageResponse(transactionService.getPage(after, pageSize), pageSize);
+  }
+
+  @GetMapping(path = "/user/{id}", params = {"!after", "!limit"})
+  public void streamAllTransactionsByUserId(@PathVariable Integer id, WebRequest webRequest, HttpServletResponse response) {
+    if (isNotModified(id, webRequest)) {
+      return;
+    }
+    streamTransactions(response, consumer -> transactionService.streamAllByUserId(id, consumer));
   }
 
   @GetMapping("/user/{id}")
-  public List<TransactionDto> getAllTransactionsByUserId(@PathVariable Integer id) {
-    return transactionService.getAllByUserId(id).stream()
-        .map(transactionConverter::toDto)
-        .collect(Collectors.toList());
+  public ResponseEntity<List<TransactionDto>> getAllTransactionsByUserId(@PathVariable Integer id,
+                                                                         @RequestParam(required = false) Integer after,
+                                                                         @RequestParam(required = false) @Positive Integer limit,
+                                                                         WebRequest webRequest) {
+    if (isNotModified(id, webRequest)) {
+      return null;
+    }
+    int pageSize = getPageSize(limit);
+    return toPageResponse(transactionService.getPageByUserId(id, after, pageSize), pageSize);
+  }
+
+  @GetMapping("/search")
+  public ResponseEntity<List<TransactionDto>> searchTransactions(
+      @RequestParam(required = false) Integer userId,
+      @RequestParam(required = false) Integer categoryId,
+      @RequestParam(required = false) String type,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+      @RequestParam(required = false) Double minAmount,
+      @RequestParam(required = false) Double maxAmount,
+      @RequestParam(required = false) Integer after,
+      @RequestParam(required = false) @Positive Integer limit) {
+    TransactionFilter filter = TransactionFilter.builder()
+        .userId(userId)
+        .categoryId(categoryId)
+        .type(isNull(type) ? null : TransactionType.fromString(type))
+        .from(from)
+        .to(to)
+        .minAmount(isNull(minAmount) ? null : Money.of(minAmount))
+        .maxAmount(isNull(maxAmount) ? null : Money.of(maxAmount))
+        .build();
+
+    int pageSize = getPageSize(limit);
+    return toPageResponse(transactionService.search(filter, after, pageSize), pageSize);
   }
 
   @GetMapping("/{id}")
   public TransactionDto getTransaction(@PathVariable Integer id) {
-    Transaction retrievedTransaction = transactionService.getById(id);
-    return transactionConverter.toDto(retrievedTransaction);
+    return transactionConverter.toDto(transactionService.getViewById(id));
   }
 
   @PostMapping
   @ResponseStatus(CREATED)
-  public TransactionDto createTransaction(@Validated @RequestBody TransactionDto newTransactionDto) {
-    Transaction givenTransaction = transactionConverter.toModel(newTransactionDto);
-    Transaction createdTransaction = transactionService.createTransaction(givenTransaction);
-    return transactionConverter.toDto(createdTransaction);
+  public TransactionDto createTransaction(@Validated @RequestBody TransactionDto newTransactionDto,
+                                          @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+                                          @Size(min = 1, max = 100) String idempotencyKey) {
+    Supplier<TransactionDto> create = () -> {
+      Transaction givenTransaction = transactionConverter.toModel(newTransactionDto);
+      Transaction createdTransaction = transactionService.createTransaction(givenTransaction);
+      return transactionConverter.toDto(createdTransaction);
+    };
+    return isNull(idempotencyKey)
+        ? create.get()
+        : idempotencyService.execute(idempotencyKey, newTransactionDto, TransactionDto.class, create);
+  }
+
+  @PostMapping("/batch")
+  public TransactionBatchResultDto createTransactions(@RequestBody List<JsonNode> newTransactionNodes) {
+    List<Transaction> givenTransactions = new ArrayList<>();
+    List<Integer> givenIndexes = new ArrayList<>();
+    List<TransactionBatchErrorDto> errors = new ArrayList<>();
+
+    for (int i = 0; i < newTransactionNodes.size(); i++) {
+      try {
+        TransactionDto newTransactionDto = objectMapper.treeToValue(newTransactionNodes.get(i), TransactionDto.class);
+        List<String> violations = transactionDtoValidator.validate(newTransactionDto);
+
+        if (violations.isEmpty()) {
+          givenTransactions.add(transactionConverter.toModel(newTransactionDto));
+          givenIndexes.add(i);
+        } else {
+          errors.add(new TransactionBatchErrorDto(i, INVALID_PARAMS.getCode(), String.join(", ", violations)));
+        }
+      } catch (JsonProcessingException ex) {
+        errors.add(toBatchError(i, ex));
+      }
+    }
+
+    TransactionBatchResult result = transactionService.createTransactions(givenTransactions);
+    result.getRejected().forEach((position, message) ->
+        errors.add(new TransactionBatchErrorDto(givenIndexes.get(position), ENTITY_NOT_FOUND.getCode(), message))
+    );
+    errors.sort(Comparator.comparingInt(TransactionBatchErrorDto::getIndex));
+
+    return new TransactionBatchResultDto(result.getCreated().size(), errors);
   }
 
   @PutMapping("/{id}")
@@ -71,4 +202,73 @@ public class TransactionController {
     transactionService.deleteTransactionById(id);
   }
 
+  // The version is read before the rows, so a concurrent write can only leave the ETag older than
+  // the body. An unknown user gets no ETag and fails in the service as before.
+  private boolean isNotModified(Integer userId, WebRequest webRequest) {
+    return entityVersionService.getTransactionsVersionByUserId(userId)
+        .map(webRequest::checkNotModified)
+        .orElse(false);
+  }
+
+  private int getPageSize(Integer limit) {
+    return isNull(limit) ? defaultPageSize : Math.min(limit, maxPageSize);
+  }
+
+  private TransactionBatchErrorDto toBatchError(int index, JsonProcessingException ex) {
+    if (ex.getCause() instanceof UnsupportedTransactionTypeException) {
+      return new TransactionBatchErrorDto(index, UNSUPPORTED_TRANSACTION_TYPE.getCode(), ex.getCause().getMessage());
+    }
+    return new TransactionBatchErrorDto(index, INVALID_PARAMS.getCode(), ex.getOriginalMessage());
+  }
+
+  private ResponseEntity<List<TransactionDto>> toPageResponse(List<TransactionView> page, int pageSize) {
+    List<TransactionDto> transactionDtos = page.stream()
+        .map(transactionConverter::toDto)
+        .collect(Collectors.toList());
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (transactionDtos.size() == pageSize) {
+      response.header(NEXT_AFTER_HEADER, String.valueOf(transactionDtos.get(pageSize - 1).getId()));
+    }
+    return response.body(transactionDtos);
+  }
+
+  @SneakyThrows
+  private void streamTransactions(HttpServletResponse response, Consumer<Consumer<TransactionView>> source) {
+    ObjectWriter writer = objectMapper.writerFor(TransactionDto.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    LazyJsonArrayWriter arrayWriter = new LazyJsonArrayWriter(writer, response);
+    source.accept(transaction -> arrayWriter.write(transactionConverter.toDto(transaction)));
+    arrayWriter.finish();
+  }
+
+  // Opens the response only once the source starts producing rows (or completes),
+  // so lookup failures before the first row still surface through the ErrorHandler.
+  @RequiredArgsConstructor
+  private static class LazyJsonArrayWriter {
+
+    private final ObjectWriter writer;
+    private final HttpServletResponse response;
+
+    private SequenceWriter sequenceWriter;
+
+    @SneakyThrows
+    void write(Object value) {
+      open().write(value);
+    }
+
+    void finish() throws IOException {
+      open().close();
+    }
+
+    private SequenceWriter open() throws IOException {
+      if (isNull(sequenceWriter)) {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        sequenceWriter = writer.writeValuesAsArray(response.getOutputStream());
+      }
+      return sequenceWriter;
+    }
+  }
+
 }
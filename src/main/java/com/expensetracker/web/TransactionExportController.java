@@ -0,0 +1,54 @@
+package com.expensetracker.web;
+
+import com.expensetracker.converter.TransactionConverter;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.export.ExportFormat;
+import com.expensetracker.web.export.TransactionExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
+
+@RestController
+@RequiredArgsConstructor
+public class TransactionExportController {
+
+  private final TransactionService transactionService;
+  private final TransactionConverter transactionConverter;
+  private final ObjectMapper objectMapper;
+
+  @Value("${expense-tracker.transactions.export.buffer-size:8192}")
+  private int bufferSize;
+
+  @GetMapping("/users/{id}/transactions/export")
+  public void exportTransactions(@PathVariable Integer id,
+                                 @RequestParam(defaultValue = "csv") String format,
+                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+                                 @RequestParam(defaultValue = "false") boolean gzip,
+                                 HttpServletResponse response) throws IOException {
+    TransactionExportWriter exportWriter = TransactionExportWriter.builder()
+        .format(ExportFormat.fromString(format))
+        .gzip(gzip)
+        .bufferSize(bufferSize)
+        .fileName("transactions-" + id)
+        .response(response)
+        .jsonWriter(objectMapper.writerFor(TransactionDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE))
+        .transactionConverter(transactionConverter)
+        .build();
+
+    transactionService.streamAllByUserId(id, from, to, exportWriter::write);
+    exportWriter.finish();
+  }
+
+}
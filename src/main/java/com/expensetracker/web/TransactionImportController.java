@@ -0,0 +1,65 @@
+package com.expensetracker.web;
+
+import com.expensetracker.web.dto.TransactionImportDto;
+import com.expensetracker.web.importing.TransactionImport;
+import com.expensetracker.web.importing.TransactionImporter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpStatus.CREATED;
+
+@RestController
+@RequestMapping("/transactions/imports")
+@RequiredArgsConstructor
+public class TransactionImportController {
+
+  private final TransactionImporter transactionImporter;
+
+  @GetMapping
+  public List<TransactionImportDto> getAllImports() {
+    return transactionImporter.getAll().stream()
+        .sorted(Comparator.comparing(TransactionImport::getStartedAt).reversed())
+        .map(this::toDto)
+        .collect(Collectors.toList());
+  }
+
+  @GetMapping("/{id}")
+  public TransactionImportDto getImport(@PathVariable String id) {
+    return toDto(transactionImporter.getById(id));
+  }
+
+  @PostMapping(consumes = "text/csv")
+  @ResponseStatus(CREATED)
+  public TransactionImportDto importTransactions(HttpServletRequest request) throws IOException {
+    TransactionImport transactionImport =
+        transactionImporter.importCsv(new InputStreamReader(request.getInputStream(), UTF_8));
+    return toDto(transactionImport);
+  }
+
+  private TransactionImportDto toDto(TransactionImport transactionImport) {
+    return new TransactionImportDto(
+        transactionImport.getId(),
+        transactionImport.getStatus(),
+        transactionImport.getProcessedRows().get(),
+        transactionImport.getImportedRows().get(),
+        transactionImport.getRejectedRows().get(),
+        transactionImport.getErrors(),
+        transactionImport.getFailure(),
+        transactionImport.getStartedAt(),
+        transactionImport.getFinishedAt()
+    );
+  }
+}
@@ -0,0 +1,47 @@
+package com.expensetracker.web;
+
+import com.expensetracker.converter.TransactionSummaryConverter;
+import com.expensetracker.service.summary.TransactionSummaryService;
+import com.expensetracker.web.dto.TransactionSummaryDto;
+import com.expensetracker.web.dto.TransactionSummaryRebuildDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+@RestController
+@RequestMapping("/summaries")
+@RequiredArgsConstructor
+public class TransactionSummaryController {
+
+  private final TransactionSummaryService transactionSummaryService;
+  private final TransactionSummaryConverter transactionSummaryConverter;
+
+  @GetMapping
+  public List<TransactionSummaryDto> getSummaries(
+      @RequestParam Integer userId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return transactionSummaryService.getByUserId(userId, from, to).stream()
+        .map(transactionSummaryConverter::toDto)
+        .collect(Collectors.toList());
+  }
+
+  @PostMapping("/rebuild")
+  public TransactionSummaryRebuildDto rebuildSummaries(@RequestParam(required = false) Integer userId) {
+    if (isNull(userId)) {
+      return new TransactionSummaryRebuildDto(transactionSummaryService.rebuild());
+    }
+    transactionSummaryService.rebuildForUser(userId);
+    return new TransactionSummaryRebuildDto(1);
+  }
+}
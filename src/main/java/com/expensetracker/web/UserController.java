@@ -1,10 +1,14 @@
 package com.expensetracker.web;
 
+import com.expensetracker.converter.UserBalanceConverter;
 import com.expensetracker.converter.UserConverter;
 import com.expensetracker.model.User;
 import com.expensetracker.service.user.UserService;
+import com.expensetracker.service.version.EntityVersionService;
+import com.expensetracker.web.dto.UserBalanceDto;
 import com.expensetracker.web.dto.UserDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,12 +17,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.isNull;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @RestController
@@ -28,9 +36,14 @@ public class UserController {
 
   private final UserService userService;
   private final UserConverter userConverter;
+  private final UserBalanceConverter userBalanceConverter;
+  private final EntityVersionService entityVersionService;
 
   @GetMapping
-  public List<UserDto> getAllUsers() {
+  public List<UserDto> getAllUsers(WebRequest webRequest) {
+    if (webRequest.checkNotModified(entityVersionService.getUsersVersion())) {
+      return null;
+    }
     return userService.getAll().stream()
         .map(userConverter::toDto)
         .collect(Collectors.toList());
@@ -42,6 +55,18 @@ public class UserController {
     return userConverter.toDto(retrievedUser);
   }
 
+  @GetMapping("/{id}/balance")
+  public UserBalanceDto getUserBalance(@PathVariable Integer id,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date at) {
+    return userBalanceConverter.toDto(userService.getBalanceAt(id, isNull(at) ? new Date() : at));
+  }
+
+  @GetMapping("/email/{email}")
+  public UserDto getUserByEmail(@PathVariable String email) {
+    User retrievedUser = userService.getByEmail(email);
+    return userConverter.toDto(retrievedUser);
+  }
+
   @PostMapping
   @ResponseStatus(CREATED)
   public UserDto createUser(@Validated @RequestBody UserDto newUserDto) {
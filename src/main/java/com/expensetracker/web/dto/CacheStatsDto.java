@@ -0,0 +1,36 @@
+package com.expensetracker.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+@Value
+public class CacheStatsDto {
+
+  String name;
+
+  long size;
+
+  long hitCount;
+
+  long missCount;
+
+  double hitRate;
+
+  long evictionCount;
+
+  @JsonCreator
+  public CacheStatsDto(@JsonProperty("name") String name,
+                       @JsonProperty("size") long size,
+                       @JsonProperty("hitCount") long hitCount,
+                       @JsonProperty("missCount") long missCount,
+                       @JsonProperty("hitRate") double hitRate,
+                       @JsonProperty("evictionCount") long evictionCount) {
+    this.name = name;
+    this.size = size;
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.hitRate = hitRate;
+    this.evictionCount = evictionCount;
+  }
+}
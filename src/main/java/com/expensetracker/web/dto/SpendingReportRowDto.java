@@ -0,0 +1,43 @@
+package com.expensetracker.web.dto;
+
+import com.expensetracker.model.TransactionType;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+import static java.util.Objects.isNull;
+
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SpendingReportRowDto {
+
+  Integer categoryId;
+
+  LocalDate month;
+
+  TransactionType type;
+
+  Double debit;
+
+  Double credit;
+
+  Long count;
+
+  @JsonCreator
+  public SpendingReportRowDto(@JsonProperty("categoryId") Integer categoryId,
+                              @JsonProperty("month") LocalDate month,
+                              @JsonProperty("type") String type,
+                              @JsonProperty("debit") Double debit,
+                              @JsonProperty("credit") Double credit,
+                              @JsonProperty("count") Long count) {
+    this.categoryId = categoryId;
+    this.month = month;
+    this.type = isNull(type) ? null : TransactionType.fromString(type);
+    this.debit = debit;
+    this.credit = credit;
+    this.count = count;
+  }
+}
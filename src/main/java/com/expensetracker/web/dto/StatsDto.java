@@ -0,0 +1,24 @@
+package com.expensetracker.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+@Value
+public class StatsDto {
+
+  long categories;
+
+  long users;
+
+  long transactions;
+
+  @JsonCreator
+  public StatsDto(@JsonProperty("categories") long categories,
+                  @JsonProperty("users") long users,
+                  @JsonProperty("transactions") long transactions) {
+    this.categories = categories;
+    this.users = users;
+    this.transactions = transactions;
+  }
+}
@@ -0,0 +1,24 @@
+package com.expensetracker.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+@Value
+public class TransactionBatchErrorDto {
+
+  int index;
+
+  String code;
+
+  String message;
+
+  @JsonCreator
+  public TransactionBatchErrorDto(@JsonProperty("index") int index,
+                                  @JsonProperty("code") String code,
+                                  @JsonProperty("message") String message) {
+    this.index = index;
+    this.code = code;
+    this.message = message;
+  }
+}
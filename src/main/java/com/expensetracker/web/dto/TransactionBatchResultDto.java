@@ -0,0 +1,22 @@
+package com.expensetracker.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class TransactionBatchResultDto {
+
+  int created;
+
+  List<TransactionBatchErrorDto> errors;
+
+  @JsonCreator
+  public TransactionBatchResultDto(@JsonProperty("created") int created,
+                                   @JsonProperty("errors") List<TransactionBatchErrorDto> errors) {
+    this.created = created;
+    this.errors = errors;
+  }
+}
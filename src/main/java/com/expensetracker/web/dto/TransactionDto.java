@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Value;
 
+import javax.validation.constraints.Digits;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Null;
 import javax.validation.constraints.Positive;
@@ -28,8 +29,10 @@ public class TransactionDto {
   @NotNull
   TransactionType type;
 
+  // whole cents only, Money.of would round a smaller fraction away, 0.001 down to nothing
   @NotNull
   @Positive
+  @Digits(integer = 13, fraction = 2)
   Double amount;
 
   Date time;
@@ -0,0 +1,52 @@
+package com.expensetracker.web.dto;
+
+import com.expensetracker.web.importing.TransactionImportStatus;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.util.Date;
+import java.util.List;
+
+@Value
+public class TransactionImportDto {
+
+  String id;
+
+  TransactionImportStatus status;
+
+  long processedRows;
+
+  long importedRows;
+
+  long rejectedRows;
+
+  List<TransactionImportErrorDto> errors;
+
+  String failure;
+
+  Date startedAt;
+
+  Date finishedAt;
+
+  @JsonCreator
+  public TransactionImportDto(@JsonProperty("id") String id,
+                              @JsonProperty("status") TransactionImportStatus status,
+                              @JsonProperty("processedRows") long processedRows,
+                              @JsonProperty("importedRows") long importedRows,
+                              @JsonProperty("rejectedRows") long rejectedRows,
+                              @JsonProperty("errors") List<TransactionImportErrorDto> errors,
+                              @JsonProperty("failure") String failure,
+                              @JsonProperty("startedAt") Date startedAt,
+                              @JsonProperty("finishedAt") Date finishedAt) {
+    this.id = id;
+    this.status = status;
+    this.processedRows = processedRows;
+    this.importedRows = importedRows;
+    this.rejectedRows = rejectedRows;
+    this.errors = errors;
+    this.failure = failure;
+    this.startedAt = startedAt;
+    this.finishedAt = finishedAt;
+  }
+}
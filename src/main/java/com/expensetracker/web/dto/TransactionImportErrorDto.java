@@ -0,0 +1,24 @@
+package com.expensetracker.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+@Value
+public class TransactionImportErrorDto {
+
+  long line;
+
+  String code;
+
+  String message;
+
+  @JsonCreator
+  public TransactionImportErrorDto(@JsonProperty("line") long line,
+                                   @JsonProperty("code") String code,
+                                   @JsonProperty("message") String message) {
+    this.line = line;
+    this.code = code;
+    this.message = message;
+  }
+}
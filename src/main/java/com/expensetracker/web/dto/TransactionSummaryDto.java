@@ -0,0 +1,39 @@
+package com.expensetracker.web.dto;
+
+import com.expensetracker.model.TransactionType;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+public class TransactionSummaryDto {
+
+  Integer userId;
+
+  Integer categoryId;
+
+  LocalDate month;
+
+  TransactionType type;
+
+  Double total;
+
+  Long count;
+
+  @JsonCreator
+  public TransactionSummaryDto(@JsonProperty("userId") Integer userId,
+                               @JsonProperty("categoryId") Integer categoryId,
+                               @JsonProperty("month") LocalDate month,
+                               @JsonProperty("type") String type,
+                               @JsonProperty("total") Double total,
+                               @JsonProperty("count") Long count) {
+    this.userId = userId;
+    this.categoryId = categoryId;
+    this.month = month;
+    this.type = TransactionType.fromString(type);
+    this.total = total;
+    this.count = count;
+  }
+}
@@ -0,0 +1,16 @@
+package com.expensetracker.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+@Value
+public class TransactionSummaryRebuildDto {
+
+  int rebuiltUsers;
+
+  @JsonCreator
+  public TransactionSummaryRebuildDto(@JsonProperty("rebuiltUsers") int rebuiltUsers) {
+    this.rebuiltUsers = rebuiltUsers;
+  }
+}
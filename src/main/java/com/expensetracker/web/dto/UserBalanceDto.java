@@ -0,0 +1,24 @@
+package com.expensetracker.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+@Value
+public class UserBalanceDto {
+
+  Integer userId;
+
+  Long sequenceNumber;
+
+  Double balance;
+
+  @JsonCreator
+  public UserBalanceDto(@JsonProperty("userId") Integer userId,
+                        @JsonProperty("sequenceNumber") Long sequenceNumber,
+                        @JsonProperty("balance") Double balance) {
+    this.userId = userId;
+    this.sequenceNumber = sequenceNumber;
+    this.balance = balance;
+  }
+}
@@ -0,0 +1,35 @@
+package com.expensetracker.web.export;
+
+import com.expensetracker.exception.UnsupportedExportFormatException;
+
+public enum ExportFormat {
+  CSV("csv", "text/csv"),
+  NDJSON("ndjson", "application/x-ndjson");
+
+  private final String extension;
+  private final String contentType;
+
+  ExportFormat(String extension, String contentType) {
+    this.extension = extension;
+    this.contentType = contentType;
+  }
+
+  public String getExtension() {
+    return this.extension;
+  }
+
+  public String getContentType() {
+    return this.contentType;
+  }
+
+  public static ExportFormat fromString(String format) {
+    for (ExportFormat exportFormat : values()) {
+      if (exportFormat.getExtension().equalsIgnoreCase(format)) {
+        return exportFormat;
+      }
+    }
+
+    String message = String.format("Received unsupported export format [%s]", format);
+    throw new UnsupportedExportFormatException(message);
+  }
+}
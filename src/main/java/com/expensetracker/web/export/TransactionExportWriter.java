@@ -0,0 +1,99 @@
+package com.expensetracker.web.export;
+
+import com.expensetracker.converter.TransactionConverter;
+import com.expensetracker.model.TransactionView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.Builder;
+import lombok.SneakyThrows;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+
+// Writes one line per transaction through a fixed-size buffer, so memory use does not
+// depend on the row count. The response is opened only once the first row arrives (or
+// on finish), so lookup failures before that still surface through the ErrorHandler.
+public class TransactionExportWriter {
+
+  private static final String CSV_HEADER = "id,userId,categoryId,type,amount,time";
+
+  private final ExportFormat format;
+  private final boolean gzip;
+  private final int bufferSize;
+  private final String fileName;
+  private final HttpServletResponse response;
+  private final ObjectWriter jsonWriter;
+  private final TransactionConverter transactionConverter;
+
+  private Writer writer;
+
+  @Builder
+  private TransactionExportWriter(ExportFormat format,
+                                  boolean gzip,
+                                  int bufferSize,
+                                  String fileName,
+                                  HttpServletResponse response,
+                                  ObjectWriter jsonWriter,
+                                  TransactionConverter transactionConverter) {
+    this.format = format;
+    this.gzip = gzip;
+    this.bufferSize = bufferSize;
+    this.fileName = fileName;
+    this.response = response;
+    this.jsonWriter = jsonWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.transactionConverter = transactionConverter;
+  }
+
+  @SneakyThrows
+  public void write(TransactionView transaction) {
+    Writer out = open();
+    if (format == ExportFormat.CSV) {
+      out.write(String.valueOf(transaction.getId()));
+      out.write(',');
+      out.write(String.valueOf(transaction.getUserId()));
+      out.write(',');
+      out.write(String.valueOf(transaction.getCategoryId()));
+      out.write(',');
+      out.write(transaction.getType().getCanonicalType());
+      out.write(',');
+      out.write(transaction.getAmount().toString());
+      out.write(',');
+      out.write(transaction.getTime().toInstant().toString());
+    } else {
+      jsonWriter.writeValue(out, transactionConverter.toDto(transaction));
+    }
+    out.write('\n');
+  }
+
+  public void finish() throws IOException {
+    open().close();
+  }
+
+  private Writer open() throws IOException {
+    if (isNull(writer)) {
+      String extension = gzip ? format.getExtension() + ".gz" : format.getExtension();
+      response.setContentType(gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8");
+      response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "." + extension + "\"");
+
+      OutputStream out = response.getOutputStream();
+      if (gzip) {
+        out = new GZIPOutputStream(out, bufferSize);
+      }
+      writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8), bufferSize);
+      if (format == ExportFormat.CSV) {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+      }
+    }
+    return writer;
+  }
+
+}
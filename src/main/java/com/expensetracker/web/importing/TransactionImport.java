@@ -0,0 +1,59 @@
+package com.expensetracker.web.importing;
+
+import com.expensetracker.web.dto.TransactionImportErrorDto;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Progress of a single import. It is written by the importing request thread and read by
+// status requests, so counters are atomic and only the first maxErrors errors are kept.
+@Getter
+public class TransactionImport {
+
+  private final String id;
+  private final Date startedAt = new Date();
+  private final AtomicLong processedRows = new AtomicLong();
+  private final AtomicLong importedRows = new AtomicLong();
+  private final AtomicLong rejectedRows = new AtomicLong();
+  private final int maxErrors;
+
+  private volatile TransactionImportStatus status = TransactionImportStatus.RUNNING;
+  private volatile String failure;
+  private volatile Date finishedAt;
+
+  private final List<TransactionImportErrorDto> errors = new ArrayList<>();
+
+  TransactionImport(String id, int maxErrors) {
+    this.id = id;
+    this.maxErrors = maxErrors;
+  }
+
+  public synchronized List<TransactionImportErrorDto> getErrors() {
+    List<TransactionImportErrorDto> snapshot = new ArrayList<>(errors);
+    snapshot.sort(Comparator.comparingLong(TransactionImportErrorDto::getLine));
+    return snapshot;
+  }
+
+  synchronized void reject(long line, String code, String message) {
+    rejectedRows.incrementAndGet();
+    if (errors.size() < maxErrors) {
+      errors.add(new TransactionImportErrorDto(line, code, message));
+    }
+  }
+
+  void complete() {
+    finishedAt = new Date();
+    status = TransactionImportStatus.COMPLETED;
+  }
+
+  void fail(String message) {
+    failure = message;
+    finishedAt = new Date();
+    status = TransactionImportStatus.FAILED;
+  }
+
+}
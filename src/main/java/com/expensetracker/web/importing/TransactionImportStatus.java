@@ -0,0 +1,7 @@
+package com.expensetracker.web.importing;
+
+public enum TransactionImportStatus {
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
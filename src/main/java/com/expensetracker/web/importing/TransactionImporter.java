@@ -0,0 +1,234 @@
+package com.expensetracker.web.importing;
+
+import com.expensetracker.converter.TransactionConverter;
+import com.expensetracker.exception.EntityNotFoundException;
+import com.expensetracker.exception.MalformedCsvException;
+import com.expensetracker.exception.UnsupportedTransactionTypeException;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.service.cache.CacheRegistry;
+import com.expensetracker.service.transaction.TransactionBatchResult;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.validation.TransactionDtoValidator;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.expensetracker.exception.ErrorCode.ENTITY_NOT_FOUND;
+import static com.expensetracker.exception.ErrorCode.INVALID_PARAMS;
+import static com.expensetracker.exception.ErrorCode.UNSUPPORTED_TRANSACTION_TYPE;
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+
+// Reads a CSV body line by line on the request thread and hands accepted rows to the batch
+// insert path one chunk at a time, each chunk in its own database transaction. The body is
+// only read as fast as chunks are committed, and at most one chunk is held in memory.
+@Component
+public class TransactionImporter {
+
+  private static final List<String> REQUIRED_COLUMNS = List.of("userId", "categoryId", "type", "amount");
+  private static final String TIME_COLUMN = "time";
+
+  private final TransactionService transactionService;
+  private final TransactionConverter transactionConverter;
+  private final TransactionDtoValidator transactionDtoValidator;
+  private final Cache<String, TransactionImport> imports;
+  private final int chunkSize;
+  private final int maxErrors;
+
+  public TransactionImporter(TransactionService transactionService,
+                             TransactionConverter transactionConverter,
+                             TransactionDtoValidator transactionDtoValidator,
+                             CacheRegistry cacheRegistry,
+                             @Value("${expense-tracker.transactions.import.chunk-size:500}") int chunkSize,
+                             @Value("${expense-tracker.transactions.import.max-errors:1000}") int maxErrors,
+                             @Value("${expense-tracker.transactions.import.retained:100}") long retained,
+                             @Value("${expense-tracker.transactions.import.time-to-live:24h}") Duration timeToLive) {
+    this.transactionService = transactionService;
+    this.transactionConverter = transactionConverter;
+    this.transactionDtoValidator = transactionDtoValidator;
+    this.imports = cacheRegistry.create("transaction-imports", retained, timeToLive);
+    this.chunkSize = chunkSize;
+    this.maxErrors = maxErrors;
+  }
+
+  public Collection<TransactionImport> getAll() {
+    return imports.asMap().values();
+  }
+
+  public TransactionImport getById(String importId) {
+    TransactionImport transactionImport = imports.getIfPresent(importId);
+    if (isNull(transactionImport)) {
+      throw new EntityNotFoundException(format("Transaction import with id='%s' not found", importId));
+    }
+    return transactionImport;
+  }
+
+  public TransactionImport importCsv(Reader reader) throws IOException {
+    TransactionImport transactionImport = new TransactionImport(UUID.randomUUID().toString(), maxErrors);
+    imports.put(transactionImport.getId(), transactionImport);
+
+    try (BufferedReader lines = new BufferedReader(reader)) {
+      CsvHeader header = parseHeader(lines.readLine());
+      List<Transaction> chunk = new ArrayList<>(chunkSize);
+      List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+      long lineNumber = 1;
+      for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+
+        transactionImport.getProcessedRows().incrementAndGet();
+        Transaction transaction = parseRow(transactionImport, lineNumber, line, header);
+        if (transaction != null) {
+          chunk.add(transaction);
+          chunkLines.add(lineNumber);
+        }
+        if (chunk.size() == chunkSize) {
+          commitChunk(transactionImport, chunk, chunkLines);
+        }
+      }
+      commitChunk(transactionImport, chunk, chunkLines);
+      transactionImport.complete();
+    } catch (IOException | RuntimeException ex) {
+      transactionImport.fail(ex.getMessage());
+      throw ex;
+    }
+    return transactionImport;
+  }
+
+  private CsvHeader parseHeader(String header) {
+    if (isNull(header)) {
+      throw new MalformedCsvException("CSV header is missing");
+    }
+
+    Map<String, Integer> columns = new HashMap<>();
+    String[] names = header.split(",", -1);
+    for (int i = 0; i < names.length; i++) {
+      columns.put(names[i].trim(), i);
+    }
+
+    List<String> missingColumns = new ArrayList<>();
+    for (String column : REQUIRED_COLUMNS) {
+      if (!columns.containsKey(column)) {
+        missingColumns.add(column);
+      }
+    }
+    if (!missingColumns.isEmpty()) {
+      throw new MalformedCsvException(format("CSV header misses columns %s", missingColumns));
+    }
+    return new CsvHeader(columns, names.length);
+  }
+
+  private Transaction parseRow(TransactionImport transactionImport, long lineNumber, String line,
+                               CsvHeader header) {
+    String[] values = line.split(",", -1);
+    if (values.length != header.size) {
+      transactionImport.reject(lineNumber, INVALID_PARAMS.getCode(),
+          format("Expected %d columns but got %d", header.size, values.length));
+      return null;
+    }
+
+    TransactionDto transactionDto;
+    try {
+      transactionDto = new TransactionDto(
+          null,
+          parseInteger(header.value(values, "userId"), "userId"),
+          parseInteger(header.value(values, "categoryId"), "categoryId"),
+          header.value(values, "type"),
+          parseDouble(header.value(values, "amount"), "amount"),
+          parseTime(header.value(values, TIME_COLUMN))
+      );
+    } catch (UnsupportedTransactionTypeException ex) {
+      transactionImport.reject(lineNumber, UNSUPPORTED_TRANSACTION_TYPE.getCode(), ex.getMessage());
+      return null;
+    } catch (MalformedCsvException ex) {
+      transactionImport.reject(lineNumber, INVALID_PARAMS.getCode(), ex.getMessage());
+      return null;
+    }
+
+    List<String> violations = transactionDtoValidator.validate(transactionDto);
+    if (!violations.isEmpty()) {
+      transactionImport.reject(lineNumber, INVALID_PARAMS.getCode(), String.join(", ", violations));
+      return null;
+    }
+    return transactionConverter.toModel(transactionDto);
+  }
+
+  private void commitChunk(TransactionImport transactionImport, List<Transaction> chunk, List<Long> chunkLines) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+
+    TransactionBatchResult result = transactionService.createTransactions(chunk);
+    transactionImport.getImportedRows().addAndGet(result.getCreated().size());
+    result.getRejected().forEach((position, message) ->
+        transactionImport.reject(chunkLines.get(position), ENTITY_NOT_FOUND.getCode(), message)
+    );
+
+    chunk.clear();
+    chunkLines.clear();
+  }
+
+  private Integer parseInteger(String value, String column) {
+    try {
+      return isNull(value) ? null : Integer.valueOf(value);
+    } catch (NumberFormatException ex) {
+      throw new MalformedCsvException(format("%s: must be an integer", column));
+    }
+  }
+
+  private Double parseDouble(String value, String column) {
+    try {
+      return isNull(value) ? null : Double.valueOf(value);
+    } catch (NumberFormatException ex) {
+      throw new MalformedCsvException(format("%s: must be a number", column));
+    }
+  }
+
+  private Date parseTime(String value) {
+    try {
+      return isNull(value) ? null : Date.from(Instant.parse(value));
+    } catch (DateTimeParseException ex) {
+      throw new MalformedCsvException(format("%s: must be an ISO-8601 instant", TIME_COLUMN));
+    }
+  }
+
+  private static class CsvHeader {
+
+    private final Map<String, Integer> columns;
+    private final int size;
+
+    CsvHeader(Map<String, Integer> columns, int size) {
+      this.columns = columns;
+      this.size = size;
+    }
+
+    // blank cells are read as missing values, so the DTO constraints report them
+    String value(String[] values, String column) {
+      Integer index = columns.get(column);
+      if (isNull(index)) {
+        return null;
+      }
+      String value = values[index].trim();
+      return value.isEmpty() ? null : value;
+    }
+  }
+
+}
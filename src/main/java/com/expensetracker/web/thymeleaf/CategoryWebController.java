@@ -1,9 +1,9 @@
 package com.expensetracker.web.thymeleaf;
 
 import com.expensetracker.model.Category;
-import com.expensetracker.service.HttpService;
 import com.expensetracker.web.dto.CategoryDto;
-import org.springframework.boot.autoconfigure.web.ServerProperties;
+import com.expensetracker.web.thymeleaf.client.ApiClient;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,24 +12,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
-import java.util.List;
-
 @Controller
 @RequestMapping("/web/categories")
+@RequiredArgsConstructor
 public class CategoryWebController {
 
-  private final HttpService<CategoryDto> httpService;
-
-  private final String CATEGORY_URI;
-
-  public CategoryWebController(ServerProperties serverProperties, HttpService<CategoryDto> httpService) {
-    this.CATEGORY_URI = "http://localhost:" + serverProperties.getPort() + "/categories";
-    this.httpService = httpService;
-  }
+  private final ApiClient apiClient;
 
   @GetMapping
   public String getAllCategories(Model model) {
-    model.addAttribute("categories", httpService.get(CATEGORY_URI, List.class));
+    model.addAttribute("categories", apiClient.getCategories());
     return "categories/index";
   }
 
@@ -42,13 +34,13 @@ public class CategoryWebController {
 
   @PostMapping
   public String createCategory(@ModelAttribute("category") CategoryDto category) {
-    httpService.post(category, CATEGORY_URI);
+    apiClient.createCategory(category);
     return "redirect:/web/categories";
   }
 
   @GetMapping("/edit/{id}")
   public String updateCategoryForm(@PathVariable Integer id, Model model) {
-    CategoryDto categoryDto = httpService.get(CATEGORY_URI + "/" + id, CategoryDto.class);
+    CategoryDto categoryDto = apiClient.getCategory(id);
     model.addAttribute("category", categoryDto);
     return "categories/edit";
   }
@@ -56,13 +48,13 @@ public class CategoryWebController {
   @GetMapping("/{id}")
   public String updateCategory(@PathVariable Integer id, @ModelAttribute("category") CategoryDto category) {
     CategoryDto categoryDto = new CategoryDto(null, category.getName());
-    httpService.put(categoryDto, CATEGORY_URI + "/" + id);
+    apiClient.updateCategory(id, categoryDto);
     return "redirect:/web/categories";
   }
 
   @GetMapping("/delete/{id}")
   public String deleteCategory(@PathVariable Integer id) {
-    httpService.delete(CATEGORY_URI + "/" + id);
+    apiClient.deleteCategory(id);
     return "redirect:/web/categories";
   }
 
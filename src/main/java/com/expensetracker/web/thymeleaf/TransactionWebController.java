@@ -1,11 +1,10 @@
 package com.expensetracker.web.thymeleaf;
 
-import com.expensetracker.service.HttpService;
+import com.expensetracker.web.dto.CategoryDto;
 import com.expensetracker.web.dto.TransactionDto;
 import com.expensetracker.web.dto.UserDto;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.boot.autoconfigure.web.ServerProperties;
+import com.expensetracker.web.thymeleaf.client.ApiClient;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,54 +14,47 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/web/transactions")
+@RequiredArgsConstructor
 public class TransactionWebController {
 
-  private final HttpService<TransactionDto> httpService;
-
-  private final String TRANSACTION_URI;
-  private final String CATEGORY_URI;
-  private final String USER_URI;
-
-  private final ObjectMapper objectMapper;
-
-  public TransactionWebController(ServerProperties serverProperties, HttpService<TransactionDto> httpService, ObjectMapper objectMapper) {
-    this.TRANSACTION_URI = "http://localhost:" + serverProperties.getPort() + "/transactions";
-    this.CATEGORY_URI = "http://localhost:" + serverProperties.getPort() + "/categories";
-    this.USER_URI = "http://localhost:" + serverProperties.getPort() + "/users";
-    this.httpService = httpService;
-    this.objectMapper = objectMapper;
-  }
+  private final ApiClient apiClient;
 
   @GetMapping
   public String getAllTransactions(Model model) {
-    model.addAttribute("transactions", httpService.get(TRANSACTION_URI, List.class));
+    model.addAttribute("transactions", apiClient.getTransactions());
     return "transactions/index";
   }
 
   @GetMapping("/add")
   public String createTransactionForm(Model model) {
+    CompletableFuture<List<UserDto>> users = apiClient.getUsersAsync();
+    CompletableFuture<List<CategoryDto>> categories = apiClient.getCategoriesAsync();
+
     TransactionDto newTransaction = new TransactionDto(null, null, null, "debit", null, null);
     model.addAttribute("newTransaction", newTransaction);
-    model.addAttribute("userIds", getUserIds());
-    model.addAttribute("categories", httpService.get(CATEGORY_URI, List.class));
+    model.addAttribute("userIds", getUserIds(users.join()));
+    model.addAttribute("categories", categories.join());
     return "transactions/create";
   }
 
   @PostMapping
   public String createTransaction(@ModelAttribute TransactionDto transaction) {
-    httpService.post(transaction, TRANSACTION_URI);
+    apiClient.createTransaction(transaction);
     return "redirect:/web/transactions";
   }
 
   @GetMapping("/edit/{id}")
   public String updateTransactionForm(@PathVariable Integer id, Model model) {
-    TransactionDto transactionDto = httpService.get(TRANSACTION_URI + "/" + id, TransactionDto.class);
-    model.addAttribute("transaction", transactionDto);
-    model.addAttribute("categories", httpService.get(CATEGORY_URI, List.class));
+    CompletableFuture<TransactionDto> transaction = apiClient.getTransactionAsync(id);
+    CompletableFuture<List<CategoryDto>> categories = apiClient.getCategoriesAsync();
+
+    model.addAttribute("transaction", transaction.join());
+    model.addAttribute("categories", categories.join());
     return "transactions/edit";
   }
 
@@ -76,18 +68,17 @@ public class TransactionWebController {
         transaction.getAmount(),
         null
     );
-    httpService.put(transactionDto, TRANSACTION_URI + "/" + id);
+    apiClient.updateTransaction(id, transactionDto);
     return "redirect:/web/transactions";
   }
 
   @GetMapping("/delete/{id}")
   public String deleteTransaction(@PathVariable Integer id) {
-    httpService.delete(TRANSACTION_URI + "/" + id);
+    apiClient.deleteTransaction(id);
     return "redirect:/web/transactions";
   }
 
-  private List<Integer> getUserIds() {
-    List<UserDto> users = objectMapper.convertValue(httpService.get(USER_URI, List.class), new TypeReference<>() {});
+  private List<Integer> getUserIds(List<UserDto> users) {
     return users.stream()
         .map(UserDto::getId)
         .collect(Collectors.toList());
@@ -1,13 +1,13 @@
 package com.expensetracker.web.thymeleaf;
 
+import com.expensetracker.model.SpendingGrouping;
 import com.expensetracker.model.TransactionType;
 import com.expensetracker.model.User;
-import com.expensetracker.service.HttpService;
+import com.expensetracker.web.dto.SpendingReportRowDto;
 import com.expensetracker.web.dto.TransactionDto;
 import com.expensetracker.web.dto.UserDto;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.boot.autoconfigure.web.ServerProperties;
+import com.expensetracker.web.thymeleaf.client.ApiClient;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,38 +17,33 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Controller
 @RequestMapping("/web/users")
+@RequiredArgsConstructor
 public class UserWebController {
 
-  private final HttpService<UserDto> httpService;
-
-  private final String USER_URI;
-  private final String TRANSACTION_URI;
-
-  private final ObjectMapper objectMapper;
-
-  public UserWebController(ServerProperties serverProperties, HttpService<UserDto> httpService, ObjectMapper objectMapper) {
-    this.USER_URI = "http://localhost:" + serverProperties.getPort() + "/users";
-    this.TRANSACTION_URI = "http://localhost:" + serverProperties.getPort() + "/transactions";
-    this.httpService = httpService;
-    this.objectMapper = objectMapper;
-  }
+  private final ApiClient apiClient;
 
   @GetMapping
   public String getAllUsers(Model model) {
-    model.addAttribute("users", httpService.get(USER_URI, List.class));
+    model.addAttribute("users", apiClient.getUsers());
     return "users/index";
   }
 
   @GetMapping("/{id}/transactions")
   public String getAllTransactionsForUser(@PathVariable Integer id, Model model) {
-    List<TransactionDto> transactions = objectMapper.convertValue(httpService.get(TRANSACTION_URI + "/user/" + id, List.class), new TypeReference<>() {});
-    Double totalDebit = getTotalDebitCommitted(transactions);
-    Double totalCredit = getTotalCreditCommitted(transactions);
+    CompletableFuture<List<SpendingReportRowDto>> report =
+        apiClient.getSpendingReportByUserIdAsync(id, SpendingGrouping.TYPE);
+    CompletableFuture<List<TransactionDto>> transactions = apiClient.getTransactionsByUserIdAsync(id);
 
-    model.addAttribute("transactions", httpService.get(TRANSACTION_URI + "/user/" + id, List.class));
+    List<SpendingReportRowDto> totals = report.join();
+    Double totalDebit = getTotal(totals, TransactionType.DEBIT, SpendingReportRowDto::getDebit);
+    Double totalCredit = getTotal(totals, TransactionType.CREDIT, SpendingReportRowDto::getCredit);
+
+    model.addAttribute("transactions", transactions.join());
     model.addAttribute("totalDebit", totalDebit);
     model.addAttribute("totalCredit", totalCredit);
     return "transactions/list";
@@ -63,13 +58,13 @@ public class UserWebController {
 
   @PostMapping
   public String createUser(@ModelAttribute("user") UserDto user) {
-    httpService.post(user, USER_URI);
+    apiClient.createUser(user);
     return "redirect:/web/users";
   }
 
   @GetMapping("/edit/{id}")
   public String updateUserForm(@PathVariable Integer id, Model model) {
-    UserDto userDto = httpService.get(USER_URI + "/" + id, UserDto.class);
+    UserDto userDto = apiClient.getUser(id);
     model.addAttribute("user", userDto);
     return "users/edit";
   }
@@ -77,28 +72,23 @@ public class UserWebController {
   @GetMapping("/{id}")
   public String updateUser(@PathVariable Integer id, @ModelAttribute("user") UserDto user) {
     UserDto userDto = new UserDto(null, user.getFullName(), user.getEmail(), user.getBalance());
-    httpService.put(userDto, USER_URI + "/" + id);
+    apiClient.updateUser(id, userDto);
     return "redirect:/web/users";
   }
 
   @GetMapping("/delete/{id}")
   public String deleteUser(@PathVariable Integer id) {
-    httpService.delete(USER_URI + "/" + id);
+    apiClient.deleteUser(id);
     return "redirect:/web/users";
   }
 
-  private Double getTotalDebitCommitted(List<TransactionDto> transactions) {
-    return transactions.stream()
-        .filter(transaction -> transaction.getType() == TransactionType.DEBIT)
-        .mapToDouble(TransactionDto::getAmount)
-        .sum();
-  }
-
-  private Double getTotalCreditCommitted(List<TransactionDto> transactions) {
-    return transactions.stream()
-        .filter(transaction -> transaction.getType() == TransactionType.CREDIT)
-        .mapToDouble(TransactionDto::getAmount)
-        .sum();
+  private Double getTotal(List<SpendingReportRowDto> totals, TransactionType type,
+                          Function<SpendingReportRowDto, Double> total) {
+    return totals.stream()
+        .filter(row -> row.getType() == type)
+        .map(total)
+        .findFirst()
+        .orElse(0.0);
   }
 
 }
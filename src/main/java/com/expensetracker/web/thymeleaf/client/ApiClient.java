@@ -0,0 +1,68 @@
+package com.expensetracker.web.thymeleaf.client;
+
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.web.dto.CategoryDto;
+import com.expensetracker.web.dto.SpendingReportRowDto;
+import com.expensetracker.web.dto.StatsDto;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.dto.TransactionSummaryDto;
+import com.expensetracker.web.dto.UserDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// The async reads let pages that need several resources request them all at once.
+// By default they complete on the calling thread, which is what in-process calls want.
+public interface ApiClient {
+
+  List<CategoryDto> getCategories();
+  CategoryDto getCategory(Integer categoryId);
+  void createCategory(CategoryDto category);
+  void updateCategory(Integer categoryId, CategoryDto category);
+  void deleteCategory(Integer categoryId);
+
+  List<UserDto> getUsers();
+  UserDto getUser(Integer userId);
+  void createUser(UserDto user);
+  void updateUser(Integer userId, UserDto user);
+  void deleteUser(Integer userId);
+
+  List<TransactionDto> getTransactions();
+  List<TransactionDto> getTransactionsByUserId(Integer userId);
+  TransactionDto getTransaction(Integer transactionId);
+  void createTransaction(TransactionDto transaction);
+  void updateTransaction(Integer transactionId, TransactionDto transaction);
+  void deleteTransaction(Integer transactionId);
+
+  List<TransactionSummaryDto> getSummariesByUserId(Integer userId);
+
+  List<SpendingReportRowDto> getSpendingReportByUserId(Integer userId, SpendingGrouping grouping);
+
+  StatsDto getStats();
+
+  default CompletableFuture<List<CategoryDto>> getCategoriesAsync() {
+    return CompletableFuture.completedFuture(getCategories());
+  }
+
+  default CompletableFuture<List<UserDto>> getUsersAsync() {
+    return CompletableFuture.completedFuture(getUsers());
+  }
+
+  default CompletableFuture<List<TransactionDto>> getTransactionsByUserIdAsync(Integer userId) {
+    return CompletableFuture.completedFuture(getTransactionsByUserId(userId));
+  }
+
+  default CompletableFuture<TransactionDto> getTransactionAsync(Integer transactionId) {
+    return CompletableFuture.completedFuture(getTransaction(transactionId));
+  }
+
+  default CompletableFuture<List<TransactionSummaryDto>> getSummariesByUserIdAsync(Integer userId) {
+    return CompletableFuture.completedFuture(getSummariesByUserId(userId));
+  }
+
+  default CompletableFuture<List<SpendingReportRowDto>> getSpendingReportByUserIdAsync(Integer userId,
+                                                                                      SpendingGrouping grouping) {
+    return CompletableFuture.completedFuture(getSpendingReportByUserId(userId, grouping));
+  }
+
+}
@@ -0,0 +1,179 @@
+package com.expensetracker.web.thymeleaf.client;
+
+import com.expensetracker.service.HttpService;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.web.dto.CategoryDto;
+import com.expensetracker.web.dto.SpendingReportRowDto;
+import com.expensetracker.web.dto.StatsDto;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.dto.TransactionSummaryDto;
+import com.expensetracker.web.dto.UserDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.isNull;
+
+// Goes through the REST API over HTTP, for deployments where the UI and the API run separately.
+@Component
+@ConditionalOnProperty(name = "expense-tracker.web.dispatch", havingValue = "http")
+public class HttpApiClient implements ApiClient {
+
+  private final HttpService<Object> httpService;
+
+  private final String CATEGORY_URI;
+  private final String USER_URI;
+  private final String TRANSACTION_URI;
+  private final String SUMMARY_URI;
+  private final String STATS_URI;
+  private final String REPORT_URI;
+
+  public HttpApiClient(ServerProperties serverProperties,
+                       HttpService<Object> httpService,
+                       @Value("${expense-tracker.web.api-uri:}") String apiUri) {
+    String baseUri = isNull(apiUri) || apiUri.isEmpty() ? "http://localhost:" + serverProperties.getPort() : apiUri;
+    this.CATEGORY_URI = baseUri + "/categories";
+    this.USER_URI = baseUri + "/users";
+    this.TRANSACTION_URI = baseUri + "/transactions";
+    this.SUMMARY_URI = baseUri + "/summaries";
+    this.STATS_URI = baseUri + "/stats";
+    this.REPORT_URI = baseUri + "/reports";
+    this.httpService = httpService;
+  }
+
+  @Override
+  public List<CategoryDto> getCategories() {
+    return httpService.get(CATEGORY_URI, new TypeReference<>() {});
+  }
+
+  @Override
+  public CompletableFuture<List<CategoryDto>> getCategoriesAsync() {
+    return httpService.getAsync(CATEGORY_URI, new TypeReference<>() {});
+  }
+
+  @Override
+  public CategoryDto getCategory(Integer categoryId) {
+    return httpService.get(CATEGORY_URI + "/" + categoryId, CategoryDto.class);
+  }
+
+  @Override
+  public void createCategory(CategoryDto category) {
+    httpService.post(category, CATEGORY_URI);
+  }
+
+  @Override
+  public void updateCategory(Integer categoryId, CategoryDto category) {
+    httpService.put(category, CATEGORY_URI + "/" + categoryId);
+  }
+
+  @Override
+  public void deleteCategory(Integer categoryId) {
+    httpService.delete(CATEGORY_URI + "/" + categoryId);
+  }
+
+  @Override
+  public List<UserDto> getUsers() {
+    return httpService.get(USER_URI, new TypeReference<>() {});
+  }
+
+  @Override
+  public CompletableFuture<List<UserDto>> getUsersAsync() {
+    return httpService.getAsync(USER_URI, new TypeReference<>() {});
+  }
+
+  @Override
+  public UserDto getUser(Integer userId) {
+    return httpService.get(USER_URI + "/" + userId, UserDto.class);
+  }
+
+  @Override
+  public void createUser(UserDto user) {
+    httpService.post(user, USER_URI);
+  }
+
+  @Override
+  public void updateUser(Integer userId, UserDto user) {
+    httpService.put(user, USER_URI + "/" + userId);
+  }
+
+  @Override
+  public void deleteUser(Integer userId) {
+    httpService.delete(USER_URI + "/" + userId);
+  }
+
+  @Override
+  public List<TransactionDto> getTransactions() {
+    return httpService.get(TRANSACTION_URI, new TypeReference<>() {});
+  }
+
+  @Override
+  public List<TransactionDto> getTransactionsByUserId(Integer userId) {
+    return httpService.get(TRANSACTION_URI + "/user/" + userId, new TypeReference<>() {});
+  }
+
+  @Override
+  public CompletableFuture<List<TransactionDto>> getTransactionsByUserIdAsync(Integer userId) {
+    return httpService.getAsync(TRANSACTION_URI + "/user/" + userId, new TypeReference<>() {});
+  }
+
+  @Override
+  public TransactionDto getTransaction(Integer transactionId) {
+    return httpService.get(TRANSACTION_URI + "/" + transactionId, TransactionDto.class);
+  }
+
+  @Override
+  public CompletableFuture<TransactionDto> getTransactionAsync(Integer transactionId) {
+    return httpService.getAsync(TRANSACTION_URI + "/" + transactionId, TransactionDto.class);
+  }
+
+  @Override
+  public void createTransaction(TransactionDto transaction) {
+    httpService.post(transaction, TRANSACTION_URI);
+  }
+
+  @Override
+  public void updateTransaction(Integer transactionId, TransactionDto transaction) {
+    httpService.put(transaction, TRANSACTION_URI + "/" + transactionId);
+  }
+
+  @Override
+  public void deleteTransaction(Integer transactionId) {
+    httpService.delete(TRANSACTION_URI + "/" + transactionId);
+  }
+
+  @Override
+  public List<TransactionSummaryDto> getSummariesByUserId(Integer userId) {
+    return httpService.get(SUMMARY_URI + "?userId=" + userId, new TypeReference<>() {});
+  }
+
+  @Override
+  public CompletableFuture<List<TransactionSummaryDto>> getSummariesByUserIdAsync(Integer userId) {
+    return httpService.getAsync(SUMMARY_URI + "?userId=" + userId, new TypeReference<>() {});
+  }
+
+  @Override
+  public List<SpendingReportRowDto> getSpendingReportByUserId(Integer userId, SpendingGrouping grouping) {
+    return httpService.get(getSpendingReportUri(userId, grouping), new TypeReference<>() {});
+  }
+
+  @Override
+  public CompletableFuture<List<SpendingReportRowDto>> getSpendingReportByUserIdAsync(Integer userId,
+                                                                                     SpendingGrouping grouping) {
+    return httpService.getAsync(getSpendingReportUri(userId, grouping), new TypeReference<>() {});
+  }
+
+  @Override
+  public StatsDto getStats() {
+    return httpService.get(STATS_URI, StatsDto.class);
+  }
+
+  private String getSpendingReportUri(Integer userId, SpendingGrouping grouping) {
+    return REPORT_URI + "/spending?userId=" + userId + "&groupBy=" + grouping.getCanonicalGrouping();
+  }
+
+}
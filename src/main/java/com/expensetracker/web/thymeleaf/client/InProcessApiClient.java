@@ -0,0 +1,178 @@
+package com.expensetracker.web.thymeleaf.client;
+
+import com.expensetracker.converter.CategoryConverter;
+import com.expensetracker.converter.SpendingReportConverter;
+import com.expensetracker.converter.StatsConverter;
+import com.expensetracker.converter.TransactionConverter;
+import com.expensetracker.converter.TransactionSummaryConverter;
+import com.expensetracker.converter.UserConverter;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.service.category.CategoryService;
+import com.expensetracker.service.report.SpendingReportService;
+import com.expensetracker.service.stats.StatsService;
+import com.expensetracker.service.summary.TransactionSummaryService;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.service.user.UserService;
+import com.expensetracker.web.dto.CategoryDto;
+import com.expensetracker.web.dto.SpendingReportRowDto;
+import com.expensetracker.web.dto.StatsDto;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.dto.TransactionSummaryDto;
+import com.expensetracker.web.dto.UserDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Calls the service layer directly when the UI and the API share a JVM, applying
+// the same bean validation the REST controllers do.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "expense-tracker.web.dispatch", havingValue = "in-process", matchIfMissing = true)
+public class InProcessApiClient implements ApiClient {
+
+  private final CategoryService categoryService;
+  private final UserService userService;
+  private final TransactionService transactionService;
+  private final TransactionSummaryService transactionSummaryService;
+  private final SpendingReportService spendingReportService;
+  private final StatsService statsService;
+  private final CategoryConverter categoryConverter;
+  private final UserConverter userConverter;
+  private final TransactionConverter transactionConverter;
+  private final TransactionSummaryConverter transactionSummaryConverter;
+  private final SpendingReportConverter spendingReportConverter;
+  private final StatsConverter statsConverter;
+  private final Validator validator;
+
+  @Override
+  public List<CategoryDto> getCategories() {
+    return categoryService.getAll().stream()
+        .map(categoryConverter::toDto)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CategoryDto getCategory(Integer categoryId) {
+    return categoryConverter.toDto(categoryService.getById(categoryId));
+  }
+
+  @Override
+  public void createCategory(CategoryDto category) {
+    validate(category);
+    categoryService.createCategory(categoryConverter.toModel(category));
+  }
+
+  @Override
+  public void updateCategory(Integer categoryId, CategoryDto category) {
+    validate(category);
+    categoryService.updateCategoryById(categoryId, categoryConverter.toModel(category));
+  }
+
+  @Override
+  public void deleteCategory(Integer categoryId) {
+    categoryService.deleteCategoryById(categoryId);
+  }
+
+  @Override
+  public List<UserDto> getUsers() {
+    return userService.getAll().stream()
+        .map(userConverter::toDto)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public UserDto getUser(Integer userId) {
+    return userConverter.toDto(userService.getById(userId));
+  }
+
+  @Override
+  public void createUser(UserDto user) {
+    validate(user);
+    userService.createUser(userConverter.toModel(user));
+  }
+
+  @Override
+  public void updateUser(Integer userId, UserDto user) {
+    validate(user);
+    userService.updateUserById(userId, userConverter.toModel(user));
+  }
+
+  @Override
+  public void deleteUser(Integer userId) {
+    userService.deleteUserById(userId);
+  }
+
+  @Override
+  public List<TransactionDto> getTransactions() {
+    List<TransactionDto> transactions = new ArrayList<>();
+    transactionService.streamAll(transaction -> transactions.add(transactionConverter.toDto(transaction)));
+    return transactions;
+  }
+
+  @Override
+  public List<TransactionDto> getTransactionsByUserId(Integer userId) {
+    List<TransactionDto> transactions = new ArrayList<>();
+    transactionService.streamAllByUserId(userId, transaction -> transactions.add(transactionConverter.toDto(transaction)));
+    return transactions;
+  }
+
+  @Override
+  public TransactionDto getTransaction(Integer transactionId) {
+    return transactionConverter.toDto(transactionService.getViewById(transactionId));
+  }
+
+  @Override
+  public void createTransaction(TransactionDto transaction) {
+    validate(transaction);
+    transactionService.createTransaction(transactionConverter.toModel(transaction));
+  }
+
+  @Override
+  public void updateTransaction(Integer transactionId, TransactionDto transaction) {
+    validate(transaction);
+    transactionService.updateTransactionById(transactionId, transactionConverter.toModel(transaction));
+  }
+
+  @Override
+  public void deleteTransaction(Integer transactionId) {
+    transactionService.deleteTransactionById(transactionId);
+  }
+
+  @Override
+  public List<TransactionSummaryDto> getSummariesByUserId(Integer userId) {
+    return transactionSummaryService.getByUserId(userId, null, null).stream()
+        .map(transactionSummaryConverter::toDto)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<SpendingReportRowDto> getSpendingReportByUserId(Integer userId, SpendingGrouping grouping) {
+    return spendingReportService.getReport(userId, null, null, grouping).stream()
+        .map(spendingReportConverter::toDto)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public StatsDto getStats() {
+    return statsConverter.toDto(statsService.getStats());
+  }
+
+  private void validate(Object dto) {
+    Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+    if (!violations.isEmpty()) {
+      throw new ConstraintViolationException(violations);
+    }
+  }
+
+}
@@ -0,0 +1,31 @@
+package com.expensetracker.web.validation;
+
+import com.expensetracker.web.dto.TransactionDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Applies the TransactionDto constraints to items that are not bound through @Validated,
+// e.g. single entries of a bulk request.
+@Component
+@RequiredArgsConstructor
+public class TransactionDtoValidator {
+
+  private final Validator validator;
+
+  public List<String> validate(TransactionDto transactionDto) {
+    return validator.validate(transactionDto).stream()
+        .map(this::toMessage)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  private String toMessage(ConstraintViolation<TransactionDto> violation) {
+    return violation.getPropertyPath() + ": " + violation.getMessage();
+  }
+
+}
@@ -0,0 +1,9 @@
+-- bumped with every balance change, so it also versions the user's transactions
+ALTER TABLE user_table ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS table_version (
+    name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO table_version (name) VALUES ('user_table'), ('category');
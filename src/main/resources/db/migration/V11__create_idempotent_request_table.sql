@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS idempotent_request (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    response TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idempotent_request_created_at_idx ON idempotent_request (created_at);
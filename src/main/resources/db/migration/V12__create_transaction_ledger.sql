@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS transaction_ledger (
+    sequence_number BIGSERIAL PRIMARY KEY,
+    user_id INTEGER NOT NULL,
+    event VARCHAR(10) NOT NULL,
+    transaction_id INTEGER,
+    category_id INTEGER,
+    type VARCHAR(10),
+    amount BIGINT,
+    time TIMESTAMP,
+    balance_delta BIGINT NOT NULL,
+    recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX transaction_ledger_user_id_sequence_number_idx ON transaction_ledger (user_id, sequence_number);
+CREATE INDEX transaction_ledger_user_id_recorded_at_idx ON transaction_ledger (user_id, recorded_at, sequence_number);
+
+CREATE TABLE IF NOT EXISTS balance_snapshot (
+    user_id INTEGER NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    balance BIGINT NOT NULL,
+    taken_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, sequence_number)
+);
+
+-- the history before the ledger is unknown, so every existing user opens with its current balance
+INSERT INTO transaction_ledger (user_id, event, balance_delta)
+SELECT id, 'OPENED', balance FROM user_table ORDER BY id;
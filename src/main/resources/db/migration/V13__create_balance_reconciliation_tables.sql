@@ -0,0 +1,27 @@
+-- the part of a balance that is not explained by the user's transactions: the opening balance and edits
+ALTER TABLE user_table ADD COLUMN base_balance BIGINT NOT NULL DEFAULT 0;
+
+UPDATE user_table SET base_balance = balance - COALESCE((
+    SELECT SUM(CASE WHEN t.type = 'CREDIT' THEN t.amount ELSE -t.amount END)
+    FROM transaction t
+    WHERE t.user_id = user_table.id
+), 0);
+
+CREATE TABLE IF NOT EXISTS balance_reconciliation_run (
+    id SERIAL PRIMARY KEY,
+    max_user_id INTEGER NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS balance_reconciliation_chunk (
+    run_id INTEGER NOT NULL,
+    from_user_id INTEGER NOT NULL,
+    checked INTEGER NOT NULL,
+    mismatched INTEGER NOT NULL,
+    repaired INTEGER NOT NULL,
+    finished_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (run_id, from_user_id),
+    FOREIGN KEY (run_id) REFERENCES balance_reconciliation_run (id) ON DELETE CASCADE
+);
@@ -0,0 +1,2 @@
+-- optimistic lock version, checked by every update and delete of a transaction row
+ALTER TABLE transaction ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
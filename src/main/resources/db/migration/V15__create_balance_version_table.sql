@@ -0,0 +1,9 @@
+-- bumped once by every transaction that changes balances, on one of a few stripes, so the users
+-- list version is a sum over these rows and not over every user
+CREATE TABLE IF NOT EXISTS balance_version (
+    stripe INTEGER PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO balance_version (stripe)
+VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9), (10), (11), (12), (13), (14), (15);
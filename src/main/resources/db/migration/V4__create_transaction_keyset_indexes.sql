@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS transaction_time_id_idx ON transaction (time, id);
+
+CREATE INDEX IF NOT EXISTS transaction_user_id_time_id_idx ON transaction (user_id, time, id)
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS transaction_summary (
+    user_id INTEGER NOT NULL,
+    category_id INTEGER NOT NULL,
+    month DATE NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    total DOUBLE PRECISION NOT NULL DEFAULT 0.0,
+    tx_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, category_id, month, type),
+    FOREIGN KEY (user_id) REFERENCES user_table (id) ON UPDATE CASCADE ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES category (id) ON UPDATE CASCADE ON DELETE CASCADE
+);
+
+INSERT INTO transaction_summary (user_id, category_id, month, type, total, tx_count)
+SELECT user_id, category_id, CAST(DATE_TRUNC('MONTH', time) AS DATE), type, SUM(amount), COUNT(*)
+FROM transaction
+GROUP BY user_id, category_id, CAST(DATE_TRUNC('MONTH', time) AS DATE), type
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS transaction_category_id_time_id_idx ON transaction (category_id, time, id);
@@ -0,0 +1,19 @@
+ALTER TABLE user_table ADD COLUMN balance_cents BIGINT;
+UPDATE user_table SET balance_cents = ROUND(balance * 100);
+ALTER TABLE user_table DROP COLUMN balance;
+ALTER TABLE user_table RENAME COLUMN balance_cents TO balance;
+ALTER TABLE user_table ALTER COLUMN balance SET DEFAULT 0;
+ALTER TABLE user_table ALTER COLUMN balance SET NOT NULL;
+
+ALTER TABLE transaction ADD COLUMN amount_cents BIGINT;
+UPDATE transaction SET amount_cents = ROUND(amount * 100);
+ALTER TABLE transaction DROP COLUMN amount;
+ALTER TABLE transaction RENAME COLUMN amount_cents TO amount;
+ALTER TABLE transaction ALTER COLUMN amount SET NOT NULL;
+
+ALTER TABLE transaction_summary ADD COLUMN total_cents BIGINT;
+UPDATE transaction_summary SET total_cents = ROUND(total * 100);
+ALTER TABLE transaction_summary DROP COLUMN total;
+ALTER TABLE transaction_summary RENAME COLUMN total_cents TO total;
+ALTER TABLE transaction_summary ALTER COLUMN total SET DEFAULT 0;
+ALTER TABLE transaction_summary ALTER COLUMN total SET NOT NULL;
@@ -0,0 +1,110 @@
+package com.expensetracker.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRoutingDataSourceTest {
+
+  private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary";
+  private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica";
+  private static final String UNREACHABLE_REPLICA_URL = "jdbc:postgresql://localhost:1/replica";
+
+  @AfterEach
+  void clearContext() {
+    ReadYourWritesContext.end();
+  }
+
+  @Test
+  void readOnlyTransactionsGoToTheReplicaUntilTheCallerWrites() {
+    DataSource dataSource = routingDataSource(pool(REPLICA_URL));
+
+    assertEquals(REPLICA_URL, connectedUrl(dataSource, true));
+    assertEquals(PRIMARY_URL, new JdbcTemplate(dataSource).execute(urlOfConnection()));
+    assertEquals(PRIMARY_URL, connectedUrl(dataSource, false));
+    assertEquals(PRIMARY_URL, connectedUrl(dataSource, true));
+
+    ReadYourWritesContext.end();
+    assertEquals(REPLICA_URL, connectedUrl(dataSource, true));
+  }
+
+  @Test
+  void readsFallBackToThePrimaryWhileTheReplicaIsDown() {
+    AtomicInteger replicaAttempts = new AtomicInteger();
+    DataSource replica = new DelegatingDataSource(pool(UNREACHABLE_REPLICA_URL)) {
+      @Override
+      public Connection getConnection() throws SQLException {
+        replicaAttempts.incrementAndGet();
+        return super.getConnection();
+      }
+    };
+    DataSource dataSource = routingDataSource(replica);
+
+    assertEquals(PRIMARY_URL, connectedUrl(dataSource, true));
+    assertEquals(PRIMARY_URL, connectedUrl(dataSource, true));
+    // the replica is not asked again until retry-after has passed
+    assertEquals(1, replicaAttempts.get());
+  }
+
+  @Test
+  void closingTheContextClosesBothPools() {
+    HikariDataSource primary = pool(PRIMARY_URL);
+    // the connection proxy reads its defaults from the primary while the context starts
+    primary.setConnectionTimeout(Duration.ofSeconds(5).toMillis());
+    AtomicReference<HikariDataSource> replica = new AtomicReference<>();
+
+    new ApplicationContextRunner()
+        .withUserConfiguration(ReplicaRoutingConfig.class)
+        .withBean("dataSource", DataSource.class, () -> primary)
+        .withPropertyValues(ReplicaRoutingConfig.PREFIX + ".url=" + REPLICA_URL, ReplicaRoutingConfig.PREFIX + ".username=sa")
+        .run(context -> {
+          replica.set(context.getBean("replicaDataSource", HikariDataSource.class));
+          assertEquals(REPLICA_URL, connectedUrl(context.getBean("dataSource", DataSource.class), true));
+        });
+
+    assertTrue(primary.isClosed());
+    assertTrue(replica.get().isClosed());
+  }
+
+  private DataSource routingDataSource(DataSource replica) {
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(pool(PRIMARY_URL), replica, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+  }
+
+  private HikariDataSource pool(String url) {
+    HikariDataSource pool = new HikariDataSource();
+    pool.setJdbcUrl(url);
+    pool.setUsername("sa");
+    pool.setConnectionTimeout(250);
+    pool.setInitializationFailTimeout(-1);
+    return pool;
+  }
+
+  private String connectedUrl(DataSource dataSource, boolean readOnly) {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    transactionTemplate.setReadOnly(readOnly);
+    return transactionTemplate.execute(status -> new JdbcTemplate(dataSource).execute(urlOfConnection()));
+  }
+
+  private ConnectionCallback<String> urlOfConnection() {
+    return connection -> connection.getMetaData().getURL();
+  }
+
+}
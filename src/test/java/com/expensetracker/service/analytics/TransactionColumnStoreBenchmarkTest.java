@@ -0,0 +1,196 @@
+package com.expensetracker.service.analytics;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.SpendingReportRepository;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.web.util.CategoryEntityProvider;
+import com.expensetracker.web.util.TransactionEntityProvider;
+import com.expensetracker.web.util.UserEntityProvider;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@SpringBootTest(properties = "expense-tracker.analytics.column-store.enabled=true")
+class TransactionColumnStoreBenchmarkTest {
+
+  private static final Date FROM = toDate(LocalDate.of(2000, 3, 1));
+  private static final Date TO = toDate(LocalDate.of(2000, 9, 1));
+
+  @Autowired
+  TransactionColumnStore transactionColumnStore;
+
+  @Autowired
+  TransactionService transactionService;
+
+  @Autowired
+  TransactionRepository transactionRepository;
+
+  @Autowired
+  SpendingReportRepository spendingReportRepository;
+
+  @Autowired
+  UserEntityProvider userEntityProvider;
+
+  @Autowired
+  CategoryEntityProvider categoryEntityProvider;
+
+  @Autowired
+  TransactionEntityProvider transactionEntityProvider;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Test
+  void columnsFollowTheWritePath() {
+    User user = userEntityProvider.insertUser();
+    Category groceries = categoryEntityProvider.insertCategory();
+    Category salary = categoryEntityProvider.insertCategory();
+    Transaction first = transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, groceries, TransactionType.DEBIT, 1_250, atNoon(LocalDate.of(2000, 1, 31))));
+    transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, salary, TransactionType.CREDIT, 300_000, atNoon(LocalDate.of(2000, 2, 1))));
+    assertAggregatesMatchTheDatabase(user);
+
+    // the columns are loaded by now, the writes below are applied to them
+    Transaction third = transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, groceries, TransactionType.DEBIT, 4_000, atNoon(LocalDate.of(2000, 1, 15))));
+    transactionService.createTransactions(List.of(
+        transactionEntityProvider.prepareTransactionModel(user, salary, TransactionType.DEBIT, 99, atNoon(LocalDate.of(2000, 4, 1))),
+        transactionEntityProvider.prepareTransactionModel(user, groceries, TransactionType.CREDIT, 10, atNoon(LocalDate.of(2000, 3, 31)))
+    ));
+    transactionService.updateTransactionById(first.getId(),
+        transactionEntityProvider.prepareTransactionModel(user, salary, TransactionType.CREDIT, 700, atNoon(LocalDate.of(2000, 5, 5))));
+    transactionService.deleteTransactionById(third.getId());
+
+    assertAggregatesMatchTheDatabase(user);
+    assertEquals(Money.ofCents(99), transactionColumnStore.sum(user.getId(), TransactionType.DEBIT, salary.getId(), FROM, TO));
+    assertEquals(Money.ofCents(710), transactionColumnStore.sum(user.getId(), TransactionType.CREDIT, null, FROM, TO));
+  }
+
+  @Test
+  void streamAndColumnAggregationAgree() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    Category otherCategory = categoryEntityProvider.insertCategory();
+    List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < TransactionColumnsBenchmark.ROWS; i++) {
+      transactions.add(transactionEntityProvider.prepareTransactionModel(
+          user,
+          i % 3 == 0 ? otherCategory : category,
+          i % 2 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT,
+          i + 1,
+          atNoon(LocalDate.of(2000, 1, 1).plusDays(i % 366))
+      ));
+    }
+    transactionService.createTransactions(transactions);
+
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+
+    // what a chart did before: load the entities and filter and group them with streams
+    Supplier<Money> streamSum = () -> transactionTemplate.execute(status ->
+        transactionRepository.findAllByUserId(user.getId()).stream()
+            .filter(transaction -> transaction.getType() == TransactionType.DEBIT)
+            .filter(transaction -> transaction.getCategory().getId().equals(category.getId()))
+            .filter(transaction -> !transaction.getTime().before(FROM) && transaction.getTime().before(TO))
+            .map(Transaction::getAmount)
+            .reduce(Money.ZERO, Money::plus));
+    Supplier<Money> columnSum = () ->
+        transactionColumnStore.sum(user.getId(), TransactionType.DEBIT, category.getId(), FROM, TO);
+
+    Supplier<Map<LocalDate, Long>> streamMonths = () -> transactionTemplate.execute(status ->
+        transactionRepository.findAllByUserId(user.getId()).stream()
+            .collect(Collectors.groupingBy(
+                transaction -> toLocalDate(transaction.getTime()).withDayOfMonth(1),
+                TreeMap::new,
+                Collectors.summingLong(Transaction::balanceDeltaCents))));
+    Supplier<Map<LocalDate, Long>> columnMonths = () ->
+        transactionColumnStore.aggregate(user.getId(), null, null, SpendingGrouping.MONTH).stream()
+            .collect(Collectors.toMap(
+                SpendingReportRow::getMonth,
+                row -> row.getCredit().minus(row.getDebit()).getCents(),
+                (left, right) -> left,
+                TreeMap::new));
+
+    assertEquals(streamSum.get(), columnSum.get());
+    assertEquals(streamMonths.get(), columnMonths.get());
+  }
+
+  @Test
+  @Tag("benchmark")
+  @SneakyThrows
+  void compareStreamAndColumnAggregation() {
+    Collection<RunResult> results = new Runner(new OptionsBuilder()
+        .include(TransactionColumnsBenchmark.class.getName())
+        .addProfiler(GCProfiler.class)
+        .shouldFailOnError(true)
+        .build())
+        .run();
+
+    assertEquals(4, results.size());
+    for (RunResult result : results) {
+      Result<?> time = result.getPrimaryResult();
+      Result<?> allocated = result.getSecondaryResults().get("gc.alloc.rate.norm");
+      String benchmark = result.getParams().getBenchmark();
+      log.info("{}: {} +- {} {}, {} B/op allocated per {} rows",
+          benchmark.substring(benchmark.lastIndexOf('.') + 1), format("%.1f", time.getScore()), format("%.1f", time.getScoreError()),
+          time.getScoreUnit(), Math.round(allocated.getScore()), TransactionColumnsBenchmark.ROWS);
+    }
+  }
+
+  private void assertAggregatesMatchTheDatabase(User user) {
+    for (SpendingGrouping grouping : SpendingGrouping.values()) {
+      assertEquals(
+          spendingReportRepository.findAllByUserId(user.getId(), toDate(LocalDate.of(1900, 1, 1)), toDate(LocalDate.of(9999, 1, 1)), grouping),
+          transactionColumnStore.aggregate(user.getId(), null, null, grouping));
+      assertEquals(
+          spendingReportRepository.findAllByUserId(user.getId(), FROM, TO, grouping),
+          transactionColumnStore.aggregate(user.getId(), FROM, TO, grouping));
+    }
+  }
+
+  private static Date atNoon(LocalDate day) {
+    return Date.from(day.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant());
+  }
+
+  private static Date toDate(LocalDate day) {
+    return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+  }
+
+  private static LocalDate toLocalDate(Date time) {
+    return time.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+  }
+
+}
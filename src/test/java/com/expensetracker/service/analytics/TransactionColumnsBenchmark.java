@@ -0,0 +1,146 @@
+package com.expensetracker.service.analytics;
+
+import com.expensetracker.ExpenseTrackerApplication;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.TransactionCursorRepository;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.web.util.CategoryEntityProvider;
+import com.expensetracker.web.util.TransactionEntityProvider;
+import com.expensetracker.web.util.UserEntityProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Filtered sums and monthly buckets over the 10k transactions of one user: loaded as entities and
+// filtered and grouped with streams, the way charts did it, against the columns of the store.
+// Run through TransactionColumnStoreBenchmarkTest. Every fork starts the application on its own database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class TransactionColumnsBenchmark {
+
+  static final int ROWS = 10_000;
+
+  private static final ZoneId ZONE = ZoneId.systemDefault();
+  private static final Date FROM = toDate(LocalDate.of(2000, 3, 1));
+  private static final Date TO = toDate(LocalDate.of(2000, 9, 1));
+
+  private ConfigurableApplicationContext context;
+  private TransactionRepository transactionRepository;
+  private TransactionTemplate readOnlyTemplate;
+  private TransactionColumns columns;
+  private Integer userId;
+  private Integer categoryId;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+        .run();
+    transactionRepository = context.getBean(TransactionRepository.class);
+    readOnlyTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnlyTemplate.setReadOnly(true);
+
+    User user = context.getBean(UserEntityProvider.class).insertUser();
+    CategoryEntityProvider categoryEntityProvider = context.getBean(CategoryEntityProvider.class);
+    Category category = categoryEntityProvider.insertCategory();
+    Category otherCategory = categoryEntityProvider.insertCategory();
+    userId = user.getId();
+    categoryId = category.getId();
+
+    TransactionEntityProvider transactionEntityProvider = context.getBean(TransactionEntityProvider.class);
+    List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < ROWS; i++) {
+      transactions.add(transactionEntityProvider.prepareTransactionModel(
+          user,
+          i % 3 == 0 ? otherCategory : category,
+          i % 2 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT,
+          i + 1,
+          atNoon(LocalDate.of(2000, 1, 1).plusDays(i % 366))
+      ));
+    }
+    context.getBean(TransactionService.class).createTransactions(transactions);
+
+    columns = new TransactionColumns(ZONE);
+    TransactionCursorRepository transactionCursorRepository = context.getBean(TransactionCursorRepository.class);
+    readOnlyTemplate.executeWithoutResult(status -> transactionCursorRepository.streamAllByUserId(userId, null, null,
+        transaction -> columns.append(TransactionRow.of(transaction))));
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Money streamSum() {
+    return readOnlyTemplate.execute(status -> transactionRepository.findAllByUserId(userId).stream()
+        .filter(transaction -> transaction.getType() == TransactionType.DEBIT)
+        .filter(transaction -> transaction.getCategory().getId().equals(categoryId))
+        .filter(transaction -> !transaction.getTime().before(FROM) && transaction.getTime().before(TO))
+        .map(Transaction::getAmount)
+        .reduce(Money.ZERO, Money::plus));
+  }
+
+  @Benchmark
+  public Money columnSum() {
+    return columns.sum(TransactionType.DEBIT, categoryId, FROM.getTime(), TO.getTime());
+  }
+
+  @Benchmark
+  public Map<LocalDate, Long> streamMonths() {
+    return readOnlyTemplate.execute(status -> transactionRepository.findAllByUserId(userId).stream()
+        .collect(Collectors.groupingBy(
+            transaction -> transaction.getTime().toInstant().atZone(ZONE).toLocalDate().withDayOfMonth(1),
+            TreeMap::new,
+            Collectors.summingLong(Transaction::balanceDeltaCents))));
+  }
+
+  @Benchmark
+  public List<SpendingReportRow> columnMonths() {
+    return columns.aggregate(Long.MIN_VALUE, Long.MAX_VALUE, SpendingGrouping.MONTH);
+  }
+
+  private static Date atNoon(LocalDate day) {
+    return Date.from(day.atTime(12, 0).atZone(ZONE).toInstant());
+  }
+
+  private static Date toDate(LocalDate day) {
+    return Date.from(day.atStartOfDay(ZONE).toInstant());
+  }
+
+}
@@ -0,0 +1,108 @@
+package com.expensetracker.service.idempotency;
+
+import com.expensetracker.repository.IdempotentRequestRepository;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class IdempotencyServiceTest {
+
+  private static final int THREADS = 16;
+
+  @Autowired
+  IdempotencyService idempotencyService;
+
+  @Autowired
+  IdempotentRequestRepository idempotentRequestRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Test
+  @SneakyThrows
+  void concurrentCallsWithOneKeyRunTheActionOnce() {
+    String key = "concurrent-" + System.nanoTime();
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<String>> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < THREADS; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return idempotencyService.execute(key, "request", String.class, () -> {
+            sleep(200);
+            return "response-" + executions.incrementAndGet();
+          });
+        }));
+      }
+      start.countDown();
+      for (Future<String> result : results) {
+        assertEquals("response-1", result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, executions.get());
+  }
+
+  @Test
+  void keyCommittedByAnotherInstanceIsReplayedFromTheDatabase() {
+    String key = "stored-" + System.nanoTime();
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      idempotentRequestRepository.insert(key, fingerprintOf("request"));
+      idempotentRequestRepository.updateResponse(key, "\"stored response\"");
+    });
+
+    String response = idempotencyService.execute(key, "request", String.class, () -> "new response");
+
+    assertEquals("stored response", response);
+  }
+
+  @Test
+  void actionThatLosesAWriteRaceIsRetriedInANewTransaction() {
+    String key = "conflict-" + System.nanoTime();
+    AtomicInteger attempts = new AtomicInteger();
+
+    String response = idempotencyService.execute(key, "request", String.class, () -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new OptimisticLockingFailureException("lost a race");
+      }
+      return "response";
+    });
+
+    assertEquals("response", response);
+    assertEquals(2, attempts.get());
+  }
+
+  // the fingerprint the service computes for the same request, taken from a throwaway key
+  private String fingerprintOf(Object request) {
+    String key = "fingerprint-" + System.nanoTime();
+    idempotencyService.execute(key, request, String.class, () -> "");
+    return idempotentRequestRepository.findByKey(key, new Date(0)).orElseThrow().getFingerprint();
+  }
+
+  @SneakyThrows
+  private void sleep(long millis) {
+    Thread.sleep(millis);
+  }
+
+}
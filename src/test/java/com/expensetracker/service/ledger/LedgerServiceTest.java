@@ -0,0 +1,116 @@
+package com.expensetracker.service.ledger;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.LedgerBalance;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.User;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.service.user.UserService;
+import com.expensetracker.web.util.CategoryEntityProvider;
+import com.expensetracker.web.util.TransactionEntityProvider;
+import com.expensetracker.web.util.UserEntityProvider;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "expense-tracker.ledger.snapshots.min-entries=2")
+class LedgerServiceTest {
+
+  @Autowired
+  LedgerService ledgerService;
+
+  @Autowired
+  TransactionService transactionService;
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  UserEntityProvider userEntityProvider;
+
+  @Autowired
+  CategoryEntityProvider categoryEntityProvider;
+
+  @Autowired
+  TransactionEntityProvider transactionEntityProvider;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Test
+  @SneakyThrows
+  void balanceAtAnyPointIsReplayedFromTheLatestSnapshot() {
+    Date beforeUser = pause();
+    User user = insertUser(Money.of(100.0));
+    User otherUser = insertUser(Money.ZERO);
+    Category category = categoryEntityProvider.insertCategory();
+
+    Transaction debit = transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.DEBIT, 3000, new Date()));
+    transactionService.createTransactions(List.of(
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.CREDIT, 550, new Date()),
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.DEBIT, 125, new Date())
+    ));
+    Date afterCreates = pause();
+    Money balanceAfterCreates = userService.getById(user.getId()).getBalance();
+
+    assertTrue(ledgerService.takeSnapshots() >= 1);
+    assertEquals(1, countSnapshots(user));
+
+    transactionService.updateTransactionById(debit.getId(),
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.DEBIT, 4000, new Date()));
+    transactionService.updateTransactionById(debit.getId(),
+        transactionEntityProvider.prepareTransactionModel(otherUser, category, TransactionType.DEBIT, 4000, new Date()));
+    Transaction credit = transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.CREDIT, 200, new Date()));
+    transactionService.deleteTransactionById(credit.getId());
+    userService.updateUserById(user.getId(), new User(null, user.getFullName(), user.getEmail(), Money.of(80.0)));
+
+    assertEquals(balanceAfterCreates, ledgerService.getBalanceAt(user.getId(), afterCreates).getBalance());
+    assertCurrentBalance(user);
+    assertCurrentBalance(otherUser);
+
+    LedgerBalance beforeCreation = ledgerService.getBalanceAt(user.getId(), beforeUser);
+    assertNull(beforeCreation.getSequenceNumber());
+    assertEquals(Money.ZERO, beforeCreation.getBalance());
+
+    ledgerService.takeSnapshots();
+    assertEquals(2, countSnapshots(user));
+    assertEquals(balanceAfterCreates, ledgerService.getBalanceAt(user.getId(), afterCreates).getBalance());
+    assertCurrentBalance(user);
+  }
+
+  private void assertCurrentBalance(User user) {
+    assertEquals(userService.getById(user.getId()).getBalance(), ledgerService.getBalanceAt(user.getId(), pause()).getBalance());
+  }
+
+  private int countSnapshots(User user) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balance_snapshot WHERE user_id = ?", Integer.class, user.getId());
+  }
+
+  // points in time are read from the database clock that records the entries, kept apart from the writes around them
+  @SneakyThrows
+  private Date pause() {
+    Thread.sleep(5);
+    Date now = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+    Thread.sleep(5);
+    return now;
+  }
+
+  private User insertUser(Money balance) {
+    return userService.createUser(userEntityProvider.prepareUserModel(balance));
+  }
+
+}
@@ -0,0 +1,122 @@
+package com.expensetracker.service.partition;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.User;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.web.util.CategoryEntityProvider;
+import com.expensetracker.web.util.UserEntityProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Only meaningful on PostgreSQL, where the V9 vendor migration partitions the transaction table.
+@SpringBootTest(properties = "expense-tracker.transactions.partitions.retention-months=24")
+class TransactionPartitionServiceTest {
+
+  @Autowired
+  TransactionPartitionService transactionPartitionService;
+
+  @Autowired
+  TransactionService transactionService;
+
+  @Autowired
+  UserEntityProvider userEntityProvider;
+
+  @Autowired
+  CategoryEntityProvider categoryEntityProvider;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void assumePartitioned() {
+    assumeTrue(transactionPartitionService.isPartitioned());
+  }
+
+  @Test
+  void maintainCreatesMonthsAheadAndMovesTheirRowsOutOfTheDefaultPartition() {
+    Transaction transaction = insertTransaction(LocalDateTime.of(1990, 5, 15, 12, 0));
+    assertEquals("transaction_default", partitionOf(transaction));
+    jdbcTemplate.update("UPDATE transaction SET version = 3 WHERE id = ?", transaction.getId());
+
+    PartitionMaintenanceResult result = transactionPartitionService.maintain(LocalDate.of(1990, 3, 10));
+
+    assertEquals(Arrays.asList("transaction_1990_03", "transaction_1990_04", "transaction_1990_05", "transaction_1990_06"),
+        result.getCreated());
+    assertEquals("transaction_1990_05", partitionOf(transaction));
+    // a moved row keeps its optimistic lock version
+    assertEquals(3, count("SELECT version FROM transaction WHERE id = ?", transaction.getId()));
+    assertTrue(transactionPartitionService.maintain(LocalDate.of(1990, 3, 10)).getCreated().isEmpty());
+
+    // a time-bounded query only touches the partition of its range
+    String plan = String.join("\n", jdbcTemplate.queryForList(
+        "EXPLAIN SELECT id FROM transaction WHERE time >= '1990-05-01' AND time < '1990-06-01'", String.class));
+    assertTrue(plan.contains("transaction_1990_05"));
+    assertFalse(plan.contains("transaction_1990_04"));
+    assertFalse(plan.contains("transaction_default"));
+  }
+
+  @Test
+  void maintainDetachesMonthsPastTheRetention() {
+    Transaction transaction = insertTransaction(LocalDateTime.of(1991, 2, 15, 12, 0));
+    transactionPartitionService.maintain(LocalDate.of(1991, 2, 1));
+
+    PartitionMaintenanceResult result = transactionPartitionService.maintain(LocalDate.now());
+
+    assertTrue(result.getDetached().contains("transaction_1991_02"));
+    assertTrue(result.getDropped().isEmpty());
+    assertEquals(0, count("SELECT count(*) FROM transaction WHERE id = ?", transaction.getId()));
+    assertEquals(1, count("SELECT count(*) FROM transaction_1991_02 WHERE id = ?", transaction.getId()));
+    assertFalse(partitionNames().contains("transaction_1991_02"));
+    assertTrue(partitionNames().contains("transaction_default"));
+
+    for (String detached : result.getDetached()) {
+      jdbcTemplate.execute("DROP TABLE " + detached);
+    }
+  }
+
+  private Transaction insertTransaction(LocalDateTime time) {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    return transactionService.createTransaction(new Transaction(
+        null,
+        User.builder().id(user.getId()).build(),
+        Category.builder().id(category.getId()).build(),
+        TransactionType.DEBIT,
+        Money.of(10.0),
+        Timestamp.valueOf(time)
+    ));
+  }
+
+  private String partitionOf(Transaction transaction) {
+    return jdbcTemplate.queryForObject(
+        "SELECT tableoid::regclass::text FROM transaction WHERE id = ?", String.class, transaction.getId());
+  }
+
+  private long count(String sql, Integer id) {
+    return jdbcTemplate.queryForObject(sql, Long.class, id);
+  }
+
+  private List<String> partitionNames() {
+    return jdbcTemplate.queryForList(
+        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'transaction'::regclass", String.class);
+  }
+
+}
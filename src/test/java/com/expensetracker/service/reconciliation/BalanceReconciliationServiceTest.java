@@ -0,0 +1,135 @@
+package com.expensetracker.service.reconciliation;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.ReconciliationRun;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.BalanceReconciliationRepository;
+import com.expensetracker.service.ledger.LedgerService;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.service.user.UserService;
+import com.expensetracker.web.util.CategoryEntityProvider;
+import com.expensetracker.web.util.TransactionEntityProvider;
+import com.expensetracker.web.util.UserEntityProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "expense-tracker.reconciliation.chunk-size=10",
+    "expense-tracker.reconciliation.repair=true"
+})
+class BalanceReconciliationServiceTest {
+
+  private static final long CORRUPTION_CENTS = 12_345;
+
+  @Autowired
+  BalanceReconciliationService balanceReconciliationService;
+
+  @Autowired
+  BalanceReconciliationRepository balanceReconciliationRepository;
+
+  @Autowired
+  TransactionService transactionService;
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  LedgerService ledgerService;
+
+  @Autowired
+  UserEntityProvider userEntityProvider;
+
+  @Autowired
+  CategoryEntityProvider categoryEntityProvider;
+
+  @Autowired
+  TransactionEntityProvider transactionEntityProvider;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void finishInterruptedRuns() {
+    jdbcTemplate.update("UPDATE balance_reconciliation_run SET finished_at = CURRENT_TIMESTAMP WHERE finished_at IS NULL");
+  }
+
+  @Test
+  void reconcileRepairsBalancesThatDisagreeWithTheTransactions() {
+    User user = insertUserWithTransactions();
+    User untouchedUser = insertUserWithTransactions();
+    Money expectedBalance = readBalance(user);
+    Money untouchedBalance = readBalance(untouchedUser);
+    corruptBalance(user);
+    double repairedBefore = meterRegistry.counter("balance.reconciliation.users", "result", "repaired").count();
+
+    BalanceReconciliationResult result = balanceReconciliationService.reconcile();
+
+    assertTrue(result.getChecked() >= 2);
+    assertTrue(result.getRepaired() >= 1);
+    assertTrue(meterRegistry.counter("balance.reconciliation.users", "result", "repaired").count() >= repairedBefore + 1);
+    assertEquals(1.0, meterRegistry.get("balance.reconciliation.progress").gauge().value());
+    assertEquals(expectedBalance, readBalance(user));
+    assertEquals(untouchedBalance, readBalance(untouchedUser));
+    assertEquals(expectedBalance, ledgerService.getBalanceAt(user.getId(), new Date()).getBalance());
+  }
+
+  @Test
+  void reconcileResumesAnInterruptedRun() {
+    User user = insertUserWithTransactions();
+    Money expectedBalance = readBalance(user);
+    corruptBalance(user);
+
+    // a run that stopped after the chunk of the user
+    ReconciliationRun interruptedRun = balanceReconciliationRepository.insertRun(user.getId(), 10);
+    balanceReconciliationRepository.insertChunk(interruptedRun.getId(), user.getId() / 10 * 10, 10, 0, 0);
+
+    BalanceReconciliationResult resumed = balanceReconciliationService.reconcile();
+
+    assertEquals(interruptedRun.getId(), resumed.getRunId());
+    assertEquals(expectedBalance.plus(Money.ofCents(CORRUPTION_CENTS)), readBalance(user));
+
+    BalanceReconciliationResult next = balanceReconciliationService.reconcile();
+
+    assertTrue(next.getRunId() > interruptedRun.getId());
+    assertEquals(expectedBalance, readBalance(user));
+  }
+
+  // bypasses the user cache, which does not see the corruption
+  private Money readBalance(User user) {
+    return Money.ofCents(jdbcTemplate.queryForObject("SELECT balance FROM user_table WHERE id = ?", Long.class, user.getId()));
+  }
+
+  private void corruptBalance(User user) {
+    jdbcTemplate.update("UPDATE user_table SET balance = balance + ? WHERE id = ?", CORRUPTION_CENTS, user.getId());
+  }
+
+  private User insertUserWithTransactions() {
+    User user = userService.createUser(userEntityProvider.prepareUserModel(Money.of(50.0)));
+    Category category = categoryEntityProvider.insertCategory();
+
+    transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.DEBIT, 2000, new Date()));
+    Transaction credit = transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.CREDIT, 750, new Date()));
+    transactionService.updateTransactionById(credit.getId(),
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.CREDIT, 900, new Date()));
+    userService.updateUserById(user.getId(), new User(null, user.getFullName(), user.getEmail(), Money.of(100.0)));
+    return user;
+  }
+
+}
@@ -0,0 +1,198 @@
+package com.expensetracker.service.report;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.model.SpendingReportRow;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.User;
+import com.expensetracker.service.analytics.TransactionColumnStore;
+import com.expensetracker.service.cache.CacheRegistry;
+import com.expensetracker.service.transaction.TransactionService;
+import com.expensetracker.service.user.UserService;
+import com.expensetracker.web.util.CategoryEntityProvider;
+import com.expensetracker.web.util.TransactionEntityProvider;
+import com.expensetracker.web.util.UserEntityProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+class SpendingReportServiceTest {
+
+  private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+  private static final LocalDate TO = LocalDate.of(2000, 12, 31);
+
+  @Autowired
+  SpendingReportService spendingReportService;
+
+  @Autowired
+  TransactionService transactionService;
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  UserEntityProvider userEntityProvider;
+
+  @Autowired
+  CategoryEntityProvider categoryEntityProvider;
+
+  @Autowired
+  TransactionEntityProvider transactionEntityProvider;
+
+  @Test
+  void getReportIsCachedUntilATransactionInItsRangeChanges() {
+    User user = userService.createUser(userEntityProvider.prepareUserModel(Money.ZERO));
+    Category category = categoryEntityProvider.insertCategory();
+    Transaction inRange = transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.DEBIT, 1000, atNoon(LocalDate.of(2000, 3, 15))));
+
+    List<SpendingReportRow> report = spendingReportService.getReport(user.getId(), FROM, TO, SpendingGrouping.CATEGORY);
+
+    assertEquals(List.of(new SpendingReportRow(category.getId(), null, null, Money.of(10.0), Money.ZERO, 1L)), report);
+    assertSame(report, spendingReportService.getReport(user.getId(), FROM, TO, SpendingGrouping.CATEGORY));
+
+    transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.DEBIT, 500, atNoon(LocalDate.of(2001, 1, 1))));
+
+    assertSame(report, spendingReportService.getReport(user.getId(), FROM, TO, SpendingGrouping.CATEGORY));
+
+    transactionService.updateTransactionById(inRange.getId(),
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.DEBIT, 1250, atNoon(LocalDate.of(2000, 12, 31))));
+    List<SpendingReportRow> refreshed = spendingReportService.getReport(user.getId(), FROM, TO, SpendingGrouping.CATEGORY);
+
+    assertNotSame(report, refreshed);
+    assertEquals(List.of(new SpendingReportRow(category.getId(), null, null, Money.of(12.5), Money.ZERO, 1L)), refreshed);
+  }
+
+  @Test
+  void reportQueriedBeforeAWriteIsNotCached() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    AtomicLong debitCents = new AtomicLong(1_000);
+    AtomicReference<Runnable> afterQuery = new AtomicReference<>(() -> {});
+    SpendingReportService service = prepareService(new CacheRegistry(), debitCents, afterQuery);
+
+    // the write lands once the query has read the old rows, before the report is stored
+    afterQuery.set(() -> {
+      afterQuery.set(() -> {});
+      debitCents.set(2_000);
+      service.transactionsChanged(List.of(transactionEntityProvider.prepareTransactionModel(
+          user, category, TransactionType.DEBIT, 1000, atNoon(LocalDate.of(2000, 3, 15)))));
+    });
+
+    assertEquals(prepareReport(1_000), service.getReport(user.getId(), FROM, TO, SpendingGrouping.CATEGORY));
+    assertEquals(prepareReport(2_000), service.getReport(user.getId(), FROM, TO, SpendingGrouping.CATEGORY));
+  }
+
+  @Test
+  @SneakyThrows
+  void writeWaitsForAReportBeingStoredAndThenEvictsIt() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    Transaction transaction = transactionEntityProvider.prepareTransactionModel(
+        user, category, TransactionType.DEBIT, 1000, atNoon(LocalDate.of(2000, 3, 15)));
+    AtomicLong debitCents = new AtomicLong(1_000);
+    AtomicBoolean queried = new AtomicBoolean();
+    CacheRegistry cacheRegistry = new CacheRegistry();
+    SpendingReportService service = prepareService(cacheRegistry, debitCents, new AtomicReference<>(() -> queried.set(true)));
+    service.getReport(user.getId(), FROM, TO, SpendingGrouping.CATEGORY);
+    service.transactionsChanged(List.of(transaction));
+    queried.set(false);
+
+    FutureTask<List<SpendingReportRow>> read = new FutureTask<>(
+        () -> service.getReport(user.getId(), FROM, TO, SpendingGrouping.CATEGORY));
+    FutureTask<Void> write = new FutureTask<>(() -> service.transactionsChanged(List.of(transaction)), null);
+    Thread reader = new Thread(read);
+    Thread writer = new Thread(write);
+
+    @SuppressWarnings("unchecked")
+    Cache<Integer, Object> reportsByUserId = (Cache<Integer, Object>) cacheRegistry.getCaches().get("spending-reports");
+
+    // holds the user's entry the way the reader's store does, once the reader has read the old rows
+    reportsByUserId.asMap().computeIfPresent(user.getId(), (id, userReports) -> {
+      reader.start();
+      awaitBlocked(reader, queried);
+      debitCents.set(2_000);
+      writer.start();
+      awaitBlocked(writer, new AtomicBoolean(true));
+      assertFalse(write.isDone());
+      return userReports;
+    });
+
+    assertEquals(prepareReport(1_000), read.get());
+    write.get();
+    assertEquals(prepareReport(2_000), service.getReport(user.getId(), FROM, TO, SpendingGrouping.CATEGORY));
+  }
+
+  private void awaitBlocked(Thread thread, AtomicBoolean ready) {
+    while (!ready.get() || thread.getState() != Thread.State.BLOCKED && thread.getState() != Thread.State.TERMINATED) {
+      Thread.onSpinWait();
+    }
+  }
+
+  private SpendingReportService prepareService(CacheRegistry cacheRegistry, AtomicLong debitCents,
+                                              AtomicReference<Runnable> afterQuery) {
+    TransactionColumnStore transactionColumnStore = new TransactionColumnStore() {
+      @Override
+      public boolean isEnabled() {
+        return true;
+      }
+
+      @Override
+      public Money sum(Integer userId, TransactionType type, Integer categoryId, Date from, Date to) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public List<SpendingReportRow> aggregate(Integer userId, Date from, Date to, SpendingGrouping grouping) {
+        List<SpendingReportRow> report = prepareReport(debitCents.get());
+        afterQuery.get().run();
+        return report;
+      }
+
+      @Override
+      public void transactionsSaved(Collection<Transaction> transactions) {
+      }
+
+      @Override
+      public void transactionsDeleted(Collection<Transaction> transactions) {
+      }
+
+      @Override
+      public void evictAll() {
+      }
+    };
+    return new SpendingReportServiceImpl(null, transactionColumnStore, userService, cacheRegistry,
+        10, 32, Duration.ofMinutes(10));
+  }
+
+  private List<SpendingReportRow> prepareReport(long debitCents) {
+    return List.of(new SpendingReportRow(1, null, null, Money.ofCents(debitCents), Money.ZERO, 1L));
+  }
+
+  private static Date atNoon(LocalDate day) {
+    return Date.from(day.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant());
+  }
+
+}
@@ -0,0 +1,94 @@
+package com.expensetracker.service.transaction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Generates two million rows, so it runs with the benchmarks (mvn test -Pbenchmark). The generated
+// rows are rolled back, together with the statistics of the ANALYZE.
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class TransactionSearchPlanTest {
+
+  private static final int ROWS = 2_000_000;
+  private static final int USERS = 1_000;
+  private static final int CATEGORIES = 50;
+
+  // the statements TransactionSearchRepository builds for these filters
+  private static final String SEARCH =
+      "SELECT id, user_id, category_id, type, amount, time FROM transaction WHERE %s ORDER BY time, id LIMIT 50";
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Test
+  void searchesOnGeneratedDatasetAreIndexDriven() {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      status.setRollbackOnly();
+      generateTransactions();
+      Integer userId = jdbcTemplate.queryForObject(
+          "SELECT MIN(id) FROM user_table WHERE full_name LIKE 'plan-user-%'", Integer.class);
+      Integer categoryId = jdbcTemplate.queryForObject(
+          "SELECT MIN(id) FROM category WHERE name LIKE 'plan-category-%'", Integer.class);
+
+      assertPlanUses("transaction_user_id_time_id_idx", "user_id = " + userId);
+      assertPlanUses("transaction_category_id_time_id_idx", "category_id = " + categoryId);
+      // a page of a time range is read in index order, a range with a selective filter through the BRIN index
+      assertPlanUses("transaction_time_id_idx", "time >= '1970-03-01' AND time < '1970-03-02'");
+      assertPlanUses("transaction_time_brin_idx", "time >= '1970-03-01' AND time < '1970-04-01' AND amount >= 99990");
+    });
+  }
+
+  private void generateTransactions() {
+    long startedAt = System.nanoTime();
+    jdbcTemplate.update("INSERT INTO user_table (full_name, email) " +
+        "SELECT 'plan-user-' || i, 'plan-user-' || i || '-email' FROM generate_series(1, ?) i", USERS);
+    jdbcTemplate.update("INSERT INTO category (name) " +
+        "SELECT 'plan-category-' || i FROM generate_series(1, ?) i", CATEGORIES);
+    // in time order, two a minute from 1970 on, so all of them land in the default partition
+    jdbcTemplate.update("INSERT INTO transaction (user_id, category_id, type, time, amount) " +
+        "SELECT (ARRAY(SELECT id FROM user_table WHERE full_name LIKE 'plan-user-%' ORDER BY id))[1 + i % ?], " +
+        "       (ARRAY(SELECT id FROM category WHERE name LIKE 'plan-category-%' ORDER BY id))[1 + i % ?], " +
+        "       CASE WHEN i % 3 = 0 THEN 'CREDIT' ELSE 'DEBIT' END, " +
+        "       TIMESTAMP '1970-01-01' + i * INTERVAL '30 seconds', " +
+        "       1 + i % 100000 " +
+        "FROM generate_series(1, ?) i", USERS, CATEGORIES, ROWS);
+    jdbcTemplate.execute("ANALYZE transaction");
+    log.info("Generated {} transactions in {} ms", ROWS, (System.nanoTime() - startedAt) / 1_000_000);
+  }
+
+  private void assertPlanUses(String index, String where) {
+    String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + format(SEARCH, where), String.class));
+    log.info("Plan of the search where {}:\n{}", where, plan);
+
+    assertTrue(indexAndItsPartitions(index).stream().anyMatch(name -> plan.contains(" " + name + " ")),
+        format("expected %s in the plan", index));
+    assertFalse(plan.contains("Seq Scan on transaction"));
+  }
+
+  // a partitioned index shows up in plans under the names of the indexes of the partitions
+  private List<String> indexAndItsPartitions(String index) {
+    List<String> names = new ArrayList<>(jdbcTemplate.queryForList(
+        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)",
+        String.class, index));
+    names.add(index);
+    return names;
+  }
+
+}
@@ -0,0 +1,184 @@
+package com.expensetracker.service.transaction;
+
+import com.expensetracker.config.ConflictRetryTemplate;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.web.util.CategoryEntityProvider;
+import com.expensetracker.web.util.TransactionEntityProvider;
+import com.expensetracker.web.util.UserEntityProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest
+class TransactionServiceConcurrencyTest {
+
+  private static final int THREADS = 8;
+  private static final int TRANSACTIONS_PER_THREAD = 50;
+  private static final int UPDATES_PER_THREAD = 10;
+  private static final long CREDIT_CENTS = 150;
+  private static final long DEBIT_CENTS = 50;
+
+  @Autowired
+  TransactionService transactionService;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  UserEntityProvider userEntityProvider;
+
+  @Autowired
+  CategoryEntityProvider categoryEntityProvider;
+
+  @Autowired
+  TransactionEntityProvider transactionEntityProvider;
+
+  @Autowired
+  TransactionRepository transactionRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  EntityManager entityManager;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Test
+  void concurrentTransactionsForHotUserKeepBalanceConsistent() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+
+    long elapsedNanos = runConcurrently(type -> transactionService.createTransaction(prepareTransaction(user, category, type)));
+    logThroughput("atomic balance update", elapsedNanos);
+
+    assertEquals(expectedBalance(), userRepository.findById(user.getId()).orElseThrow().getBalance());
+  }
+
+  @Test
+  void concurrentTransactionsForHotUserWithEntityLock() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    // the locking read-modify-write alternative, kept as a throughput baseline
+    long elapsedNanos = runConcurrently(type -> transactionTemplate.executeWithoutResult(status -> {
+      Transaction transaction = prepareTransaction(user, category, type);
+      User lockedUser = entityManager.find(User.class, user.getId(), LockModeType.PESSIMISTIC_WRITE);
+      lockedUser.setBalance(lockedUser.getBalance().plus(transaction.balanceDelta()));
+      transactionRepository.save(transaction);
+    }));
+    logThroughput("entity lock", elapsedNanos);
+
+    assertEquals(expectedBalance(), userRepository.findById(user.getId()).orElseThrow().getBalance());
+  }
+
+  @Test
+  void concurrentUpdatesOfOneTransactionKeepBalanceConsistent() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    Transaction transaction = transactionService.createTransaction(prepareTransaction(user, category, TransactionType.CREDIT));
+    AtomicInteger amountCents = new AtomicInteger();
+    AtomicInteger exhausted = new AtomicInteger();
+
+    // every update computes its balance delta from the row it read, a stale read has to fail and retry
+    runConcurrently(UPDATES_PER_THREAD, type -> {
+      Transaction update = prepareTransaction(user, category, type);
+      update.setAmount(Money.ofCents(amountCents.incrementAndGet()));
+      try {
+        transactionService.updateTransactionById(transaction.getId(), update);
+      } catch (ConcurrencyFailureException ex) {
+        exhausted.incrementAndGet();
+      }
+    });
+
+    Transaction updatedTransaction = transactionRepository.findById(transaction.getId()).orElseThrow();
+    double conflicts = meterRegistry.find(ConflictRetryTemplate.WRITE_CONFLICTS)
+        .tag("method", "updateTransactionById")
+        .counters().stream()
+        .mapToDouble(Counter::count)
+        .sum();
+    log.info("optimistic update: {} conflicts, {} updates gave up", (long) conflicts, exhausted.get());
+
+    assertEquals(updatedTransaction.balanceDelta(), userRepository.findById(user.getId()).orElseThrow().getBalance());
+    assertTrue(conflicts >= exhausted.get());
+  }
+
+  private long runConcurrently(Consumer<TransactionType> operation) {
+    return runConcurrently(TRANSACTIONS_PER_THREAD, operation);
+  }
+
+  @SneakyThrows
+  private long runConcurrently(int operationsPerThread, Consumer<TransactionType> operation) {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+
+    for (int i = 0; i < THREADS; i++) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int j = 0; j < operationsPerThread; j++) {
+          operation.accept(j % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT);
+        }
+        return null;
+      }));
+    }
+
+    long startedAt = System.nanoTime();
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    long elapsedNanos = System.nanoTime() - startedAt;
+
+    executor.shutdown();
+    return elapsedNanos;
+  }
+
+  private void logThroughput(String mode, long elapsedNanos) {
+    int operations = THREADS * TRANSACTIONS_PER_THREAD;
+    log.info("{}: {} transactions for one user in {} ms ({} tx/s)",
+        mode, operations, elapsedNanos / 1_000_000, (long) (operations * 1e9 / elapsedNanos));
+  }
+
+  private Money expectedBalance() {
+    int transactionsPerType = THREADS * TRANSACTIONS_PER_THREAD / 2;
+    return Money.ofCents(transactionsPerType * (CREDIT_CENTS - DEBIT_CENTS));
+  }
+
+  private Transaction prepareTransaction(User user, Category category, TransactionType type) {
+    return transactionEntityProvider.prepareTransactionModel(
+        user, category, type, type == TransactionType.CREDIT ? CREDIT_CENTS : DEBIT_CENTS, new Date());
+  }
+
+}
@@ -0,0 +1,187 @@
+package com.expensetracker.service.transaction;
+
+import com.expensetracker.exception.EntityNotFoundException;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Money;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.service.idempotency.IdempotencyService;
+import com.expensetracker.web.util.CategoryEntityProvider;
+import com.expensetracker.web.util.TransactionEntityProvider;
+import com.expensetracker.web.util.UserEntityProvider;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(properties = "expense-tracker.transactions.lanes.enabled=true")
+class TransactionWriteLanesBenchmarkTest {
+
+  private static final int OPERATIONS = 512;
+  private static final int[] CLIENTS = {1, 8, 64};
+  private static final long CREDIT_CENTS = 150;
+  private static final long DEBIT_CENTS = 50;
+
+  @Autowired
+  TransactionService transactionService;
+
+  @Autowired
+  TransactionServiceImpl directTransactionService;
+
+  @Autowired
+  IdempotencyService idempotencyService;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  UserEntityProvider userEntityProvider;
+
+  @Autowired
+  CategoryEntityProvider categoryEntityProvider;
+
+  @Autowired
+  TransactionEntityProvider transactionEntityProvider;
+
+  @Autowired
+  TransactionRepository transactionRepository;
+
+  @Test
+  void everyClientGetsItsOwnTransactionBack() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+    runConcurrently(8, 64, type -> {
+      Transaction transaction = transactionService.createTransaction(prepareTransaction(user, category, type));
+      assertEquals(user.getId(), transaction.getUser().getId());
+      ids.add(transaction.getId());
+    });
+
+    assertEquals(64, ids.size());
+    ids.forEach(id -> assertEquals(user.getId(), transactionRepository.findById(id).orElseThrow().getUser().getId()));
+    assertEquals(expectedBalance(64), userRepository.findById(user.getId()).orElseThrow().getBalance());
+  }
+
+  @Test
+  void rejectedTransactionFailsOnlyItsOwnCaller() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    Category missingCategory = Category.builder().id(Integer.MAX_VALUE).build();
+
+    runConcurrently(8, 64, type -> {
+      if (type == TransactionType.DEBIT) {
+        Transaction transaction = prepareTransaction(user, category, type);
+        transaction.setCategory(missingCategory);
+        assertThrows(EntityNotFoundException.class, () -> transactionService.createTransaction(transaction));
+      } else {
+        transactionService.createTransaction(prepareTransaction(user, category, type));
+      }
+    });
+
+    assertEquals(Money.ofCents(32 * CREDIT_CENTS), userRepository.findById(user.getId()).orElseThrow().getBalance());
+  }
+
+  @Test
+  void idempotentCreateCommitsWithItsKeyInsteadOfInALane() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    List<Transaction> created = new ArrayList<>();
+
+    assertThrows(IllegalStateException.class, () -> idempotencyService.execute("lanes-" + System.nanoTime(), "request",
+        String.class, () -> {
+          created.add(transactionService.createTransaction(prepareTransaction(user, category, TransactionType.CREDIT)));
+          throw new IllegalStateException("the response could not be stored");
+        }));
+
+    assertFalse(transactionRepository.existsById(created.get(0).getId()));
+    assertEquals(Money.ZERO, userRepository.findById(user.getId()).orElseThrow().getBalance());
+  }
+
+  @Test
+  @Tag("benchmark")
+  void compareDirectAndLaneWritesForHotUser() {
+    Category category = categoryEntityProvider.insertCategory();
+    long directThroughput = 0;
+    long lanesThroughput = 0;
+    for (int clients : CLIENTS) {
+      directThroughput = measure("direct", clients, category, directTransactionService::createTransaction);
+      lanesThroughput = measure("lanes", clients, category, transactionService::createTransaction);
+    }
+
+    // with the most clients the direct writes queue up on the user row lock, the lanes batch them
+    assertTrue(lanesThroughput > 2 * directThroughput,
+        String.format("lanes: %d tx/s, direct: %d tx/s", lanesThroughput, directThroughput));
+  }
+
+  private long measure(String mode, int clients, Category category, Consumer<Transaction> create) {
+    User user = userEntityProvider.insertUser();
+    long elapsedNanos = runConcurrently(clients, OPERATIONS, type -> create.accept(prepareTransaction(user, category, type)));
+    long throughput = (long) (OPERATIONS * 1e9 / elapsedNanos);
+    log.info("{} with {} clients: {} transactions for one user in {} ms ({} tx/s)",
+        mode, clients, OPERATIONS, elapsedNanos / 1_000_000, throughput);
+
+    assertEquals(expectedBalance(OPERATIONS), userRepository.findById(user.getId()).orElseThrow().getBalance());
+    return throughput;
+  }
+
+  @SneakyThrows
+  private long runConcurrently(int clients, int operations, Consumer<TransactionType> operation) {
+    assertTrue(operations % clients == 0);
+    ExecutorService executor = Executors.newFixedThreadPool(clients);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+
+    for (int i = 0; i < clients; i++) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int j = 0; j < operations / clients; j++) {
+          operation.accept(j % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT);
+        }
+        return null;
+      }));
+    }
+
+    long startedAt = System.nanoTime();
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    long elapsedNanos = System.nanoTime() - startedAt;
+
+    executor.shutdown();
+    return elapsedNanos;
+  }
+
+  private Money expectedBalance(int operations) {
+    return Money.ofCents(operations / 2 * (CREDIT_CENTS - DEBIT_CENTS));
+  }
+
+  private Transaction prepareTransaction(User user, Category category, TransactionType type) {
+    return transactionEntityProvider.prepareTransactionModel(
+        user, category, type, type == TransactionType.CREDIT ? CREDIT_CENTS : DEBIT_CENTS, new Date());
+  }
+
+}
@@ -0,0 +1,109 @@
+package com.expensetracker.service.transaction;
+
+import com.expensetracker.exception.EntityNotFoundException;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.model.User;
+import com.expensetracker.web.util.CategoryEntityProvider;
+import com.expensetracker.web.util.TransactionEntityProvider;
+import com.expensetracker.web.util.UserEntityProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.expensetracker.service.transaction.TransactionWriteStatementsTest$RecordingStatementInspector")
+class TransactionWriteStatementsTest {
+
+  private static final Pattern SELECT = Pattern.compile("^select\\b.*");
+  private static final Pattern TRANSACTION_INSERT = Pattern.compile("^insert into transaction \\(.*");
+  private static final Pattern BALANCE_UPDATE = Pattern.compile("^update user_table set balance.*");
+
+  @Autowired
+  TransactionService transactionService;
+
+  @Autowired
+  UserEntityProvider userEntityProvider;
+
+  @Autowired
+  CategoryEntityProvider categoryEntityProvider;
+
+  @Autowired
+  TransactionEntityProvider transactionEntityProvider;
+
+  @BeforeEach
+  void clearRecordedStatements() {
+    RecordingStatementInspector.STATEMENTS.clear();
+  }
+
+  @Test
+  void createTransactionIssuesOneInsertAndOneBalanceUpdate() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    RecordingStatementInspector.STATEMENTS.clear();
+
+    transactionService.createTransaction(
+        transactionEntityProvider.prepareTransactionModel(user, category, TransactionType.DEBIT, 1_000, new Date()));
+
+    assertEquals(0, countStatements(SELECT));
+    assertEquals(1, countStatements(TRANSACTION_INSERT));
+    assertEquals(1, countStatements(BALANCE_UPDATE));
+  }
+
+  @Test
+  void createTransactionForNotExistingCategory_ThrowsEntityNotFound() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    int notExistingCategoryId = category.getId() + 1;
+    Transaction transaction = transactionEntityProvider.prepareTransactionModel(
+        user, Category.builder().id(notExistingCategoryId).build(), TransactionType.DEBIT, 1_000, new Date());
+
+    EntityNotFoundException ex = assertThrows(EntityNotFoundException.class,
+        () -> transactionService.createTransaction(transaction));
+
+    assertEquals(String.format("Category with id='%s' not found", notExistingCategoryId), ex.getMessage());
+  }
+
+  @Test
+  void createTransactionForNotExistingUser_ThrowsEntityNotFound() {
+    User user = userEntityProvider.insertUser();
+    Category category = categoryEntityProvider.insertCategory();
+    int notExistingUserId = user.getId() + 1;
+    Transaction transaction = transactionEntityProvider.prepareTransactionModel(
+        User.builder().id(notExistingUserId).build(), category, TransactionType.DEBIT, 1_000, new Date());
+
+    EntityNotFoundException ex = assertThrows(EntityNotFoundException.class,
+        () -> transactionService.createTransaction(transaction));
+
+    assertEquals(String.format("User with id='%s' not found", notExistingUserId), ex.getMessage());
+  }
+
+  private long countStatements(Pattern pattern) {
+    return RecordingStatementInspector.STATEMENTS.stream()
+        .filter(sql -> pattern.matcher(sql.toLowerCase()).matches())
+        .count();
+  }
+
+  public static class RecordingStatementInspector implements StatementInspector {
+
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql);
+      return sql;
+    }
+  }
+
+}
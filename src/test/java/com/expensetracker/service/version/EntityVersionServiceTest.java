@@ -0,0 +1,65 @@
+package com.expensetracker.service.version;
+
+import com.expensetracker.model.Money;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.EntityVersionRepository;
+import com.expensetracker.service.user.UserService;
+import com.expensetracker.web.util.UserEntityProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest
+class EntityVersionServiceTest {
+
+  @Autowired
+  EntityVersionService entityVersionService;
+
+  @Autowired
+  EntityVersionRepository entityVersionRepository;
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  UserEntityProvider userEntityProvider;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Test
+  void usersVersionChangesOnceABalanceChangeCommits() {
+    User user = userEntityProvider.insertUser();
+    String version = entityVersionService.getUsersVersion();
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      userService.changeBalance(user.getId(), Money.of(10.0));
+      status.setRollbackOnly();
+    });
+    assertEquals(version, entityVersionService.getUsersVersion());
+
+    userService.changeBalance(user.getId(), Money.of(10.0));
+    assertNotEquals(version, entityVersionService.getUsersVersion());
+  }
+
+  @Test
+  void transactionChangingSeveralBalancesIsCountedOnce() {
+    User user = userEntityProvider.insertUser();
+    User otherUser = userEntityProvider.insertUser();
+    long balanceVersions = entityVersionRepository.sumBalanceVersions();
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      userService.changeBalance(user.getId(), Money.of(10.0));
+      userService.changeBalance(otherUser.getId(), Money.of(-10.0));
+      userService.changeBalance(user.getId(), Money.of(5.0));
+    });
+
+    assertEquals(balanceVersions + 1, entityVersionRepository.sumBalanceVersions());
+  }
+
+}
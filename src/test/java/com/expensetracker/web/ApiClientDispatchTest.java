@@ -0,0 +1,143 @@
+package com.expensetracker.web;
+
+import com.expensetracker.model.SpendingGrouping;
+import com.expensetracker.service.HttpService;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.dto.UserDto;
+import com.expensetracker.web.thymeleaf.client.ApiClient;
+import com.expensetracker.web.thymeleaf.client.HttpApiClient;
+import com.expensetracker.web.thymeleaf.client.InProcessApiClient;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+class ApiClientDispatchTest extends AbstractBaseControllerTest {
+
+  private static final int WARMUP_ITERATIONS = 20;
+  private static final int MEASURED_ITERATIONS = 100;
+
+  @Autowired
+  ApiClient apiClient;
+
+  @Autowired
+  ServerProperties serverProperties;
+
+  @Autowired
+  HttpService<Object> httpService;
+
+  private ApiClient prepareHttpApiClient() {
+    return new HttpApiClient(serverProperties, httpService, "");
+  }
+
+  @Test
+  void inProcessDispatchIsTheDefault() {
+    assertTrue(apiClient instanceof InProcessApiClient);
+  }
+
+  @Test
+  @SneakyThrows
+  void inProcessAndHttpDispatchReturnTheSameData() {
+    UserDto userDto = insertUser();
+    insertTransactionForDefiniteUser(userDto, "debit");
+    insertTransactionForDefiniteUser(userDto, "credit");
+    ApiClient httpApiClient = prepareHttpApiClient();
+
+    assertEquals(httpApiClient.getUser(userDto.getId()), apiClient.getUser(userDto.getId()));
+    assertEquals(httpApiClient.getTransactionsByUserId(userDto.getId()), apiClient.getTransactionsByUserId(userDto.getId()));
+    assertEquals(httpApiClient.getSummariesByUserId(userDto.getId()), apiClient.getSummariesByUserId(userDto.getId()));
+    assertEquals(httpApiClient.getSpendingReportByUserId(userDto.getId(), SpendingGrouping.CATEGORY),
+        apiClient.getSpendingReportByUserId(userDto.getId(), SpendingGrouping.CATEGORY));
+    assertEquals(httpApiClient.getCategories(), apiClient.getCategories());
+  }
+
+  @Test
+  @SneakyThrows
+  void renderUserTransactionsPage() {
+    UserDto userDto = insertUser();
+    TransactionDto insertedTransaction = insertTransactionForDefiniteUser(userDto, "debit");
+
+    mockMvc.perform(get("/web/users/{id}/transactions", userDto.getId()))
+        .andExpect(status().isOk())
+        .andExpect(model().attribute("totalDebit", insertedTransaction.getAmount()))
+        .andExpect(model().attribute("totalCredit", 0.0));
+  }
+
+  @Test
+  @Tag("benchmark")
+  void compareMainPageDataLatency() {
+    UserDto userDto = insertUser();
+    for (int i = 0; i < 10; i++) {
+      insertTransactionForDefiniteUser(userDto, i % 2 == 0 ? "debit" : "credit");
+    }
+    ApiClient httpApiClient = prepareHttpApiClient();
+
+    // the data each page needs: the dashboard counts and one user's transaction page
+    Consumer<ApiClient> renderPages = client -> {
+      client.getStats();
+      client.getSummariesByUserId(userDto.getId());
+      client.getTransactionsByUserId(userDto.getId());
+    };
+
+    // on the PostgreSQL 13.3 test database: about 50 ms per page set over HTTP against 8.5 ms in-process
+    long httpNanos = measure(httpApiClient, renderPages);
+    long inProcessNanos = measure(apiClient, renderPages);
+
+    log.info("web dispatch: http {} us/page set, in-process {} us/page set",
+        httpNanos / MEASURED_ITERATIONS / 1000, inProcessNanos / MEASURED_ITERATIONS / 1000);
+  }
+
+  @Test
+  void compareSequentialAndParallelHttpFanOut() {
+    UserDto userDto = insertUser();
+    for (int i = 0; i < 10; i++) {
+      insertTransactionForDefiniteUser(userDto, i % 2 == 0 ? "debit" : "credit");
+    }
+    ApiClient httpApiClient = prepareHttpApiClient();
+
+    // the calls behind the user transactions page, one after another and fanned out
+    Consumer<ApiClient> sequential = client -> {
+      client.getSummariesByUserId(userDto.getId());
+      client.getTransactionsByUserId(userDto.getId());
+    };
+    Consumer<ApiClient> parallel = client -> CompletableFuture.allOf(
+        client.getSummariesByUserIdAsync(userDto.getId()),
+        client.getTransactionsByUserIdAsync(userDto.getId())
+    ).join();
+
+    long sequentialNanos = measure(httpApiClient, sequential);
+    long parallelNanos = measure(httpApiClient, parallel);
+
+    log.info("http fan-out: sequential {} us/page, parallel {} us/page",
+        sequentialNanos / MEASURED_ITERATIONS / 1000, parallelNanos / MEASURED_ITERATIONS / 1000);
+    assertEquals(httpApiClient.getTransactionsByUserId(userDto.getId()),
+        httpApiClient.getTransactionsByUserIdAsync(userDto.getId()).join());
+  }
+
+  private long measure(ApiClient client, Consumer<ApiClient> operation) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      operation.accept(client);
+    }
+
+    long startedAt = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      operation.accept(client);
+    }
+    return System.nanoTime() - startedAt;
+  }
+
+}
@@ -0,0 +1,75 @@
+package com.expensetracker.web;
+
+import com.expensetracker.web.dto.CacheStatsDto;
+import com.expensetracker.web.dto.CategoryDto;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.dto.UserDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CacheControllerTest extends AbstractBaseControllerTest {
+
+  @Test
+  @SneakyThrows
+  void createTransactionBatchesWithWarmCategoryAndUserCaches() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    mockMvc.perform(get("/categories/{id}", categoryDto.getId()))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/users/{id}", userDto.getId()))
+        .andExpect(status().isOk());
+
+    CacheStatsDto categoriesBefore = getCacheStats("existing-category-ids");
+    CacheStatsDto usersBefore = getCacheStats("existing-user-ids");
+
+    int insertedTransactionsAmount = 3;
+    List<TransactionDto> transactionDtos = new ArrayList<>();
+    for (int i = 0; i < insertedTransactionsAmount; i++) {
+      transactionDtos.add(transactionEntityProvider.prepareTransactionDto(userDto, categoryDto, "debit"));
+    }
+
+    for (TransactionDto transactionDto : transactionDtos) {
+      mockMvc.perform(post("/transactions/batch")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(serialize(List.of(transactionDto))))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.created").value(1));
+    }
+
+    CacheStatsDto categoriesAfter = getCacheStats("existing-category-ids");
+    CacheStatsDto usersAfter = getCacheStats("existing-user-ids");
+
+    assertEquals(categoriesBefore.getHitCount() + insertedTransactionsAmount, categoriesAfter.getHitCount());
+    assertEquals(categoriesBefore.getMissCount(), categoriesAfter.getMissCount());
+    assertEquals(usersBefore.getHitCount() + insertedTransactionsAmount, usersAfter.getHitCount());
+    assertEquals(usersBefore.getMissCount(), usersAfter.getMissCount());
+  }
+
+  @SneakyThrows
+  private CacheStatsDto getCacheStats(String name) {
+    MvcResult mvcResult = mockMvc.perform(get("/cache/stats"))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    String responseBody = mvcResult.getResponse().getContentAsString();
+    List<CacheStatsDto> cacheStats = objectMapper.readValue(responseBody, new TypeReference<>() {});
+
+    return cacheStats.stream()
+        .filter(stats -> stats.getName().equals(name))
+        .findFirst()
+        .orElseThrow();
+  }
+
+}
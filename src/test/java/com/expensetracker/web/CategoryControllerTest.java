@@ -10,11 +10,14 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +42,25 @@ class CategoryControllerTest extends AbstractBaseControllerTest {
     assertTrue(categoryDtos.size() >= insertedCategoriesAmount);
   }
 
+  @Test
+  @SneakyThrows
+  void getAllCategoriesWithCurrentEtag_ReturnsNotModified() {
+    insertCategory();
+    String etag = mockMvc.perform(get("/categories"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/categories").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    insertCategory();
+
+    mockMvc.perform(get("/categories").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", not(etag)));
+  }
+
   @Test
   @SneakyThrows
   void getCategoryById() {
@@ -65,6 +87,39 @@ class CategoryControllerTest extends AbstractBaseControllerTest {
         .andExpect(jsonPath("$.message").value(expectedErrorMessage));
   }
 
+  @Test
+  @SneakyThrows
+  void getCategoryByName() {
+    CategoryDto insertedCategory = insertCategory();
+
+    mockMvc.perform(get("/categories/name/{name}", insertedCategory.getName()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(insertedCategory.getId()))
+        .andExpect(jsonPath("$.name").value(insertedCategory.getName()));
+  }
+
+  @Test
+  @SneakyThrows
+  void getCategoryByNameAfterRename() {
+    CategoryDto insertedCategory = insertCategory();
+    CategoryDto updatedCategory = categoryEntityProvider.prepareCategoryDto();
+
+    mockMvc.perform(get("/categories/name/{name}", insertedCategory.getName()))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(put("/categories/{id}", insertedCategory.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(updatedCategory)))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/categories/name/{name}", insertedCategory.getName()))
+        .andExpect(status().isNotFound());
+
+    mockMvc.perform(get("/categories/{id}", insertedCategory.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value(updatedCategory.getName()));
+  }
+
   @Test
   @SneakyThrows
   void createCategory() {
@@ -2,12 +2,21 @@ package com.expensetracker.web;
 
 import com.expensetracker.service.HttpService;
 import com.expensetracker.web.dto.CategoryDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
 class HttpServiceTest extends AbstractBaseControllerTest {
@@ -17,6 +26,9 @@ class HttpServiceTest extends AbstractBaseControllerTest {
   @Autowired
   HttpService<Object> httpService;
 
+  @Autowired
+  MeterRegistry meterRegistry;
+
   @Test
   @SneakyThrows
   void getCategoryById() {
@@ -27,6 +39,36 @@ class HttpServiceTest extends AbstractBaseControllerTest {
     assertEquals(insertedCategory, queriedCategory);
   }
 
+  @Test
+  @SneakyThrows
+  void getCategoriesAsync() {
+    CategoryDto firstCategory = insertCategory();
+    CategoryDto secondCategory = insertCategory();
+
+    CompletableFuture<CategoryDto> first = httpService.getAsync(CATEGORY_URI + "/" + firstCategory.getId(), CategoryDto.class);
+    CompletableFuture<List<CategoryDto>> all = httpService.getAsync(CATEGORY_URI, new TypeReference<>() {});
+
+    assertEquals(firstCategory, first.get(5, TimeUnit.SECONDS));
+    assertTrue(all.get(5, TimeUnit.SECONDS).containsAll(List.of(firstCategory, secondCategory)));
+  }
+
+  @Test
+  @SneakyThrows
+  void getCategoriesRevalidatesWithEtag() {
+    insertCategory();
+    List<CategoryDto> categories = httpService.get(CATEGORY_URI, new TypeReference<>() {});
+    long notModified = notModifiedResponses("/categories");
+
+    assertEquals(categories, httpService.get(CATEGORY_URI, new TypeReference<List<CategoryDto>>() {}));
+    assertEquals(notModified + 1, notModifiedResponses("/categories"));
+
+    CategoryDto insertedCategory = insertCategory();
+    List<CategoryDto> changedCategories = httpService.get(CATEGORY_URI, new TypeReference<>() {});
+
+    assertTrue(changedCategories.contains(insertedCategory));
+    assertEquals(notModified + 1, notModifiedResponses("/categories"));
+  }
+
   @Test
   @SneakyThrows
   void createCategory() {
@@ -62,4 +104,9 @@ class HttpServiceTest extends AbstractBaseControllerTest {
     httpService.delete(CATEGORY_URI + "/" + insertedCategory.getId());
   }
 
+  private long notModifiedResponses(String uri) {
+    Timer timer = meterRegistry.find("http.server.requests").tag("uri", uri).tag("status", "304").timer();
+    return isNull(timer) ? 0 : timer.count();
+  }
+
 }
@@ -0,0 +1,38 @@
+package com.expensetracker.web;
+
+import com.expensetracker.web.dto.UserDto;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMetrics
+class MetricsEndpointTest extends AbstractBaseControllerTest {
+
+  @Test
+  @SneakyThrows
+  void scrapeHotPathMetrics() {
+    UserDto userDto = insertUser();
+    insertTransactionForDefiniteUser(userDto, "debit");
+    mockMvc.perform(get("/transactions/user/{id}", userDto.getId()))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString(
+            "service_invocations_seconds_bucket{class=\"TransactionServiceImpl\",exception=\"none\",method=\"createTransaction\"")))
+        .andExpect(content().string(containsString(
+            "service_invocations_seconds_max{class=\"TransactionServiceImpl\",exception=\"none\",method=\"streamAllByUserId\"")))
+        .andExpect(content().string(containsString(
+            "repository_invocations_seconds_count{class=\"TransactionCursorRepository\",exception=\"none\",method=\"streamAllByUserId\"")))
+        .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+        .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+        .andExpect(content().string(containsString("hikaricp_connections_pending{")))
+        .andExpect(content().string(containsString("hibernate_statements_total{")));
+  }
+
+}
@@ -0,0 +1,120 @@
+package com.expensetracker.web;
+
+import com.expensetracker.config.datasource.ReadYourWritesFilter;
+import com.expensetracker.web.dto.CategoryDto;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.dto.UserDto;
+import lombok.SneakyThrows;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.servlet.http.Cookie;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The replica is a second, empty in-memory database that never receives the primary's writes,
+// so a read that is served by it cannot see what was just written.
+@TestPropertySource(properties = {
+    "expense-tracker.datasource.replica.url=" + ReplicaRoutingControllerTest.REPLICA_URL,
+    "expense-tracker.datasource.replica.username=sa",
+    "expense-tracker.datasource.replica.sticky-for=1m"
+})
+class ReplicaRoutingControllerTest extends AbstractBaseControllerTest {
+
+  static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+  @BeforeAll
+  static void migrateReplica() {
+    Flyway.configure()
+        .dataSource(REPLICA_URL, "sa", "")
+        .locations("classpath:db/migration")
+        .load()
+        .migrate();
+  }
+
+  @Test
+  @SneakyThrows
+  void readAfterWriteIsServedByThePrimaryOnlyForTheWritingClient() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    TransactionDto transactionDto = transactionEntityProvider.prepareTransactionDto(userDto, categoryDto, "debit");
+
+    MvcResult mvcResult = mockMvc.perform(post("/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(transactionDto)))
+        .andExpect(status().isCreated())
+        .andReturn();
+    Cookie cookie = mvcResult.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    assertNotNull(cookie);
+    Integer transactionId = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TransactionDto.class).getId();
+
+    mockMvc.perform(get("/transactions/{id}", transactionId).cookie(cookie))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/transactions/{id}", transactionId))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @SneakyThrows
+  void cachedUserLoadedByAnotherClientIncludesTheWrite() {
+    UserDto userDto = insertUser();
+    copyToReplica(userDto);
+    UserDto updatedUserDto = new UserDto(null, userDto.getFullName() + "-updated", userDto.getEmail(), userDto.getBalance());
+
+    MvcResult mvcResult = mockMvc.perform(put("/users/{id}", userDto.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(updatedUserDto)))
+        .andExpect(status().isOk())
+        .andReturn();
+    Cookie cookie = mvcResult.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    assertNotNull(cookie);
+
+    mockMvc.perform(get("/users/{id}", userDto.getId()))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/users/{id}", userDto.getId()).cookie(cookie))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.fullName").value(updatedUserDto.getFullName()));
+  }
+
+  @Test
+  @SneakyThrows
+  void cachedReportLoadedByAnotherClientIncludesTheWrite() {
+    UserDto userDto = insertUser();
+    copyToReplica(userDto);
+    CategoryDto categoryDto = insertCategory();
+    TransactionDto transactionDto = transactionEntityProvider.prepareTransactionDto(userDto, categoryDto, "debit");
+
+    MvcResult mvcResult = mockMvc.perform(post("/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(transactionDto)))
+        .andExpect(status().isCreated())
+        .andReturn();
+    Cookie cookie = mvcResult.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    assertNotNull(cookie);
+
+    mockMvc.perform(get("/reports/spending").param("userId", userDto.getId().toString()).param("groupBy", "type"))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/reports/spending").param("userId", userDto.getId().toString()).param("groupBy", "type").cookie(cookie))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].count").value(1));
+  }
+
+  // the replica knows the user as it was before the writes of a test
+  private void copyToReplica(UserDto userDto) {
+    new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "")).update(
+        "INSERT INTO user_table (id, full_name, email, balance) VALUES (?, ?, ?, ?)",
+        userDto.getId(), userDto.getFullName(), userDto.getEmail(), Math.round(userDto.getBalance() * 100));
+  }
+
+}
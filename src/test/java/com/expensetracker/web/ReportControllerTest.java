@@ -0,0 +1,133 @@
+package com.expensetracker.web;
+
+import com.expensetracker.exception.ErrorCode;
+import com.expensetracker.model.Money;
+import com.expensetracker.web.dto.CategoryDto;
+import com.expensetracker.web.dto.SpendingReportRowDto;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.dto.UserDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReportControllerTest extends AbstractBaseControllerTest {
+
+  @Test
+  @SneakyThrows
+  void getSpendingReportGroupedByCategory() {
+    UserDto userDto = insertUser();
+    CategoryDto groceries = insertCategory();
+    CategoryDto salary = insertCategory();
+    TransactionDto firstDebit = insertTransactionForDefiniteUserAndCategory(userDto, groceries, "debit");
+    TransactionDto secondDebit = insertTransactionForDefiniteUserAndCategory(userDto, groceries, "debit");
+    TransactionDto credit = insertTransactionForDefiniteUserAndCategory(userDto, salary, "credit");
+
+    List<SpendingReportRowDto> expected = List.of(
+        new SpendingReportRowDto(groceries.getId(), null, null, sum(firstDebit, secondDebit), 0.0, 2L),
+        new SpendingReportRowDto(salary.getId(), null, null, 0.0, sum(credit), 1L)
+    );
+
+    assertEquals(expected, getReport(get("/reports/spending").param("userId", String.valueOf(userDto.getId()))));
+    assertEquals(expected, getReport(get("/reports/spending")
+        .param("userId", String.valueOf(userDto.getId()))
+        .param("groupBy", "category")));
+  }
+
+  @Test
+  @SneakyThrows
+  void getSpendingReportGroupedByTypeAndMonth() {
+    UserDto userDto = insertUser();
+    TransactionDto debit = insertTransactionForDefiniteUser(userDto, "debit");
+    TransactionDto credit = insertTransactionForDefiniteUser(userDto, "credit");
+    LocalDate today = LocalDate.now();
+
+    assertEquals(
+        List.of(
+            new SpendingReportRowDto(null, null, "credit", 0.0, sum(credit), 1L),
+            new SpendingReportRowDto(null, null, "debit", sum(debit), 0.0, 1L)
+        ),
+        getReport(get("/reports/spending")
+            .param("userId", String.valueOf(userDto.getId()))
+            .param("groupBy", "type")));
+
+    assertEquals(
+        List.of(new SpendingReportRowDto(null, today.withDayOfMonth(1), null, sum(debit), sum(credit), 2L)),
+        getReport(get("/reports/spending")
+            .param("userId", String.valueOf(userDto.getId()))
+            .param("from", today.toString())
+            .param("to", today.toString())
+            .param("groupBy", "month")));
+
+    assertEquals(List.of(), getReport(get("/reports/spending")
+        .param("userId", String.valueOf(userDto.getId()))
+        .param("to", today.minusDays(1).toString())));
+  }
+
+  @Test
+  @SneakyThrows
+  void getSpendingReportAfterWriteInRange_ReturnsFreshReport() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    TransactionDto firstDebit = insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "debit");
+    MockHttpServletRequestBuilder request = get("/reports/spending").param("userId", String.valueOf(userDto.getId()));
+
+    assertEquals(List.of(new SpendingReportRowDto(categoryDto.getId(), null, null, sum(firstDebit), 0.0, 1L)),
+        getReport(request));
+
+    TransactionDto secondDebit = insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "debit");
+
+    assertEquals(List.of(new SpendingReportRowDto(categoryDto.getId(), null, null, sum(firstDebit, secondDebit), 0.0, 2L)),
+        getReport(request));
+  }
+
+  @Test
+  @SneakyThrows
+  void getSpendingReportWithUnsupportedGrouping_ReturnsErrorResponse() {
+    UserDto userDto = insertUser();
+
+    mockMvc.perform(get("/reports/spending")
+            .param("userId", String.valueOf(userDto.getId()))
+            .param("groupBy", "weekday"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_PARAMS.getCode()))
+        .andExpect(jsonPath("$.message").value("Received unsupported report grouping [weekday]"));
+  }
+
+  @Test
+  @SneakyThrows
+  void getSpendingReportForNotExistingUser_ReturnsErrorResponse() {
+    UserDto userDto = insertUser();
+    int notExistingUserId = userDto.getId() + 1;
+
+    mockMvc.perform(get("/reports/spending").param("userId", String.valueOf(notExistingUserId)))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.code").value(ErrorCode.ENTITY_NOT_FOUND.getCode()))
+        .andExpect(jsonPath("$.message").value(String.format("User with id='%s' not found", notExistingUserId)));
+  }
+
+  @SneakyThrows
+  private List<SpendingReportRowDto> getReport(MockHttpServletRequestBuilder request) {
+    String responseBody = mockMvc.perform(request)
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return objectMapper.readValue(responseBody, new TypeReference<>() {});
+  }
+
+  private Double sum(TransactionDto... transactions) {
+    return Stream.of(transactions)
+        .map(transaction -> Money.of(transaction.getAmount()))
+        .reduce(Money.ZERO, Money::plus)
+        .toDouble();
+  }
+
+}
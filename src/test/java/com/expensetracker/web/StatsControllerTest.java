@@ -0,0 +1,53 @@
+package com.expensetracker.web;
+
+import com.expensetracker.web.dto.StatsDto;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StatsControllerTest extends AbstractBaseControllerTest {
+
+  @Test
+  @SneakyThrows
+  void getStats() {
+    StatsDto statsBefore = getCurrentStats();
+
+    insertCategory();
+    insertTransaction("debit");
+
+    StatsDto statsAfter = getCurrentStats();
+
+    assertEquals(statsBefore.getCategories() + 2, statsAfter.getCategories());
+    assertEquals(statsBefore.getUsers() + 1, statsAfter.getUsers());
+    assertEquals(statsBefore.getTransactions() + 1, statsAfter.getTransactions());
+  }
+
+  @Test
+  @SneakyThrows
+  void renderDashboardFromStats() {
+    insertTransaction("credit");
+    StatsDto stats = getCurrentStats();
+
+    mockMvc.perform(get("/web"))
+        .andExpect(status().isOk())
+        .andExpect(model().attribute("categoriesAmount", stats.getCategories()))
+        .andExpect(model().attribute("usersAmount", stats.getUsers()))
+        .andExpect(model().attribute("transactionsAmount", stats.getTransactions()));
+  }
+
+  @SneakyThrows
+  private StatsDto getCurrentStats() {
+    MvcResult mvcResult = mockMvc.perform(get("/stats"))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    String responseBody = mvcResult.getResponse().getContentAsString();
+    return objectMapper.readValue(responseBody, StatsDto.class);
+  }
+
+}
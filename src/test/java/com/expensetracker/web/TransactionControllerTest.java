@@ -12,13 +12,17 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -86,6 +90,142 @@ class TransactionControllerTest extends AbstractBaseControllerTest {
     assertBalanceEquals(insertedUser.getBalance(), expectedUserBalance);
   }
 
+  @Test
+  @SneakyThrows
+  void getTransactionsByUserIdWithCurrentEtag_ReturnsNotModified() {
+    UserDto userDto = insertUser();
+    TransactionDto insertedTransaction = insertTransactionForDefiniteUser(userDto, "debit");
+    String etag = mockMvc.perform(get("/transactions/user/{id}", userDto.getId()))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/transactions/user/{id}", userDto.getId()).header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+    mockMvc.perform(get("/transactions/user/{id}", userDto.getId()).param("limit", "10").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    // another user's writes do not touch this user's version
+    insertTransaction("credit");
+    mockMvc.perform(get("/transactions/user/{id}", userDto.getId()).header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    mockMvc.perform(delete("/transactions/{id}", insertedTransaction.getId()))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/transactions/user/{id}", userDto.getId()).header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(content().json("[]"));
+  }
+
+  @Test
+  @SneakyThrows
+  void getTransactionsPage() {
+    UserDto userDto = insertUser();
+    int insertedTransactionsAmount = 3;
+
+    for (int i = 0; i < insertedTransactionsAmount; i++) {
+      insertTransactionForDefiniteUser(userDto, "debit");
+    }
+
+    MvcResult mvcResult = mockMvc.perform(get("/transactions/user/{id}", userDto.getId())
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(TransactionController.NEXT_AFTER_HEADER))
+        .andReturn();
+
+    String responseBody = mvcResult.getResponse().getContentAsString();
+    List<TransactionDto> firstPage = objectMapper.readValue(responseBody, new TypeReference<>() {});
+    String nextAfter = mvcResult.getResponse().getHeader(TransactionController.NEXT_AFTER_HEADER);
+
+    assertEquals(2, firstPage.size());
+    assertEquals(String.valueOf(firstPage.get(1).getId()), nextAfter);
+
+    mvcResult = mockMvc.perform(get("/transactions/user/{id}", userDto.getId())
+            .param("after", nextAfter)
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(TransactionController.NEXT_AFTER_HEADER))
+        .andReturn();
+
+    responseBody = mvcResult.getResponse().getContentAsString();
+    List<TransactionDto> secondPage = objectMapper.readValue(responseBody, new TypeReference<>() {});
+
+    assertEquals(1, secondPage.size());
+    assertTrue(firstPage.stream().noneMatch(transaction -> transaction.getId().equals(secondPage.get(0).getId())));
+  }
+
+  @Test
+  @SneakyThrows
+  void searchTransactions() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    TransactionDto firstDebit = insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "debit");
+    TransactionDto secondDebit = insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "debit");
+    insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "credit");
+    insertTransactionForDefiniteUser(userDto, "debit");
+
+    MvcResult mvcResult = mockMvc.perform(get("/transactions/search")
+            .param("userId", userDto.getId().toString())
+            .param("categoryId", categoryDto.getId().toString())
+            .param("type", "debit")
+            .param("from", "2000-01-01T00:00:00.000Z")
+            .param("minAmount", "0"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(TransactionController.NEXT_AFTER_HEADER))
+        .andReturn();
+
+    String responseBody = mvcResult.getResponse().getContentAsString();
+    List<TransactionDto> transactionDtos = objectMapper.readValue(responseBody, new TypeReference<>() {});
+
+    assertEquals(List.of(firstDebit.getId(), secondDebit.getId()),
+        transactionDtos.stream().map(TransactionDto::getId).collect(Collectors.toList()));
+  }
+
+  @Test
+  @SneakyThrows
+  void searchTransactionsByAmountRange() {
+    UserDto userDto = insertUser();
+    TransactionDto insertedTransaction = insertTransactionForDefiniteUser(userDto, "credit");
+
+    mockMvc.perform(get("/transactions/search")
+            .param("userId", userDto.getId().toString())
+            .param("minAmount", insertedTransaction.getAmount().toString())
+            .param("maxAmount", insertedTransaction.getAmount().toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].id").value(insertedTransaction.getId()));
+
+    mockMvc.perform(get("/transactions/search")
+            .param("userId", userDto.getId().toString())
+            .param("to", "2000-01-01T00:00:00.000Z"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+  }
+
+  @Test
+  @SneakyThrows
+  void getTransactionsPageWithNotPositiveLimit_ReturnsErrorResponse() {
+    mockMvc.perform(get("/transactions").param("limit", "0"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_PARAMS.getCode()));
+  }
+
+  @Test
+  @SneakyThrows
+  void getTransactionsPageAfterNotExistingTransaction_ReturnsErrorResponse() {
+    TransactionDto insertedTransaction = insertTransaction("debit");
+    int notExistingTransactionId = insertedTransaction.getId() + 1;
+
+    String expectedErrorCode = ErrorCode.ENTITY_NOT_FOUND.getCode();
+    String expectedErrorMessage = String.format("Transaction with id='%s' not found", notExistingTransactionId);
+
+    mockMvc.perform(get("/transactions").param("after", String.valueOf(notExistingTransactionId)))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.code").value(expectedErrorCode))
+        .andExpect(jsonPath("$.message").value(expectedErrorMessage));
+  }
+
   @Test
   @SneakyThrows
   void getAllTransactionsByNotExistingUserId_ReturnsErrorResponse() {
@@ -191,6 +331,123 @@ class TransactionControllerTest extends AbstractBaseControllerTest {
     assertBalanceEquals(insertedUser.getBalance(), expectedUserBalance);
   }
 
+  @Test
+  @SneakyThrows
+  void createTransactionWithFractionOfCent_ReturnsErrorResponse() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    TransactionDto transactionDto = new TransactionDto(null, userDto.getId(), categoryDto.getId(), "debit", 0.001, null);
+
+    mockMvc.perform(post("/transactions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(transactionDto)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_PARAMS.getCode()));
+
+    mockMvc.perform(get("/users/{id}", userDto.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value(userDto.getBalance()));
+  }
+
+  @Test
+  @SneakyThrows
+  void createTransactionWithRepeatedIdempotencyKey_CreatesItOnce() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    TransactionDto transactionDto = transactionEntityProvider.prepareTransactionDto(userDto, categoryDto, "debit");
+    String idempotencyKey = "create-" + System.nanoTime();
+
+    String firstResponse = mockMvc.perform(post("/transactions")
+            .header(TransactionController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(transactionDto)))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+    String retriedResponse = mockMvc.perform(post("/transactions")
+            .header(TransactionController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(transactionDto)))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+
+    assertEquals(firstResponse, retriedResponse);
+    mockMvc.perform(get("/transactions/user/{id}", userDto.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1));
+    String userResponse = mockMvc.perform(get("/users/{id}", userDto.getId()))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    assertBalanceEquals(userDto.getBalance() - transactionDto.getAmount(),
+        objectMapper.readValue(userResponse, UserDto.class).getBalance());
+  }
+
+  @Test
+  @SneakyThrows
+  void createTransactionWithIdempotencyKeyOfAnotherRequest_ReturnsErrorResponse() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    String idempotencyKey = "reused-" + System.nanoTime();
+
+    mockMvc.perform(post("/transactions")
+            .header(TransactionController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(transactionEntityProvider.prepareTransactionDto(userDto, categoryDto, "debit"))))
+        .andExpect(status().isCreated());
+
+    mockMvc.perform(post("/transactions")
+            .header(TransactionController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(transactionEntityProvider.prepareTransactionDto(userDto, categoryDto, "credit"))))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.code").value(ErrorCode.IDEMPOTENCY_KEY_CONFLICT.getCode()))
+        .andExpect(jsonPath("$.message").value(
+            String.format("Idempotency key='%s' was already used for a different request", idempotencyKey)));
+  }
+
+  @Test
+  @SneakyThrows
+  void createTransactionsBatch() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    TransactionDto debitTransaction = transactionEntityProvider.prepareTransactionDto(userDto, categoryDto, "debit");
+    TransactionDto creditTransaction = transactionEntityProvider.prepareTransactionDto(userDto, categoryDto, "credit");
+    TransactionDto notExistingCategoryTransaction = new TransactionDto(
+        null, userDto.getId(), categoryDto.getId() + 1, "debit", 10.0, null
+    );
+
+    String batch = "[" + String.join(",",
+        serialize(debitTransaction),
+        serialize(notExistingCategoryTransaction),
+        "{\"userId\":" + userDto.getId() + ",\"categoryId\":" + categoryDto.getId() + ",\"type\":\"incorrect\",\"amount\":1.0}",
+        "{\"userId\":" + userDto.getId() + ",\"categoryId\":" + categoryDto.getId() + ",\"type\":\"debit\",\"amount\":-1.0}",
+        serialize(creditTransaction)
+    ) + "]";
+
+    mockMvc.perform(post("/transactions/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(batch))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created").value(2))
+        .andExpect(jsonPath("$.errors.length()").value(3))
+        .andExpect(jsonPath("$.errors[0].index").value(1))
+        .andExpect(jsonPath("$.errors[0].code").value(ErrorCode.ENTITY_NOT_FOUND.getCode()))
+        .andExpect(jsonPath("$.errors[1].index").value(2))
+        .andExpect(jsonPath("$.errors[1].code").value(ErrorCode.UNSUPPORTED_TRANSACTION_TYPE.getCode()))
+        .andExpect(jsonPath("$.errors[2].index").value(3))
+        .andExpect(jsonPath("$.errors[2].code").value(ErrorCode.INVALID_PARAMS.getCode()));
+
+    Double expectedUserBalance = userDto.getBalance() - debitTransaction.getAmount() + creditTransaction.getAmount();
+
+    MvcResult mvcResult = mockMvc.perform(get("/users/{id}", userDto.getId()))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    String responseBody = mvcResult.getResponse().getContentAsString();
+    UserDto insertedUser = objectMapper.readValue(responseBody, new TypeReference<>() {});
+
+    assertBalanceEquals(insertedUser.getBalance(), expectedUserBalance);
+  }
+
   @Test
   @SneakyThrows
   void createDebitAndThenCreditTransactionForDefiniteUser() {
@@ -0,0 +1,113 @@
+package com.expensetracker.web;
+
+import com.expensetracker.exception.ErrorCode;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.dto.UserDto;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TransactionExportControllerTest extends AbstractBaseControllerTest {
+
+  @Test
+  @SneakyThrows
+  void exportTransactionsAsCsv() {
+    UserDto userDto = insertUser();
+    TransactionDto firstTransaction = insertTransactionForDefiniteUser(userDto, "debit");
+    TransactionDto secondTransaction = insertTransactionForDefiniteUser(userDto, "credit");
+
+    MvcResult mvcResult = mockMvc.perform(get("/users/{id}/transactions/export", userDto.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Disposition",
+            "attachment; filename=\"transactions-" + userDto.getId() + ".csv\""))
+        .andReturn();
+
+    List<String> lines = mvcResult.getResponse().getContentAsString().lines().collect(Collectors.toList());
+
+    assertEquals(List.of("id,userId,categoryId,type,amount,time", toCsv(firstTransaction), toCsv(secondTransaction)),
+        lines);
+  }
+
+  @Test
+  @SneakyThrows
+  void exportTransactionsAsGzippedNdjson() {
+    UserDto userDto = insertUser();
+    TransactionDto insertedTransaction = insertTransactionForDefiniteUser(userDto, "debit");
+
+    MvcResult mvcResult = mockMvc.perform(get("/users/{id}/transactions/export", userDto.getId())
+            .param("format", "ndjson")
+            .param("gzip", "true"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/gzip"))
+        .andReturn();
+
+    byte[] compressed = mvcResult.getResponse().getContentAsByteArray();
+    String content = new String(new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes(), UTF_8);
+    List<String> lines = content.lines().collect(Collectors.toList());
+
+    assertEquals(1, lines.size());
+    assertEquals(insertedTransaction, objectMapper.readValue(lines.get(0), TransactionDto.class));
+  }
+
+  @Test
+  @SneakyThrows
+  void exportTransactionsWithinTimeRange() {
+    UserDto userDto = insertUser();
+    insertTransactionForDefiniteUser(userDto, "debit");
+
+    MvcResult mvcResult = mockMvc.perform(get("/users/{id}/transactions/export", userDto.getId())
+            .param("to", "2000-01-01T00:00:00.000Z"))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    assertEquals(1, mvcResult.getResponse().getContentAsString().lines().count());
+  }
+
+  @Test
+  @SneakyThrows
+  void exportTransactionsInUnsupportedFormat_ReturnsErrorResponse() {
+    UserDto userDto = insertUser();
+
+    mockMvc.perform(get("/users/{id}/transactions/export", userDto.getId()).param("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_PARAMS.getCode()))
+        .andExpect(jsonPath("$.message").value("Received unsupported export format [xml]"));
+  }
+
+  @Test
+  @SneakyThrows
+  void exportTransactionsOfNotExistingUser_ReturnsErrorResponse() {
+    UserDto insertedUser = insertUser();
+    int notExistingUserId = insertedUser.getId() + 1;
+
+    mockMvc.perform(get("/users/{id}/transactions/export", notExistingUserId))
+        .andExpect(status().isNotFound())
+        .andExpect(header().doesNotExist("Content-Disposition"))
+        .andExpect(jsonPath("$.code").value(ErrorCode.ENTITY_NOT_FOUND.getCode()))
+        .andExpect(jsonPath("$.message").value(String.format("User with id='%s' not found", notExistingUserId)));
+  }
+
+  private String toCsv(TransactionDto transactionDto) {
+    return String.join(",",
+        transactionDto.getId().toString(),
+        transactionDto.getUserId().toString(),
+        transactionDto.getCategoryId().toString(),
+        transactionDto.getType().getCanonicalType(),
+        BigDecimal.valueOf(transactionDto.getAmount()).setScale(2).toPlainString(),
+        transactionDto.getTime().toInstant().toString());
+  }
+
+}
@@ -0,0 +1,112 @@
+package com.expensetracker.web;
+
+import com.expensetracker.exception.ErrorCode;
+import com.expensetracker.web.dto.CategoryDto;
+import com.expensetracker.web.dto.TransactionImportDto;
+import com.expensetracker.web.dto.TransactionImportErrorDto;
+import com.expensetracker.web.dto.UserDto;
+import com.expensetracker.web.importing.TransactionImportStatus;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "expense-tracker.transactions.import.chunk-size=2")
+class TransactionImportControllerTest extends AbstractBaseControllerTest {
+
+  @Test
+  @SneakyThrows
+  void importTransactions() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    int notExistingUserId = userDto.getId() + 1000;
+
+    String csv = String.join("\n",
+        "id,userId,categoryId,type,amount,time",
+        row(userDto.getId(), categoryDto.getId(), "credit", "10.25", "2021-03-01T10:00:00Z"),
+        row(userDto.getId(), categoryDto.getId(), "transfer", "1.00", ""),
+        row(userDto.getId(), categoryDto.getId(), "debit", "abc", ""),
+        row(notExistingUserId, categoryDto.getId(), "debit", "2.00", ""),
+        "",
+        row(userDto.getId(), categoryDto.getId(), "debit", "0.25", ""),
+        "1,2,3",
+        row(userDto.getId(), categoryDto.getId(), "credit", "-1", ""));
+
+    TransactionImportDto result = importCsv(csv);
+
+    assertEquals(TransactionImportStatus.COMPLETED, result.getStatus());
+    assertEquals(7, result.getProcessedRows());
+    assertEquals(2, result.getImportedRows());
+    assertEquals(5, result.getRejectedRows());
+    assertEquals(List.of(
+        new TransactionImportErrorDto(3, ErrorCode.UNSUPPORTED_TRANSACTION_TYPE.getCode(),
+            "Received unsupported transaction type [transfer]"),
+        new TransactionImportErrorDto(4, ErrorCode.INVALID_PARAMS.getCode(), "amount: must be a number"),
+        new TransactionImportErrorDto(5, ErrorCode.ENTITY_NOT_FOUND.getCode(),
+            String.format("User with id='%s' not found", notExistingUserId)),
+        new TransactionImportErrorDto(8, ErrorCode.INVALID_PARAMS.getCode(), "Expected 6 columns but got 3"),
+        new TransactionImportErrorDto(9, ErrorCode.INVALID_PARAMS.getCode(), "amount: must be greater than 0")
+    ), result.getErrors());
+
+    mockMvc.perform(get("/users/{id}", userDto.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value(
+            BigDecimal.valueOf(userDto.getBalance()).add(new BigDecimal("10.00")).doubleValue()));
+
+    mockMvc.perform(get("/transactions/imports/{id}", result.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value(TransactionImportStatus.COMPLETED.name()))
+        .andExpect(jsonPath("$.importedRows").value(2))
+        .andExpect(jsonPath("$.errors.length()").value(5));
+  }
+
+  @Test
+  @SneakyThrows
+  void importTransactionsWithoutRequiredColumns_ReturnsErrorResponse() {
+    mockMvc.perform(post("/transactions/imports")
+            .contentType("text/csv")
+            .content("userId,amount\n1,2.00\n"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_PARAMS.getCode()))
+        .andExpect(jsonPath("$.message").value("CSV header misses columns [categoryId, type]"));
+
+    mockMvc.perform(get("/transactions/imports"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].status").value(TransactionImportStatus.FAILED.name()))
+        .andExpect(jsonPath("$[0].failure").value("CSV header misses columns [categoryId, type]"));
+  }
+
+  @Test
+  @SneakyThrows
+  void getNotExistingImport_ReturnsErrorResponse() {
+    mockMvc.perform(get("/transactions/imports/{id}", "not-existing"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.code").value(ErrorCode.ENTITY_NOT_FOUND.getCode()))
+        .andExpect(jsonPath("$.message").value("Transaction import with id='not-existing' not found"));
+  }
+
+  @SneakyThrows
+  private TransactionImportDto importCsv(String csv) {
+    MvcResult mvcResult = mockMvc.perform(post("/transactions/imports")
+            .contentType("text/csv")
+            .content(csv))
+        .andExpect(status().isCreated())
+        .andReturn();
+
+    return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TransactionImportDto.class);
+  }
+
+  private String row(Integer userId, Integer categoryId, String type, String amount, String time) {
+    return String.join(",", "", userId.toString(), categoryId.toString(), type, amount, time);
+  }
+
+}
@@ -0,0 +1,133 @@
+package com.expensetracker.web;
+
+import com.expensetracker.exception.ErrorCode;
+import com.expensetracker.model.TransactionType;
+import com.expensetracker.web.dto.CategoryDto;
+import com.expensetracker.web.dto.TransactionDto;
+import com.expensetracker.web.dto.TransactionSummaryDto;
+import com.expensetracker.web.dto.UserDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TransactionSummaryControllerTest extends AbstractBaseControllerTest {
+
+  private static final Double ALLOWED_AMOUNT_DEVIATION = 0.0001;
+
+  @Test
+  @SneakyThrows
+  void getSummariesAfterCreatingTransactions() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+
+    TransactionDto firstDebit = insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "debit");
+    TransactionDto secondDebit = insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "debit");
+    TransactionDto credit = insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "credit");
+
+    List<TransactionSummaryDto> summaries = getSummaries(userDto.getId());
+
+    assertEquals(2, summaries.size());
+    assertSummary(summaries, categoryDto.getId(), TransactionType.DEBIT,
+        firstDebit.getAmount() + secondDebit.getAmount(), 2);
+    assertSummary(summaries, categoryDto.getId(), TransactionType.CREDIT, credit.getAmount(), 1);
+  }
+
+  @Test
+  @SneakyThrows
+  void getSummariesAfterMovingTransactionToAnotherCategory() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    CategoryDto anotherCategoryDto = insertCategory();
+    TransactionDto insertedTransaction = insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "debit");
+    TransactionDto updatedTransaction = transactionEntityProvider.prepareTransactionDto(userDto, anotherCategoryDto, "debit");
+
+    mockMvc.perform(put("/transactions/{id}", insertedTransaction.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(serialize(updatedTransaction)))
+        .andExpect(status().isOk());
+
+    List<TransactionSummaryDto> summaries = getSummaries(userDto.getId());
+
+    assertEquals(1, summaries.size());
+    assertSummary(summaries, anotherCategoryDto.getId(), TransactionType.DEBIT, updatedTransaction.getAmount(), 1);
+  }
+
+  @Test
+  @SneakyThrows
+  void getSummariesAfterDeletingTransaction() {
+    UserDto userDto = insertUser();
+    TransactionDto insertedTransaction = insertTransactionForDefiniteUser(userDto, "credit");
+
+    mockMvc.perform(delete("/transactions/{id}", insertedTransaction.getId()))
+        .andExpect(status().isOk());
+
+    assertTrue(getSummaries(userDto.getId()).isEmpty());
+  }
+
+  @Test
+  @SneakyThrows
+  void rebuildSummariesForUser() {
+    UserDto userDto = insertUser();
+    CategoryDto categoryDto = insertCategory();
+    TransactionDto insertedTransaction = insertTransactionForDefiniteUserAndCategory(userDto, categoryDto, "debit");
+
+    mockMvc.perform(post("/summaries/rebuild").param("userId", userDto.getId().toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rebuiltUsers").value(1));
+
+    List<TransactionSummaryDto> summaries = getSummaries(userDto.getId());
+
+    assertEquals(1, summaries.size());
+    assertSummary(summaries, categoryDto.getId(), TransactionType.DEBIT, insertedTransaction.getAmount(), 1);
+  }
+
+  @Test
+  @SneakyThrows
+  void getSummariesForNotExistingUser_ReturnsErrorResponse() {
+    UserDto userDto = insertUser();
+    int notExistingUserId = userDto.getId() + 1;
+
+    String expectedErrorCode = ErrorCode.ENTITY_NOT_FOUND.getCode();
+    String expectedErrorMessage = String.format("User with id='%s' not found", notExistingUserId);
+
+    mockMvc.perform(get("/summaries").param("userId", String.valueOf(notExistingUserId)))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.code").value(expectedErrorCode))
+        .andExpect(jsonPath("$.message").value(expectedErrorMessage));
+  }
+
+  @SneakyThrows
+  private List<TransactionSummaryDto> getSummaries(Integer userId) {
+    MvcResult mvcResult = mockMvc.perform(get("/summaries").param("userId", userId.toString()))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    String responseBody = mvcResult.getResponse().getContentAsString();
+    return objectMapper.readValue(responseBody, new TypeReference<>() {});
+  }
+
+  private void assertSummary(List<TransactionSummaryDto> summaries, Integer categoryId, TransactionType type,
+                             double expectedTotal, long expectedCount) {
+    TransactionSummaryDto summary = summaries.stream()
+        .filter(it -> it.getCategoryId().equals(categoryId) && it.getType() == type)
+        .findFirst()
+        .orElseThrow();
+
+    assertEquals(expectedTotal, summary.getTotal(), ALLOWED_AMOUNT_DEVIATION);
+    assertEquals(expectedCount, summary.getCount());
+  }
+
+}
@@ -1,6 +1,7 @@
 package com.expensetracker.web;
 
 import com.expensetracker.exception.ErrorCode;
+import com.expensetracker.web.dto.TransactionDto;
 import com.expensetracker.web.dto.UserDto;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.SneakyThrows;
@@ -8,13 +9,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
 import java.util.List;
 
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +43,24 @@ class UserControllerTest extends AbstractBaseControllerTest {
     assertTrue(userDtos.size() >= insertedUsersAmount);
   }
 
+  @Test
+  @SneakyThrows
+  void getAllUsersWithEtagBeforeBalanceChange_ReturnsUsers() {
+    UserDto userDto = insertUser();
+    String etag = mockMvc.perform(get("/users"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/users").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    insertTransactionForDefiniteUser(userDto, "debit");
+
+    mockMvc.perform(get("/users").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", not(etag)));
+  }
+
   @Test
   @SneakyThrows
   void getUserById() {
@@ -52,6 +74,32 @@ class UserControllerTest extends AbstractBaseControllerTest {
         .andExpect(jsonPath("$.balance").value(insertedUser.getBalance()));
   }
 
+  @Test
+  @SneakyThrows
+  void getUserByEmail() {
+    UserDto insertedUser = insertUser();
+
+    mockMvc.perform(get("/users/email/{email}", insertedUser.getEmail()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(insertedUser.getId()))
+        .andExpect(jsonPath("$.email").value(insertedUser.getEmail()));
+  }
+
+  @Test
+  @SneakyThrows
+  void getUserByIdAfterBalanceChange() {
+    UserDto insertedUser = insertUser();
+    mockMvc.perform(get("/users/{id}", insertedUser.getId()))
+        .andExpect(status().isOk());
+
+    TransactionDto insertedTransaction = insertTransactionForDefiniteUser(insertedUser, "credit");
+
+    mockMvc.perform(get("/users/{id}", insertedUser.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value(
+            BigDecimal.valueOf(insertedUser.getBalance()).add(BigDecimal.valueOf(insertedTransaction.getAmount())).doubleValue()));
+  }
+
   @Test
   @SneakyThrows
   void getNotExistingUserById_ReturnsErrorResponse() {
@@ -252,4 +300,38 @@ class UserControllerTest extends AbstractBaseControllerTest {
         .andExpect(jsonPath("$.message").value(expectedErrorMessage));
   }
 
+  @Test
+  @SneakyThrows
+  void getUserBalance_ReplaysLedger() {
+    UserDto userDto = insertUser();
+    insertTransactionForDefiniteUser(userDto, "debit");
+    insertTransactionForDefiniteUser(userDto, "credit");
+
+    String responseBody = mockMvc.perform(get("/users/{id}", userDto.getId()))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    UserDto currentUser = objectMapper.readValue(responseBody, UserDto.class);
+
+    mockMvc.perform(get("/users/{id}/balance", userDto.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.userId").value(userDto.getId()))
+        .andExpect(jsonPath("$.balance").value(currentUser.getBalance()));
+
+    mockMvc.perform(get("/users/{id}/balance", userDto.getId()).param("at", "2000-01-01T00:00:00.000Z"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.sequenceNumber").doesNotExist())
+        .andExpect(jsonPath("$.balance").value(0.0));
+  }
+
+  @Test
+  @SneakyThrows
+  void getNotExistingUserBalance_ReturnsErrorResponse() {
+    UserDto insertedUser = insertUser();
+    int notExistingUserId = insertedUser.getId() + 1;
+
+    mockMvc.perform(get("/users/{id}/balance", notExistingUserId))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.code").value(ErrorCode.ENTITY_NOT_FOUND.getCode()));
+  }
+
 }
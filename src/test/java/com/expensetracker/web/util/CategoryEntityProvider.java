@@ -2,6 +2,7 @@ package com.expensetracker.web.util;
 
 import com.expensetracker.converter.CategoryConverter;
 import com.expensetracker.model.Category;
+import com.expensetracker.repository.CategoryRepository;
 import com.expensetracker.web.dto.CategoryDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 public class CategoryEntityProvider {
 
   private final CategoryConverter categoryConverter;
+  private final CategoryRepository categoryRepository;
 
   public CategoryDto prepareCategoryDto() {
     long currentTime = System.currentTimeMillis();
@@ -25,4 +27,8 @@ public class CategoryEntityProvider {
     return categoryConverter.toModel(prepareCategoryDto());
   }
 
+  public Category insertCategory() {
+    return categoryRepository.save(new Category(null, String.format("category-%s-name", System.nanoTime())));
+  }
+
 }
@@ -4,7 +4,9 @@ import com.expensetracker.converter.CategoryConverter;
 import com.expensetracker.converter.TransactionConverter;
 import com.expensetracker.converter.UserConverter;
 import com.expensetracker.model.Category;
+import com.expensetracker.model.Money;
 import com.expensetracker.model.Transaction;
+import com.expensetracker.model.TransactionType;
 import com.expensetracker.model.User;
 import com.expensetracker.web.dto.CategoryDto;
 import com.expensetracker.web.dto.TransactionDto;
@@ -43,4 +45,15 @@ public class TransactionEntityProvider {
     );
   }
 
+  public Transaction prepareTransactionModel(User user, Category category, TransactionType type, long cents, Date time) {
+    return new Transaction(
+        null,
+        User.builder().id(user.getId()).build(),
+        Category.builder().id(category.getId()).build(),
+        type,
+        Money.ofCents(cents),
+        time
+    );
+  }
+
 }
@@ -1,7 +1,9 @@
 package com.expensetracker.web.util;
 
 import com.expensetracker.converter.UserConverter;
+import com.expensetracker.model.Money;
 import com.expensetracker.model.User;
+import com.expensetracker.repository.UserRepository;
 import com.expensetracker.web.dto.UserDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -13,6 +15,7 @@ import java.util.Random;
 public class UserEntityProvider {
 
   private final UserConverter userConverter;
+  private final UserRepository userRepository;
 
   public UserDto prepareUserDto() {
     long currentTime = System.currentTimeMillis();
@@ -29,4 +32,13 @@ public class UserEntityProvider {
     return userConverter.toModel(prepareUserDto());
   };
 
+  public User prepareUserModel(Money balance) {
+    long currentTime = System.nanoTime();
+    return new User(null, String.format("user-%s-full-name", currentTime), String.format("user-%s-email", currentTime), balance);
+  }
+
+  public User insertUser() {
+    return userRepository.save(prepareUserModel(Money.ZERO));
+  }
+
 }